@@ -0,0 +1,156 @@
+package io.obadiah.command.benchmark;
+
+import io.obadiah.command.CommandAPI;
+import io.obadiah.command.testing.FakeServer;
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Registers every command in a package of a synthetic plugin jar, as a plugin does at startup. A cold scan loads the
+ * jar in a new class loader each time, so the class path is scanned and every class is loaded again; a cached scan
+ * reuses the class loader and CommandAPI's cached scan. Requires a JDK, as the jar is compiled when the benchmark
+ * starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class ClassPathScanBenchmark {
+
+    private static final String PACKAGE = "io.obadiah.command.benchmark.generated";
+
+    @Param({"100", "500"})
+    public int classes;
+
+    @Param({"cold", "cached"})
+    public String scan;
+
+    private Path directory;
+    private URL jar;
+    private URLClassLoader loader;
+    private Plugin plugin;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        FakeServer.install();
+
+        this.directory = Files.createTempDirectory("commandapi-scan");
+        this.jar = this.createJar().toUri().toURL();
+        this.loader = this.newLoader();
+        this.plugin = FakeServer.plugin("Generated", this.loader);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() throws IOException {
+        FakeServer.resetCommands();
+
+        if (this.scan.equals("cold")) {
+            this.loader.close();
+            this.loader = this.newLoader();
+            this.plugin = FakeServer.plugin("Generated", this.loader);
+
+            FakeServer.clearClassPaths();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.loader.close();
+
+        try (Stream<Path> files = Files.walk(this.directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public int registerCommands() {
+        CommandAPI.registerCommands(this.plugin, PACKAGE);
+
+        return CommandAPI.getRegisteredCommands().size();
+    }
+
+    private URLClassLoader newLoader() {
+        return new URLClassLoader(new URL[] {this.jar}, ClassPathScanBenchmark.class.getClassLoader());
+    }
+
+    private Path createJar() throws IOException {
+        Path sources = Files.createDirectories(this.directory.resolve("src"));
+        Path output = Files.createDirectories(this.directory.resolve("classes"));
+        List<String> arguments = new ArrayList<>();
+
+        arguments.add("-d");
+        arguments.add(output.toString());
+        arguments.add("-cp");
+        arguments.add(System.getProperty("java.class.path"));
+
+        for (int i = 0; i < this.classes; i++) {
+            Path source = sources.resolve("GeneratedCommand" + i + ".java");
+
+            Files.write(source, ("package " + PACKAGE + ";\n\n"
+              + "public class GeneratedCommand" + i + " extends io.obadiah.command.Command {\n"
+              + "    public GeneratedCommand" + i + "() {\n"
+              + "        super(\"generated" + i + "\", \"generated.command" + i + "\");\n"
+              + "    }\n\n"
+              + "    @Override\n"
+              + "    protected void execute(org.bukkit.command.CommandSender sender, String... args) {}\n"
+              + "}\n").getBytes(StandardCharsets.UTF_8));
+
+            arguments.add(source.toString());
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+        if (compiler == null || compiler.run(null, null, null, arguments.toArray(new String[0])) != 0) {
+            throw new IllegalStateException("Could not compile the synthetic commands, a JDK is required!");
+        }
+
+        Path jar = this.directory.resolve("generated.jar");
+
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar)); Stream<Path> files = Files.walk(output)) {
+            files.filter(Files::isRegularFile).forEach(file -> write(out, output, file));
+        }
+
+        return jar;
+    }
+
+    private static void write(JarOutputStream out, Path root, Path file) {
+        try {
+            out.putNextEntry(new JarEntry(root.relativize(file).toString().replace('\\', '/')));
+            Files.copy(file, out);
+            out.closeEntry();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package io.obadiah.command.benchmark;
+
+import io.obadiah.command.CommandSource;
+import io.obadiah.command.testing.ScriptedSender;
+import org.bukkit.command.CommandSender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves the source of a mix of players, console, command block and proxied senders, against the stream over every
+ * source that resolution used to perform.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandSourceBenchmark {
+
+    private static final int SENDERS = 64;
+
+    private CommandSender[] senders;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.senders = new CommandSender[SENDERS];
+
+        for (int i = 0; i < SENDERS; i++) {
+            switch (i % 4) {
+                case 0:
+                    this.senders[i] = ScriptedSender.player("Player" + i).setRetainedMessages(0).getSender();
+                    break;
+                case 1:
+                    this.senders[i] = ScriptedSender.console().setRetainedMessages(0).getSender();
+                    break;
+                case 2:
+                    this.senders[i] = ScriptedSender.commandBlock().setRetainedMessages(0).getSender();
+                    break;
+                default:
+                    this.senders[i] = ScriptedSender.proxied().setRetainedMessages(0).getSender();
+                    break;
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SENDERS)
+    public void fromSender(Blackhole blackhole) {
+        for (CommandSender sender : this.senders) {
+            blackhole.consume(CommandSource.fromSender(sender));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SENDERS)
+    public void stream(Blackhole blackhole) {
+        for (CommandSender sender : this.senders) {
+            blackhole.consume(Arrays.stream(CommandSource.values())
+              .filter(source -> source.getSenderClass().isAssignableFrom(sender.getClass()))
+              .findFirst()
+              .orElse(null));
+        }
+    }
+}
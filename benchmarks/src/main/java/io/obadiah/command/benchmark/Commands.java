@@ -0,0 +1,81 @@
+package io.obadiah.command.benchmark;
+
+import io.obadiah.command.Command;
+import io.obadiah.command.CommandArguments;
+import io.obadiah.command.TypedCommand;
+import org.bukkit.command.CommandSender;
+
+import javax.annotation.Nullable;
+
+/**
+ * Builds the command trees the benchmarks dispatch through.
+ */
+final class Commands {
+
+    /**
+     * Counts executions, so the JIT cannot remove a command that does nothing else.
+     */
+    static long executions;
+
+    private Commands() {}
+
+    /**
+     * Creates a command that accepts any number of arguments and does nothing.
+     *
+     * @param name Name of the command.
+     * @param permission Permission node, or {@code null} for none.
+     *
+     * @return The command.
+     */
+    static Command noop(String name, @Nullable String permission) {
+        return new TypedCommand(name, permission) {
+            @Override
+            protected void execute(CommandSender sender, CommandArguments args) {
+                executions += args.size();
+            }
+        }.setMaxArgs(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Builds a tree in which every command has a number of subcommands named {@code s0} to {@code s<width - 1>}, each
+     * with an alias {@code a<i>}. Only the last subcommand of each level has subcommands of its own, so the deepest
+     * path is {@link #path(int, int)}.
+     *
+     * @param depth Number of levels beneath the root.
+     * @param width Number of subcommands per level.
+     * @param permission Permission node of every command, or {@code null} for none.
+     *
+     * @return The root command.
+     */
+    static Command tree(int depth, int width, @Nullable String permission) {
+        Command root = noop("root", permission);
+        Command parent = root;
+
+        for (int level = 0; level < depth; level++) {
+            Command[] children = new Command[width];
+
+            for (int i = 0; i < width; i++) {
+                children[i] = noop("s" + i, permission);
+                children[i].addAliases("a" + i);
+            }
+
+            parent.addSubCommands(children);
+            parent = children[width - 1];
+        }
+
+        return root;
+    }
+
+    /**
+     * @return The arguments that reach the deepest command of a {@link #tree(int, int, String)}, mixing case.
+     */
+    static String[] path(int depth, int width) {
+        String[] path = new String[depth];
+
+        for (int level = 0; level < depth; level++) {
+            path[level] = (level % 2 == 0 ? "S" : "s") + (width - 1);
+        }
+
+        return path;
+    }
+}
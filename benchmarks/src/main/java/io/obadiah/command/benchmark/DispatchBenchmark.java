@@ -0,0 +1,99 @@
+package io.obadiah.command.benchmark;
+
+import io.obadiah.command.Command;
+import io.obadiah.command.testing.FakeServer;
+import io.obadiah.command.testing.ScriptedSender;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.defaults.BukkitCommand;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatches through deep and wide command trees, from subcommand lookup alone to the full path Bukkit takes. The
+ * {@code scan} benchmark resolves the same path with the stream scan dispatch used to perform, for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+
+    @Param({"1", "4", "8"})
+    public int depth;
+
+    @Param({"1", "16", "256"})
+    public int width;
+
+    @Param({"player", "console"})
+    public String sender;
+
+    private Command root;
+    private BukkitCommand bukkitCommand;
+    private String[] args;
+    private String[] argsWithTrailing;
+    private CommandSender commandSender;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FakeServer.install();
+
+        this.root = Commands.tree(this.depth, this.width, "benchmark.use");
+        this.bukkitCommand = this.root.asBukkitCommand();
+        this.args = Commands.path(this.depth, this.width);
+        this.argsWithTrailing = new String[this.args.length + 2];
+        System.arraycopy(this.args, 0, this.argsWithTrailing, 0, this.args.length);
+        this.argsWithTrailing[this.args.length] = "first";
+        this.argsWithTrailing[this.args.length + 1] = "second";
+        this.commandSender = this.sender.equals("player") ? ScriptedSender.player("Player", "benchmark.use").setRetainedMessages(0).getSender() : ScriptedSender.console().setRetainedMessages(0).getSender();
+    }
+
+    @Benchmark
+    public Command lookup() {
+        Command command = this.root;
+
+        for (String label : this.args) {
+            command = command.getSubCommand(label);
+        }
+
+        return command;
+    }
+
+    @Benchmark
+    public Command scan() {
+        Command command = this.root;
+
+        for (String label : this.args) {
+            command = command.getSubCommands().stream()
+              .filter(subCommand -> subCommand.getName().equalsIgnoreCase(label))
+              .findFirst()
+              .orElse(null);
+        }
+
+        return command;
+    }
+
+    @Benchmark
+    public CompletableFuture<Void> dispatch() {
+        return this.root.dispatch(this.commandSender, this.argsWithTrailing);
+    }
+
+    @Benchmark
+    public boolean bukkitExecute() {
+        return this.bukkitCommand.execute(this.commandSender, "root", this.argsWithTrailing);
+    }
+}
@@ -0,0 +1,120 @@
+package io.obadiah.command.benchmark;
+
+import io.obadiah.command.Command;
+import io.obadiah.command.CommandArguments;
+import io.obadiah.command.CommandSource;
+import io.obadiah.command.TypedCommand;
+import io.obadiah.command.argument.ArgumentParsers;
+import io.obadiah.command.exception.IllegalCommandArgException;
+import io.obadiah.command.exception.IllegalCommandUsageException;
+import io.obadiah.command.testing.FakeServer;
+import io.obadiah.command.testing.ScriptedSender;
+import org.bukkit.command.CommandSender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatches invocations that are rejected by each check, or whose command throws one of the exceptions CommandAPI
+ * turns into a message for the sender.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FailureBenchmark {
+
+    private static final String[] NO_ARGS = new String[0];
+    private static final String[] ONE_ARG = {"12"};
+    private static final String[] TWO_ARGS = {"12", "34"};
+    private static final String[] BAD_NUMBER = {"twelve"};
+
+    private CommandSender player;
+    private CommandSender console;
+    private Command guarded;
+    private Command playerOnly;
+    private Command typed;
+    private Command usage;
+    private Command wrongType;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FakeServer.install();
+
+        this.player = ScriptedSender.player("Player").setRetainedMessages(0).getSender();
+        this.console = ScriptedSender.console().setRetainedMessages(0).getSender();
+        this.guarded = Commands.noop("guarded", "benchmark.guarded");
+        this.playerOnly = Commands.noop("player", null).removePermittedSources(CommandSource.CONSOLE);
+
+        this.typed = Commands.noop("typed", null);
+        this.typed.addArgument("number", ArgumentParsers.INTEGER);
+        this.typed.setMaxArgs(1);
+
+        this.usage = new TypedCommand("usage", null) {
+            @Override
+            protected void execute(CommandSender sender, CommandArguments args) throws IllegalCommandUsageException {
+                throw new IllegalCommandUsageException(this);
+            }
+        };
+
+        this.wrongType = new TypedCommand("wrong", null) {
+            @Override
+            protected void execute(CommandSender sender, CommandArguments args) throws IllegalCommandArgException {
+                throw new IllegalCommandArgException("number", Integer.class);
+            }
+        };
+    }
+
+    @Benchmark
+    public CompletableFuture<Void> permission() {
+        return this.guarded.dispatch(this.player, NO_ARGS);
+    }
+
+    @Benchmark
+    public CompletableFuture<Void> source() {
+        return this.playerOnly.dispatch(this.console, NO_ARGS);
+    }
+
+    @Benchmark
+    public CompletableFuture<Void> tooManyArguments() {
+        return this.typed.dispatch(this.player, TWO_ARGS);
+    }
+
+    @Benchmark
+    public CompletableFuture<Void> notEnoughArguments() {
+        return this.typed.dispatch(this.player, NO_ARGS);
+    }
+
+    @Benchmark
+    public CompletableFuture<Void> badArgument() {
+        return this.typed.dispatch(this.player, BAD_NUMBER);
+    }
+
+    @Benchmark
+    public CompletableFuture<Void> goodArgument() {
+        return this.typed.dispatch(this.player, ONE_ARG);
+    }
+
+    @Benchmark
+    public CompletableFuture<Void> usageException() {
+        return this.usage.dispatch(this.player, NO_ARGS);
+    }
+
+    @Benchmark
+    public CompletableFuture<Void> argumentException() {
+        return this.wrongType.dispatch(this.player, NO_ARGS);
+    }
+}
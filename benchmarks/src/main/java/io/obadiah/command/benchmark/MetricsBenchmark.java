@@ -0,0 +1,79 @@
+package io.obadiah.command.benchmark;
+
+import io.obadiah.command.Command;
+import io.obadiah.command.CommandAPI;
+import io.obadiah.command.metrics.LatencyHistogram;
+import io.obadiah.command.testing.FakeServer;
+import io.obadiah.command.testing.ScriptedSender;
+import org.bukkit.command.CommandSender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of recording execution metrics, on a single thread and on several threads recording into the
+ * same command node.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+
+    private static final String[] ARGS = {"s3", "s3", "s3", "value"};
+
+    @Param({"false", "true"})
+    public boolean metrics;
+
+    private Command root;
+    private CommandSender sender;
+    private LatencyHistogram histogram;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FakeServer.install();
+
+        this.root = Commands.tree(3, 4, null);
+        this.sender = ScriptedSender.player("Player").setRetainedMessages(0).getSender();
+        this.histogram = new LatencyHistogram();
+
+        CommandAPI.setMetricsEnabled(this.metrics);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        CommandAPI.setMetricsEnabled(false);
+    }
+
+    @Benchmark
+    public CompletableFuture<Void> dispatch() {
+        return this.root.dispatch(this.sender, ARGS);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public CompletableFuture<Void> dispatchContended() {
+        return this.root.dispatch(this.sender, ARGS);
+    }
+
+    @Benchmark
+    public void recordLatency() {
+        this.histogram.record(System.nanoTime() & 0xFFFFF);
+    }
+}
@@ -0,0 +1,75 @@
+package io.obadiah.command.benchmark;
+
+import io.obadiah.command.Command;
+import io.obadiah.command.CommandAPI;
+import io.obadiah.command.testing.FakeServer;
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registers many commands, each with a small subcommand tree, together and one at a time. The stub server has no
+ * players and Commodore is unavailable, so this measures the command map, compilation and bookkeeping rather than
+ * sending the command tree to players.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistrationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int count;
+
+    private Plugin plugin;
+    private Command[] commands;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FakeServer.install();
+
+        this.plugin = FakeServer.plugin("Benchmark", RegistrationBenchmark.class.getClassLoader());
+    }
+
+    /**
+     * Registered commands cannot be registered again, so every invocation starts from an empty command map with new
+     * commands.
+     */
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        FakeServer.resetCommands();
+
+        this.commands = new Command[this.count];
+
+        for (int i = 0; i < this.count; i++) {
+            this.commands[i] = Commands.noop("command" + i, "benchmark.command" + i)
+              .addSubCommands(Commands.noop("list", null), Commands.noop("add", null), Commands.noop("remove", null));
+        }
+    }
+
+    @Benchmark
+    public void batched() {
+        CommandAPI.beginRegistration(this.plugin).add(this.commands).commit();
+    }
+
+    @Benchmark
+    public void individually() {
+        for (Command command : this.commands) {
+            CommandAPI.registerCommand(this.plugin, command);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package io.obadiah.command.benchmark;
+
+import io.obadiah.command.Command;
+import io.obadiah.command.completion.FuzzyIndex;
+import io.obadiah.command.testing.FakeServer;
+import io.obadiah.command.testing.ScriptedSender;
+import org.bukkit.command.CommandSender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suggests the closest of hundreds of subcommand names to a misspelling and to a label close to none of them, through
+ * the index alone and through a rejected dispatch. The {@code scan} benchmark computes the distance to every name,
+ * for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuggestionBenchmark {
+
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+    @Param({"16", "256", "1024"})
+    public int size;
+
+    private List<String> names;
+    private FuzzyIndex index;
+    private String typo;
+    private String miss;
+    private Command root;
+    private String[] typoArgs;
+    private CommandSender commandSender;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FakeServer.install();
+
+        Random random = new Random(42);
+        this.names = new ArrayList<>(this.size);
+        this.root = Commands.noop("root", null).setMaxArgs(0);
+
+        while (this.names.size() < this.size) {
+            String name = word(random, 4 + random.nextInt(8));
+
+            if (!this.names.contains(name)) {
+                this.names.add(name);
+                this.root.addSubCommands(Commands.noop(name, null));
+            }
+        }
+
+        this.index = FuzzyIndex.of(this.names);
+
+        char[] typo = this.names.get(this.size / 2).toCharArray();
+        typo[typo.length / 2] = typo[typo.length / 2] == 'z' ? 'y' : 'z';
+        this.typo = new String(typo);
+        this.miss = "qqqqqqqq";
+        this.typoArgs = new String[] {this.typo};
+        this.commandSender = ScriptedSender.console().setRetainedMessages(0).getSender();
+    }
+
+    @Benchmark
+    public String closest() {
+        return this.index.closest(this.typo);
+    }
+
+    @Benchmark
+    public String closestMiss() {
+        return this.index.closest(this.miss);
+    }
+
+    @Benchmark
+    public String scan() {
+        String best = null;
+        int bestDistance = FuzzyIndex.getMaxDistance(this.typo.length()) + 1;
+
+        for (String name : this.names) {
+            int distance = levenshtein(name, this.typo);
+
+            if (distance < bestDistance) {
+                best = name;
+                bestDistance = distance;
+            }
+        }
+
+        return best;
+    }
+
+    @Benchmark
+    public CompletableFuture<Void> rejectedDispatch() {
+        return this.root.dispatch(this.commandSender, this.typoArgs);
+    }
+
+    @Benchmark
+    public FuzzyIndex build() {
+        return FuzzyIndex.of(this.names);
+    }
+
+    private static String word(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+
+        for (int i = 0; i < length; i++) {
+            builder.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        }
+
+        return builder.toString();
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+
+            for (int j = 1; j <= b.length(); j++) {
+                current[j] = Math.min(Math.min(current[j - 1], previous[j]) + 1, previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1));
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return previous[b.length()];
+    }
+}
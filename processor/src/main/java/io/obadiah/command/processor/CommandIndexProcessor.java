@@ -0,0 +1,233 @@
+package io.obadiah.command.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Finds every concrete command in a compilation that is not annotated with @NoAutoRegister, and generates a
+ * {@code CommandIndex} implementation that constructs them, registered as a service. The generated class is named by
+ * the {@code commandapi.index} option, or defaults to {@code GeneratedCommandIndex} in the package shared by every
+ * indexed command.
+ *
+ * The index is generated in the round its commands are found, so it is compiled like any other source, and only the
+ * service registration waits for the final round. Commands generated by other processors in later rounds are indexed
+ * by further classes, numbered after the first.
+ *
+ * The index only covers the classes in the compilation, so builds that recompile incrementally should clean first.
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(CommandIndexProcessor.INDEX_OPTION)
+public final class CommandIndexProcessor extends AbstractProcessor {
+
+    static final String INDEX_OPTION = "commandapi.index";
+
+    private static final String COMMAND_CLASS = "io.obadiah.command.Command";
+    private static final String INDEX_CLASS = "io.obadiah.command.CommandIndex";
+    private static final String NO_AUTO_REGISTER_CLASS = "io.obadiah.command.annotation.NoAutoRegister";
+    private static final String DEFAULT_INDEX_NAME = "GeneratedCommandIndex";
+
+    private final Set<String> commands = new TreeSet<>();
+    private final List<String> indexes = new ArrayList<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement commandType = this.processingEnv.getElementUtils().getTypeElement(COMMAND_CLASS);
+
+        if (commandType == null) {
+            return false;
+        }
+
+        if (roundEnv.processingOver()) {
+            if (!this.indexes.isEmpty()) {
+                this.writeService();
+            }
+
+            return false;
+        }
+
+        TypeMirror command = this.processingEnv.getTypeUtils().erasure(commandType.asType());
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            this.collect(type, command);
+        }
+
+        if (!this.commands.isEmpty()) {
+            this.writeIndex();
+            this.commands.clear();
+        }
+
+        return false;
+    }
+
+    private void collect(TypeElement type, TypeMirror command) {
+        for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+            if (nested.getModifiers().contains(Modifier.STATIC)) {
+                this.collect(nested, command);
+            }
+        }
+
+        Set<Modifier> modifiers = type.getModifiers();
+
+        if (type.getKind() != ElementKind.CLASS || modifiers.contains(Modifier.ABSTRACT) || !modifiers.contains(Modifier.PUBLIC)) {
+            return;
+        }
+
+        if (!this.processingEnv.getTypeUtils().isSubtype(type.asType(), command) || this.hasNoAutoRegister(type)) {
+            return;
+        }
+
+        if (type.getNestingKind() != NestingKind.TOP_LEVEL && !this.isPubliclyNested(type)) {
+            return;
+        }
+
+        if (!this.hasPublicNoArgConstructor(type)) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+              "Not indexing the command, " + type.getSimpleName() + ", as it has no public no-argument constructor. Annotate it with @NoAutoRegister to silence this.", type);
+            return;
+        }
+
+        this.commands.add(type.getQualifiedName().toString());
+    }
+
+    private boolean hasNoAutoRegister(TypeElement type) {
+        for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(NO_AUTO_REGISTER_CLASS)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean isPubliclyNested(TypeElement type) {
+        for (Element element = type.getEnclosingElement(); element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if (!element.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean hasPublicNoArgConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Writes the source of an index of the commands found in this round.
+     */
+    private void writeIndex() {
+        String indexName = this.processingEnv.getOptions().get(INDEX_OPTION);
+
+        if (indexName == null || indexName.isEmpty()) {
+            String packageName = this.getCommonPackage();
+            indexName = packageName.isEmpty() ? DEFAULT_INDEX_NAME : packageName + "." + DEFAULT_INDEX_NAME;
+        }
+
+        if (!this.indexes.isEmpty()) {
+            indexName += this.indexes.size() + 1;
+        }
+
+        int separator = indexName.lastIndexOf('.');
+
+        try {
+            JavaFileObject source = this.processingEnv.getFiler().createSourceFile(indexName);
+
+            try (Writer writer = source.openWriter()) {
+                if (separator > 0) {
+                    writer.write("package " + indexName.substring(0, separator) + ";\n\n");
+                }
+
+                writer.write("public final class " + indexName.substring(separator + 1) + " implements " + INDEX_CLASS + " {\n\n");
+                writer.write("    @Override\n");
+                writer.write("    public java.util.List<" + COMMAND_CLASS + "> createCommands() {\n");
+                writer.write("        java.util.List<" + COMMAND_CLASS + "> commands = new java.util.ArrayList<>(" + this.commands.size() + ");\n");
+
+                for (String command : this.commands) {
+                    writer.write("        commands.add(new " + command + "());\n");
+                }
+
+                writer.write("        return commands;\n");
+                writer.write("    }\n");
+                writer.write("}\n");
+            }
+
+            this.indexes.add(indexName);
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write the command index, " + indexName + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Registers every generated index as a service. Resources may be written in the final round, unlike sources.
+     */
+    private void writeService() {
+        try {
+            FileObject service = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + INDEX_CLASS);
+
+            try (Writer writer = service.openWriter()) {
+                for (String index : this.indexes) {
+                    writer.write(index + "\n");
+                }
+            }
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not register the command indexes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return The deepest package that contains every indexed command.
+     */
+    private String getCommonPackage() {
+        String common = null;
+
+        for (String command : this.commands) {
+            TypeElement type = this.processingEnv.getElementUtils().getTypeElement(command);
+            String packageName = this.processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+
+            if (common == null) {
+                common = packageName;
+                continue;
+            }
+
+            while (!common.isEmpty() && !(packageName.equals(common) || packageName.startsWith(common + "."))) {
+                int separator = common.lastIndexOf('.');
+                common = separator < 0 ? "" : common.substring(0, separator);
+            }
+        }
+
+        return common == null ? "" : common;
+    }
+}
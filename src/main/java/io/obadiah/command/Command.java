@@ -1,16 +1,50 @@
 package io.obadiah.command;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.ObjectArrays;
 import com.google.common.collect.Sets;
+import io.obadiah.command.argument.Argument;
+import io.obadiah.command.argument.ArgumentParser;
+import io.obadiah.command.argument.ArgumentParsers;
+import io.obadiah.command.argument.ParseResult;
+import io.obadiah.command.audit.AuditLog;
+import io.obadiah.command.audit.AuditOutcome;
+import io.obadiah.command.audit.AuditRecord;
+import io.obadiah.command.completion.SuggestionProvider;
+import io.obadiah.command.completion.SuggestionProviders;
 import io.obadiah.command.exception.IllegalCommandArgException;
 import io.obadiah.command.exception.IllegalCommandUsageException;
+import io.obadiah.command.forward.CommandEnvelope;
+import io.obadiah.command.forward.CommandForwarder;
+import io.obadiah.command.forward.ForwardingKey;
+import io.obadiah.command.forward.RemoteCommandSender;
+import io.obadiah.command.interceptor.CommandInterceptor;
+import io.obadiah.command.interceptor.CommandInvocation;
+import io.obadiah.command.interceptor.InterceptorChain;
+import io.obadiah.command.metrics.CommandMetrics;
+import io.obadiah.command.metrics.RejectionReason;
+import io.obadiah.command.ratelimit.RateLimiter;
+import io.obadiah.command.watchdog.CommandWatchdog;
 import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.defaults.BukkitCommand;
+import org.bukkit.entity.Entity;
 
 import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -23,10 +57,24 @@ public abstract class Command {
     protected static final Function<Command, String> GET_USAGE_FUNCTION = command -> getUsage(command);
     private static final String EMPTY = "";
 
+    private static final String SOURCE_MESSAGE = ChatColor.RED + "This command cannot be executed by your account type";
+    private static final String PERMISSION_MESSAGE = ChatColor.RED + "You have insufficient permissions to execute this command!";
+    private static final String TOO_MANY_ARGUMENTS_MESSAGE = ChatColor.RED + "You have specified too many arguments to execute this command!";
+    private static final String NOT_ENOUGH_ARGUMENTS_MESSAGE = ChatColor.RED + "You have not specified enough arguments to execute this command!";
+    private static final String BUSY_MESSAGE = ChatColor.RED + "This command is busy, please try again shortly!";
+    private static final String USAGE_MESSAGE = ChatColor.RED + "Incorrect command usage, the correct usage is:\n";
+    private static final String SUGGESTION_MESSAGE = ChatColor.GOLD + "Did you mean /";
+
     private final String name;
     private final Set<Command> subCommands;
     private final Set<String> aliases;
-    private final String usage;
+
+    private Command parent;
+    private volatile String usage;
+    private volatile String help;
+    private volatile String[] requiredPermissions;
+    private volatile CompiledCommand compiled;
+    private volatile boolean frozen;
 
     private String description;
 
@@ -36,6 +84,18 @@ public abstract class Command {
     private int minArgs;
     private int maxArgs;
 
+    private boolean async;
+    private Executor executor;
+    private Semaphore concurrencyLimit;
+
+    private RateLimiter rateLimiter;
+    private CommandInterceptor[] interceptors;
+    private ForwardingKey forwardingKey;
+
+    private final CommandMetrics metrics;
+
+    private Argument<?>[] arguments;
+
     /**
      * Represents a command.
      *
@@ -46,17 +106,20 @@ public abstract class Command {
         this.name = name;
         this.subCommands = Sets.newHashSet();
         this.aliases = Sets.newHashSet();
-        this.usage = this.getCommandUsage();
 
         this.description = EMPTY;
 
         this.permission = permission == null ? EMPTY : permission;
-        this.permittedSources = new boolean[] {
-          true, true, true
-        };
+        this.permittedSources = new boolean[CommandSource.values().length];
+        Arrays.fill(this.permittedSources, true);
 
         this.minArgs = 0;
         this.maxArgs = 0;
+
+        this.arguments = new Argument<?>[0];
+        this.interceptors = new CommandInterceptor[0];
+
+        this.metrics = new CommandMetrics();
     }
 
     /**
@@ -65,9 +128,27 @@ public abstract class Command {
      * @param commands Commands to register as subcommands.
      *
      * @return This command instance.
+     *
+     * @throws IllegalStateException If this command or any of the subcommands has already been registered, or any of
+     * the subcommands is already a subcommand of another command.
      */
     public Command addSubCommands(Command... commands) {
+        this.checkNotFrozen();
+        Stream.of(commands).forEach(Command::checkNotFrozen);
+
+        for (Command command : commands) {
+            if (command.parent != null && command.parent != this) {
+                throw new IllegalStateException("The command, " + command.getPath() + ", is already a subcommand of " + command.parent.getPath() + "!");
+            }
+        }
+
         this.subCommands.addAll(Stream.of(commands).collect(Collectors.toList()));
+        Stream.of(commands).forEach(command -> {
+            command.parent = this;
+            command.invalidateTree();
+        });
+
+        this.invalidate();
 
         return this;
     }
@@ -80,7 +161,9 @@ public abstract class Command {
      * @return This command instance.
      */
     public Command addAliases(String... aliases) {
+        this.checkNotFrozen();
         this.aliases.addAll(Stream.of(aliases).collect(Collectors.toList()));
+        this.invalidate();
 
         return this;
     }
@@ -93,20 +176,25 @@ public abstract class Command {
      * @return This command instance.
      */
     public Command setDescription(String description) {
+        this.checkNotFrozen();
         this.description = description;
+        this.invalidate();
 
         return this;
     }
 
     /**
-     * Sets the permission node required to execute this command.
+     * Sets the permission node required to execute this command and its subcommands.
      *
-     * @param permission Permission node.
+     * @param permission Permission node, or {@code null} for none.
      *
      * @return This command instance.
      */
-    public Command setPermission(String permission) {
-        this.permission = permission;
+    public Command setPermission(@Nullable String permission) {
+        this.checkNotFrozen();
+        this.permission = permission == null ? EMPTY : permission;
+        this.invalidateTree();
+        this.invalidate();
 
         return this;
     }
@@ -119,7 +207,9 @@ public abstract class Command {
      * @return This command instance.
      */
     public Command addPermittedSources(CommandSource... sources) {
+        this.checkNotFrozen();
         Stream.of(sources).forEach(src -> this.permittedSources[src.ordinal()] = true);
+        this.invalidate();
 
         return this;
     }
@@ -132,7 +222,9 @@ public abstract class Command {
      * @return This command instance.
      */
     public Command removePermittedSources(CommandSource... sources) {
+        this.checkNotFrozen();
         Stream.of(sources).forEach(src -> this.permittedSources[src.ordinal()] = false);
+        this.invalidate();
 
         return this;
     }
@@ -151,7 +243,9 @@ public abstract class Command {
             throw new IllegalArgumentException("Minimum arguments cannot be set below 0!");
         }
 
+        this.checkNotFrozen();
         this.minArgs = minArgs;
+        this.invalidate();
 
         return this;
     }
@@ -164,11 +258,203 @@ public abstract class Command {
      * @return This command instance.
      */
     public Command setMaxArgs(int maxArgs) {
+        this.checkNotFrozen();
         this.maxArgs = maxArgs;
+        this.invalidate();
+
+        return this;
+    }
+
+    /**
+     * Sets whether this command executes off the server thread. Checks still run on the server thread, after which
+     * {@link #execute(CommandSender, CommandArguments)} is handed to this command's executor.
+     *
+     * @param async {@code true} To execute asynchronously.
+     *
+     * @return This command instance.
+     */
+    public Command setAsync(boolean async) {
+        this.checkNotFrozen();
+        this.async = async;
+
+        return this;
+    }
+
+    /**
+     * Sets the executor this command runs on when asynchronous.
+     *
+     * @param executor Executor to use, or {@code null} to use {@link CommandExecutors#defaultExecutor()}.
+     *
+     * @return This command instance.
+     */
+    public Command setExecutor(@Nullable Executor executor) {
+        this.checkNotFrozen();
+        this.executor = executor;
+
+        return this;
+    }
+
+    /**
+     * Sets the maximum amount of executions of this command that may run at once when asynchronous, including those
+     * forwarded to another node. Further executions are rejected before they are rate limited, until one finishes.
+     *
+     * @param maxConcurrentExecutions Maximum concurrent executions, or 0 for no limit.
+     *
+     * @return This command instance.
+     *
+     * @throws IllegalArgumentException If the {@param maxConcurrentExecutions} parameter is below 0.
+     */
+    public Command setMaxConcurrentExecutions(int maxConcurrentExecutions) {
+        if (maxConcurrentExecutions < 0) {
+            throw new IllegalArgumentException("Maximum concurrent executions cannot be set below 0!");
+        }
+
+        this.checkNotFrozen();
+        this.concurrencyLimit = maxConcurrentExecutions == 0 ? null : new Semaphore(maxConcurrentExecutions);
+
+        return this;
+    }
+
+    /**
+     * Sets the rate limit applied to each sender that executes this command. Senders that are not entities, such as
+     * the console, are never rate limited.
+     *
+     * @param rateLimiter Rate limit to apply, or {@code null} for none. May be shared with other commands.
+     *
+     * @return This command instance.
+     */
+    public Command setRateLimiter(@Nullable RateLimiter rateLimiter) {
+        this.checkNotFrozen();
+        this.rateLimiter = rateLimiter;
+
+        return this;
+    }
+
+    /**
+     * Adds interceptors that run around this command and every subcommand beneath it, after the global interceptors
+     * and the interceptors of the commands above it.
+     *
+     * @param interceptors Interceptors to add, in the order they run.
+     *
+     * @return This command instance.
+     */
+    public Command addInterceptors(CommandInterceptor... interceptors) {
+        this.checkNotFrozen();
+        this.interceptors = ObjectArrays.concat(this.interceptors, interceptors, CommandInterceptor.class);
+        this.invalidateTree();
+
+        return this;
+    }
+
+    /**
+     * Sets the key that routes invocations of this command to the node that owns them, once a forwarder has been set
+     * through {@link CommandAPI#setForwarder(CommandForwarder)}. Invocations are checked on the node they were sent
+     * to, and the permission nodes of this command travel with them.
+     *
+     * @param forwardingKey Key to route by, such as {@link ForwardingKey#SENDER}, or {@code null} to always execute
+     * this command on the node it was sent to.
+     *
+     * @return This command instance.
+     */
+    public Command setForwardingKey(@Nullable ForwardingKey forwardingKey) {
+        this.checkNotFrozen();
+        this.forwardingKey = forwardingKey;
 
         return this;
     }
 
+    /**
+     * Declares a required typed argument after the arguments already declared on this command, raising the minimum and
+     * maximum arguments to fit.
+     *
+     * @param name Name of the argument.
+     * @param parser Parser used to convert the raw input, see {@link ArgumentParsers}.
+     *
+     * @return The argument, used to obtain its parsed value from {@link CommandArguments#get(Argument)}.
+     *
+     * @throws IllegalArgumentException If an optional or greedy argument has already been declared.
+     */
+    public <T> Argument<T> addArgument(String name, ArgumentParser<T> parser) {
+        return this.declareArgument(name, parser, false, null);
+    }
+
+    /**
+     * Declares a required typed argument with its own tab completion suggestions.
+     *
+     * @param name Name of the argument.
+     * @param parser Parser used to convert the raw input, see {@link ArgumentParsers}.
+     * @param suggestions Suggestions offered when tab completing, see {@link SuggestionProviders}.
+     *
+     * @return The argument, used to obtain its parsed value from {@link CommandArguments#get(Argument)}.
+     *
+     * @throws IllegalArgumentException If an optional or greedy argument has already been declared.
+     */
+    public <T> Argument<T> addArgument(String name, ArgumentParser<T> parser, SuggestionProvider suggestions) {
+        return this.declareArgument(name, parser, false, suggestions);
+    }
+
+    /**
+     * Declares an optional typed argument after the arguments already declared on this command, raising the maximum
+     * arguments to fit.
+     *
+     * @param name Name of the argument.
+     * @param parser Parser used to convert the raw input, see {@link ArgumentParsers}.
+     *
+     * @return The argument, used to obtain its parsed value from {@link CommandArguments#get(Argument)}.
+     *
+     * @throws IllegalArgumentException If a greedy argument has already been declared.
+     */
+    public <T> Argument<T> addOptionalArgument(String name, ArgumentParser<T> parser) {
+        return this.declareArgument(name, parser, true, null);
+    }
+
+    /**
+     * Declares an optional typed argument with its own tab completion suggestions.
+     *
+     * @param name Name of the argument.
+     * @param parser Parser used to convert the raw input, see {@link ArgumentParsers}.
+     * @param suggestions Suggestions offered when tab completing, see {@link SuggestionProviders}.
+     *
+     * @return The argument, used to obtain its parsed value from {@link CommandArguments#get(Argument)}.
+     *
+     * @throws IllegalArgumentException If a greedy argument has already been declared.
+     */
+    public <T> Argument<T> addOptionalArgument(String name, ArgumentParser<T> parser, SuggestionProvider suggestions) {
+        return this.declareArgument(name, parser, true, suggestions);
+    }
+
+    private <T> Argument<T> declareArgument(String name, ArgumentParser<T> parser, boolean optional, @Nullable SuggestionProvider suggestions) {
+        this.checkNotFrozen();
+
+        int index = this.arguments.length;
+
+        if (index > 0) {
+            Argument<?> last = this.arguments[index - 1];
+
+            if (last.isGreedy()) {
+                throw new IllegalArgumentException("Arguments cannot follow the greedy argument, " + last.getName() + "!");
+            }
+
+            if (last.isOptional() && !optional) {
+                throw new IllegalArgumentException("Required arguments cannot follow the optional argument, " + last.getName() + "!");
+            }
+        }
+
+        Argument<T> argument = new Argument<>(name, parser, optional, index, suggestions);
+
+        this.arguments = Arrays.copyOf(this.arguments, index + 1);
+        this.arguments[index] = argument;
+
+        if (!optional) {
+            this.minArgs = Math.max(this.minArgs, index + 1);
+        }
+
+        this.maxArgs = argument.isGreedy() ? Integer.MAX_VALUE : Math.max(this.maxArgs, index + 1);
+        this.invalidate();
+
+        return argument;
+    }
+
     /**
      * @return The name of this command.
      */
@@ -183,6 +469,28 @@ public abstract class Command {
         return Collections.unmodifiableSet(this.subCommands);
     }
 
+    /**
+     * Looks up a direct subcommand by its name or one of its aliases, ignoring case.
+     *
+     * @param label Name or alias of the subcommand.
+     *
+     * @return The matching subcommand, or {@code null} if there is none.
+     */
+    @Nullable
+    public Command getSubCommand(String label) {
+        CompiledCommand command = this.compile().getChild(label);
+
+        return command == null ? null : command.getCommand();
+    }
+
+    /**
+     * @return The command this command was added to as a subcommand, or {@code null} if it is a root command.
+     */
+    @Nullable
+    public Command getParent() {
+        return this.parent;
+    }
+
     /**
      * @return The aliases registered against this command.
      */
@@ -191,10 +499,181 @@ public abstract class Command {
     }
 
     /**
-     * @return The usage of this command.
+     * @return The usage of this command, computed once and recomputed only after its subcommands, aliases or
+     * arguments change.
      */
     public String getUsage() {
-        return (this.usage == null || this.usage.isEmpty()) ? GET_USAGE_FUNCTION.apply(this) : this.usage;
+        String usage = this.usage;
+
+        if (usage == null) {
+            usage = this.getCommandUsage();
+
+            if (usage == null || usage.isEmpty()) {
+                usage = GET_USAGE_FUNCTION.apply(this);
+            }
+
+            this.usage = usage;
+        }
+
+        return usage;
+    }
+
+    /**
+     * @return The usage of this command and of every subcommand beneath it, one per line, each followed by its
+     * description if it has one. Computed once and recomputed only after the tree changes.
+     */
+    public String getHelp() {
+        String help = this.help;
+
+        if (help == null) {
+            StringBuilder builder = new StringBuilder();
+            this.appendHelp(builder);
+
+            help = builder.toString();
+            this.help = help;
+        }
+
+        return help;
+    }
+
+    private void appendHelp(StringBuilder builder) {
+        if (builder.length() > 0) {
+            builder.append('\n');
+        }
+
+        builder.append(this.getUsage());
+
+        if (!this.description.isEmpty()) {
+            builder.append(" - ").append(this.description);
+        }
+
+        this.subCommands.stream()
+          .sorted(Comparator.comparing(Command::getName))
+          .forEach(command -> command.appendHelp(builder));
+    }
+
+    /**
+     * Forgets the cached usage, help and compiled form of this command and of the commands above it, which include it.
+     */
+    private void invalidate() {
+        for (Command command = this; command != null; command = command.parent) {
+            command.usage = null;
+            command.help = null;
+            command.compiled = null;
+        }
+    }
+
+    /**
+     * Forgets the cached usage, help, inherited permissions and compiled form of this command and of every command
+     * beneath it, whose paths and permissions include it.
+     */
+    private void invalidateTree() {
+        this.usage = null;
+        this.help = null;
+        this.requiredPermissions = null;
+        this.compiled = null;
+
+        this.subCommands.forEach(Command::invalidateTree);
+    }
+
+    /**
+     * @return The distinct, non-empty permission nodes of this command and of every command above it, outermost first.
+     */
+    private String[] getRequiredPermissions() {
+        String[] permissions = this.requiredPermissions;
+
+        if (permissions == null) {
+            Set<String> nodes = Sets.newLinkedHashSet();
+
+            if (this.parent != null) {
+                Collections.addAll(nodes, this.parent.getRequiredPermissions());
+            }
+
+            if (!this.permission.isEmpty()) {
+                nodes.add(this.permission);
+            }
+
+            permissions = nodes.toArray(new String[0]);
+            this.requiredPermissions = permissions;
+        }
+
+        return permissions;
+    }
+
+    /**
+     * @return The interceptors of every command above this command, outermost first, followed by its own.
+     */
+    private CommandInterceptor[] getInheritedInterceptors() {
+        if (this.parent == null) {
+            return this.interceptors;
+        }
+
+        return ObjectArrays.concat(this.parent.getInheritedInterceptors(), this.interceptors, CommandInterceptor.class);
+    }
+
+    /**
+     * Obtains the compiled form of this command, compiling it and every command beneath it that has changed since it
+     * was last compiled.
+     *
+     * @return The compiled command.
+     */
+    CompiledCommand compile() {
+        CompiledCommand compiled = this.compiled;
+
+        if (compiled == null) {
+            Map<String, CompiledCommand> children = Maps.newHashMap();
+
+            for (Command command : this.subCommands) {
+                CompiledCommand child = command.compile();
+
+                for (String alias : command.getAliases()) {
+                    children.put(CompiledCommand.fold(alias), child);
+                }
+            }
+
+            for (Command command : this.subCommands) {
+                children.put(CompiledCommand.fold(command.getName()), command.compile());
+            }
+
+            int sources = 0;
+            for (int i = 0; i < this.permittedSources.length; i++) {
+                sources |= this.permittedSources[i] ? 1 << i : 0;
+            }
+
+            compiled = new CompiledCommand(this, children, sources, this.getRequiredPermissions(), this.minArgs, this.maxArgs, this.arguments, this.getInheritedInterceptors());
+            this.compiled = compiled;
+        }
+
+        return compiled;
+    }
+
+    /**
+     * Compiles this command and every command beneath it, after which none of them can be changed. Called when the
+     * command is registered.
+     */
+    void freeze() {
+        this.compile();
+        this.freezeTree();
+    }
+
+    private void freezeTree() {
+        this.frozen = true;
+
+        this.subCommands.forEach(Command::freezeTree);
+    }
+
+    private void checkNotFrozen() {
+        if (this.frozen) {
+            throw new IllegalStateException("The command, " + this.getPath() + ", cannot be changed once it has been registered!");
+        }
+    }
+
+    /**
+     * @return {@code true} If this command has been registered, either directly or as a subcommand, and can no longer
+     * be changed.
+     */
+    public boolean isFrozen() {
+        return this.frozen;
     }
 
     /**
@@ -215,35 +694,44 @@ public abstract class Command {
      * @return The CommandSources that are allowed to execute this command.
      */
     public CommandSource[] getPermittedSources() {
-        CommandSource[] sources = new CommandSource[3];
-        for (int i = 0; i < this.permittedSources.length; i++) {
-            if (this.permittedSources[i]) {
-                sources[i] = CommandSource.values()[i];
-            }
-        }
-
-        return sources;
+        return Stream.of(CommandSource.values())
+          .filter(source -> this.permittedSources[source.ordinal()])
+          .toArray(CommandSource[]::new);
     }
 
     /**
      * @return {@code true} If player's are allowed to execute this command.
      */
     public boolean isPlayerPermitted() {
-        return this.permittedSources[0];
+        return this.permittedSources[CommandSource.PLAYER.ordinal()];
     }
 
     /**
      * @return {@code true} If the console is allowed to execute this command.
      */
     public boolean isConsolePermitted() {
-        return this.permittedSources[1];
+        return this.permittedSources[CommandSource.CONSOLE.ordinal()];
     }
 
     /**
      * @return {@code true} If command blocks are allowed to execute this command.
      */
     public boolean isCommandBlockPermitted() {
-        return this.permittedSources[2];
+        return this.permittedSources[CommandSource.COMMAND_BLOCK.ordinal()];
+    }
+
+    /**
+     * @return {@code true} If invocations forwarded from other nodes are allowed to execute this command.
+     */
+    public boolean isRemotePermitted() {
+        return this.permittedSources[CommandSource.REMOTE.ordinal()];
+    }
+
+    /**
+     * @return {@code true} If senders that do not match any other source, such as proxied senders, are allowed to execute this command.
+     */
+    public boolean isUnknownPermitted() {
+        return this.permittedSources[CommandSource.UNKNOWN.ordinal()];
     }
 
     /**
@@ -260,6 +748,135 @@ public abstract class Command {
         return this.maxArgs;
     }
 
+    /**
+     * @return {@code true} If this command executes off the server thread.
+     */
+    public boolean isAsync() {
+        return this.async;
+    }
+
+    /**
+     * @return The executor this command runs on when asynchronous.
+     */
+    public Executor getExecutor() {
+        return this.executor == null ? CommandExecutors.defaultExecutor() : this.executor;
+    }
+
+    /**
+     * @return The typed arguments declared on this command, in order.
+     */
+    public List<Argument<?>> getArguments() {
+        return Collections.unmodifiableList(Arrays.asList(this.arguments));
+    }
+
+    /**
+     * @return The rate limit applied to each sender that executes this command, or {@code null} if there is none.
+     */
+    @Nullable
+    public RateLimiter getRateLimiter() {
+        return this.rateLimiter;
+    }
+
+    /**
+     * @return The key that routes invocations of this command to other nodes, or {@code null} if there is none.
+     */
+    @Nullable
+    public ForwardingKey getForwardingKey() {
+        return this.forwardingKey;
+    }
+
+    /**
+     * @return The interceptors added to this command node, not including those it inherits.
+     */
+    public List<CommandInterceptor> getInterceptors() {
+        return Collections.unmodifiableList(Arrays.asList(this.interceptors));
+    }
+
+    /**
+     * @return The path of this command from its root command, such as {@code "warp set"}.
+     */
+    public String getPath() {
+        return this.parent == null ? this.name : this.parent.getPath() + " " + this.name;
+    }
+
+    /**
+     * @return The execution metrics of this command node, recorded while {@link CommandAPI#isMetricsEnabled()}.
+     */
+    public CommandMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Checks whether a sender is allowed to execute this command, based on their source and on the permissions of
+     * this command and every command above it.
+     *
+     * @param sender Sender to check.
+     *
+     * @return {@code true} If the sender may execute this command.
+     */
+    public boolean canExecute(CommandSender sender) {
+        return this.compile().canExecute(sender, CommandSource.fromSender(sender));
+    }
+
+    /**
+     * Completes the last argument of a partially typed command, descending into subcommands where the preceding
+     * arguments match. Offers the subcommands the sender may execute, followed by the suggestions of the typed
+     * argument at that position.
+     *
+     * @param sender The sender requesting completions.
+     * @param args The arguments typed so far, the last of which is being completed.
+     *
+     * @return The completions, sorted ignoring case within subcommands and within suggestions.
+     */
+    public List<String> complete(CommandSender sender, String... args) {
+        if (args.length == 0) {
+            return Collections.emptyList();
+        }
+
+        CompiledCommand command = this.compile();
+        int offset = 0;
+
+        while (offset < args.length - 1) {
+            CompiledCommand child = command.getChild(args[offset]);
+
+            if (child == null) {
+                break;
+            }
+
+            command = child;
+            offset++;
+        }
+
+        return completeArgument(command, sender, args[args.length - 1], args.length - 1 - offset);
+    }
+
+    private static List<String> completeArgument(CompiledCommand command, CommandSender sender, String prefix, int position) {
+        Argument<?>[] arguments = command.getArguments();
+        List<String> subCommands = position == 0 ? command.getTrie().complete(prefix) : Collections.emptyList();
+        SuggestionProvider suggestions = position < arguments.length ? arguments[position].getSuggestions() : null;
+
+        if (subCommands.isEmpty()) {
+            return suggestions == null ? Collections.emptyList() : suggestions.complete(sender, prefix);
+        }
+
+        CommandSource source = CommandSource.fromSender(sender);
+        List<String> completions = Lists.newArrayList();
+
+        for (String label : subCommands) {
+            CompiledCommand child = command.getChild(label);
+
+            if (child != null && child.canExecute(sender, source)) {
+                completions.add(label);
+            }
+        }
+
+        if (suggestions != null) {
+            completions.addAll(suggestions.complete(sender, prefix));
+        }
+
+        return completions;
+    }
+
     /**
      * @return This command as a BukkitCommand.
      */
@@ -271,75 +888,448 @@ public abstract class Command {
                 Command.this.fire(sender, args);
                 return false;
             }
+
+            @Override
+            public List<String> tabComplete(CommandSender sender, String alias, String[] args) {
+                return Lists.newArrayList(Command.this.complete(sender, args));
+            }
         };
     }
 
-    private void fire(CommandSender sender, String... args) {
-        if (args.length == 0) {
-            this.runChecks(sender, args);
-            return;
+    /**
+     * Dispatches this command as if it had been sent by a sender, descending into subcommands where the arguments match.
+     *
+     * @param sender The sender of the command.
+     * @param args The arguments to send alongside this command.
+     *
+     * @return A future that completes once the command has finished executing, or immediately if it was rejected or
+     * ran synchronously.
+     */
+    public CompletableFuture<Void> dispatch(CommandSender sender, String... args) {
+        CompletableFuture<Void> future = fire(this.compile(), sender, args, 0, null);
+
+        return future == null ? CompletableFuture.completedFuture(null) : future;
+    }
+
+    /**
+     * Dispatches this command like {@link #dispatch(CommandSender, String...)}, also reporting whether the invocation
+     * executed, was rejected or failed, and why.
+     *
+     * @param sender The sender of the command.
+     * @param args The arguments to send alongside this command.
+     *
+     * @return A future that completes with the result once the command has finished executing, or immediately if it
+     * was rejected or ran synchronously.
+     */
+    public CompletableFuture<DispatchResult> dispatchForResult(CommandSender sender, String... args) {
+        Outcome outcome = new Outcome();
+        CompletableFuture<Void> future = fire(this.compile(), sender, args, 0, outcome);
+
+        if (future == null) {
+            return CompletableFuture.completedFuture(outcome.toResult(null));
+        }
+
+        return future.handle((result, throwable) -> outcome.toResult(throwable));
+    }
+
+    /**
+     * Executes this command as sent by the server, on the version of the command tree compiled when it began.
+     */
+    void fire(CommandSender sender, String[] args) {
+        fire(this.compile(), sender, args, 0, null);
+    }
+
+    /**
+     * Descends into the deepest subcommand matched by the arguments, then runs its interceptors, if any, around its
+     * checks and execution.
+     */
+    @Nullable
+    private static CompletableFuture<Void> fire(CompiledCommand command, CommandSender sender, String[] args, int offset, @Nullable Outcome outcome) {
+        while (offset < args.length) {
+            CompiledCommand child = command.getChild(args[offset]);
+
+            if (child == null) {
+                break;
+            }
+
+            command = child;
+            offset++;
         }
 
-        Command command = this.subCommands.stream()
-          .filter(c -> c.getName().equalsIgnoreCase(args[0]))
-          .findFirst()
-          .orElse(null);
+        CommandInterceptor[] interceptors = command.getInterceptors(CommandAPI.getInterceptorArray());
 
-        if (command == null) {
-            this.runChecks(sender, args);
-            return;
+        if (interceptors.length == 0) {
+            return command.getCommand().runChecks(command, sender, args, offset, outcome);
         }
 
-        command.fire(sender, Stream.of(args).skip(1).toArray(String[]::new));
+        return new Chain(command, interceptors, 0, outcome).proceed(new CommandInvocation(command.getCommand(), sender, args, offset));
     }
 
-    private void runChecks(CommandSender sender, String... args) {
+    /**
+     * Runs every check against the sender and the arguments, then executes this command.
+     *
+     * @return The pending execution if this command is asynchronous, otherwise {@code null}.
+     */
+    @Nullable
+    private CompletableFuture<Void> runChecks(CompiledCommand compiled, CommandSender sender, String[] args, int offset, @Nullable Outcome outcome) {
+        int length = args.length - offset;
         CommandSource source = CommandSource.fromSender(sender);
 
-        if (!this.permittedSources[source.ordinal()]) {
-            sender.sendMessage(ChatColor.RED + "This command cannot be executed by your account type");
-            return;
+        if (CommandAPI.isMetricsEnabled()) {
+            this.metrics.recordInvocation();
+        }
+
+        if (!compiled.isPermitted(source)) {
+            return this.reject(sender, args, offset, RejectionReason.SOURCE, SOURCE_MESSAGE, outcome);
+        }
+
+        if (!compiled.hasPermissions(sender, source)) {
+            return this.reject(sender, args, offset, RejectionReason.PERMISSION, PERMISSION_MESSAGE, outcome);
         }
 
-        if (source == CommandSource.PLAYER && !sender.hasPermission(this.permission)) {
-            sender.sendMessage(ChatColor.RED + "You have insufficient permissions to execute this command!");
-            return;
+        if (length > compiled.getMaxArgs()) {
+            this.reject(sender, args, offset, RejectionReason.TOO_MANY_ARGUMENTS, TOO_MANY_ARGUMENTS_MESSAGE, outcome);
+            return this.suggest(compiled, sender, source, args, offset);
         }
 
-        if (args.length > this.maxArgs) {
-            sender.sendMessage(ChatColor.RED + "You have specified too many arguments to execute this command!");
-            return;
+        if (length < compiled.getMinArgs()) {
+            return this.reject(sender, args, offset, RejectionReason.NOT_ENOUGH_ARGUMENTS, NOT_ENOUGH_ARGUMENTS_MESSAGE, outcome);
         }
 
-        if (args.length < this.minArgs) {
-            sender.sendMessage(ChatColor.RED + "You have not specified enough arguments to execute this command!");
-            return;
+        Object[] values = parseArguments(compiled.getArguments(), sender, args, offset);
+
+        if (values == null) {
+            this.reject(sender, args, offset, RejectionReason.BAD_ARGUMENTS, null, outcome);
+            return this.suggest(compiled, sender, source, args, offset);
+        }
+
+        Semaphore limit = this.async ? this.concurrencyLimit : null;
+
+        if (limit != null && !limit.tryAcquire()) {
+            return this.reject(sender, args, offset, RejectionReason.BUSY, BUSY_MESSAGE, outcome);
+        }
+
+        // Only rate limited once the invocation is certain to run, so a busy rejection does not use up a permit
+        if (sender instanceof Entity && !this.acquirePermits((Entity) sender)) {
+            if (limit != null) {
+                limit.release();
+            }
+
+            return this.reject(sender, args, offset, RejectionReason.RATE_LIMITED, null, outcome);
+        }
+
+        CommandArguments arguments = new CommandArguments(args, offset, values);
+
+        if (this.forwardingKey != null && !(sender instanceof RemoteCommandSender)) {
+            CompletableFuture<Void> forwarded = this.forward(compiled, sender, source, arguments);
+
+            if (forwarded != null) {
+                if (outcome != null) {
+                    outcome.executed = true;
+                }
+
+                if (limit != null) {
+                    forwarded.whenComplete((result, throwable) -> limit.release());
+                }
+
+                return forwarded;
+            }
+        }
+
+        if (!this.async) {
+            this.invoke(sender, arguments, outcome);
+            return null;
         }
 
         try {
-            this.execute(sender, args);
+            CompletableFuture<Void> future = CompletableFuture.runAsync(() -> this.invoke(sender, arguments, outcome), this.getExecutor());
+
+            if (limit != null) {
+                future.whenComplete((result, throwable) -> limit.release());
+            }
+
+            return future;
+        } catch (RejectedExecutionException e) {
+            if (limit != null) {
+                limit.release();
+            }
+
+            return this.reject(sender, args, offset, RejectionReason.BUSY, BUSY_MESSAGE, outcome);
+        }
+    }
+
+    /**
+     * Forwards an invocation to the node its key routes to.
+     *
+     * @return The pending reply, or {@code null} if the invocation belongs to this node or forwarding is disabled.
+     */
+    @Nullable
+    private CompletableFuture<Void> forward(CompiledCommand compiled, CommandSender sender, CommandSource source, CommandArguments arguments) {
+        CommandForwarder forwarder = CommandAPI.getForwarder();
+
+        if (forwarder == null) {
+            return null;
+        }
+
+        Object key = this.forwardingKey.getKey(sender, arguments);
+
+        if (key == null) {
+            return null;
+        }
+
+        String node = forwarder.route(key);
+
+        if (node.equals(forwarder.getNodeId())) {
+            return null;
+        }
+
+        UUID id = sender instanceof Entity ? ((Entity) sender).getUniqueId() : null;
+        CommandEnvelope envelope = new CommandEnvelope(this.getPath(), Arrays.asList(arguments.toArray()), sender.getName(), id, source,
+          ImmutableSet.copyOf(compiled.getPermissions()));
+
+        return forwarder.forward(node, envelope, sender);
+    }
+
+    /**
+     * Tells the sender why their invocation was rejected and records the rejection.
+     *
+     * @param message Message to send, or {@code null} if the sender has already been told.
+     *
+     * @return {@code null}, as there is no pending execution.
+     */
+    @Nullable
+    private CompletableFuture<Void> reject(CommandSender sender, String[] args, int offset, RejectionReason reason, @Nullable String message,
+                                           @Nullable Outcome outcome) {
+        if (outcome != null) {
+            outcome.reason = reason;
+        }
+
+        if (message != null) {
+            sender.sendMessage(message);
+        }
+
+        if (CommandAPI.isMetricsEnabled()) {
+            this.metrics.recordRejection(reason);
+        }
+
+        AuditLog audit = CommandAPI.getAuditLog();
+
+        if (audit != null && audit.isAudited(this)) {
+            this.audit(audit, sender, new CommandArguments(args, offset), AuditOutcome.REJECTED, reason, 0);
+        }
+
+        return null;
+    }
+
+    /**
+     * Tells the sender which subcommand they most likely meant, if the first argument of a rejected invocation is a
+     * misspelling of one.
+     *
+     * @return {@code null}, as there is no pending execution.
+     */
+    @Nullable
+    private CompletableFuture<Void> suggest(CompiledCommand compiled, CommandSender sender, CommandSource source, String[] args, int offset) {
+        String suggestion = offset < args.length ? this.getSuggestion(compiled, sender, source, args[offset]) : null;
+
+        if (suggestion != null) {
+            sender.sendMessage(suggestion);
+        }
+
+        return null;
+    }
+
+    /**
+     * @return The message suggesting the subcommand closest to a label, or {@code null} if none is close enough.
+     */
+    @Nullable
+    private String getSuggestion(CompiledCommand compiled, CommandSender sender, CommandSource source, String label) {
+        String child = compiled.suggestChild(sender, source, label);
+
+        return child == null ? null : SUGGESTION_MESSAGE + this.getPath() + " " + child + "?";
+    }
+
+    /**
+     * Parses the arguments against the typed arguments declared on a command, telling the sender about the first
+     * one that fails.
+     *
+     * @return The parsed values, or {@code null} if an argument could not be parsed.
+     */
+    @Nullable
+    private static Object[] parseArguments(Argument<?>[] declared, CommandSender sender, String[] args, int offset) {
+        Object[] values = new Object[declared.length];
+
+        for (int i = 0; i < declared.length && offset + i < args.length; i++) {
+            Argument<?> argument = declared[i];
+            String input = argument.isGreedy() ? new CommandArguments(args, offset + i).join(0) : args[offset + i];
+            ParseResult<?> result = argument.getParser().parse(sender, input);
+
+            if (!result.isSuccess()) {
+                sender.sendMessage(ChatColor.RED + "Invalid " + argument.getName() + ", " + result.getMessage());
+                return null;
+            }
+
+            values[i] = result.getValue();
+        }
+
+        return values;
+    }
+
+    private boolean acquirePermits(Entity sender) {
+        RateLimiter global = CommandAPI.getGlobalRateLimiter();
+
+        if (this.rateLimiter == null && global == null) {
+            return true;
+        }
+
+        UUID id = sender.getUniqueId();
+
+        if (!acquirePermit(sender, id, this.rateLimiter)) {
+            return false;
+        }
+
+        if (!acquirePermit(sender, id, global)) {
+            // The execution is rejected, so the permit of this command must not be used up by it
+            if (this.rateLimiter != null) {
+                this.rateLimiter.refund(id);
+            }
+
+            return false;
+        }
+
+        return true;
+    }
+
+    private static boolean acquirePermit(CommandSender sender, UUID id, @Nullable RateLimiter limiter) {
+        if (limiter == null) {
+            return true;
+        }
+
+        long wait = limiter.tryAcquire(id);
+
+        if (wait > 0) {
+            sender.sendMessage(limiter.getMessage(wait));
+            return false;
+        }
+
+        return true;
+    }
+
+    private void invoke(CommandSender sender, CommandArguments arguments, @Nullable Outcome outcome) {
+        boolean measured = CommandAPI.isMetricsEnabled();
+        AuditLog audit = CommandAPI.getAuditLog();
+        boolean audited = audit != null && audit.isAudited(this);
+        long start = measured || audited ? System.nanoTime() : 0;
+        CommandWatchdog watchdog = CommandAPI.getWatchdog();
+        CommandWatchdog.Watch watch = watchdog == null ? null : watchdog.start(this, sender, arguments.size());
+        AuditOutcome auditOutcome = AuditOutcome.EXECUTED;
+
+        try {
+            this.execute(sender, arguments);
+
+            if (outcome != null) {
+                outcome.executed = true;
+            }
         } catch (Exception e) {
+            auditOutcome = AuditOutcome.FAILED;
+
+            if (measured) {
+                this.metrics.recordFailure(e);
+            }
+
             if (e instanceof IllegalCommandArgException) {
-                e.printStackTrace();
                 IllegalCommandArgException ex = (IllegalCommandArgException) e;
 
-                sender.sendMessage(ChatColor.RED + "You have specified the wrong argument type for, " + ex.getArgumentName() +
+                if (outcome != null) {
+                    outcome.reason = RejectionReason.BAD_ARGUMENTS;
+                }
+
+                reply(sender, ChatColor.RED + "You have specified the wrong argument type for, " + ex.getArgumentName() +
                   ", expected a " + ex.getRequiredType().getSimpleName() + "!");
                 return;
             }
 
             if (e instanceof IllegalCommandUsageException) {
-                e.printStackTrace();
-                sender.sendMessage(ChatColor.RED + "Incorrect command usage, the correct usage is:\n" + ((IllegalCommandUsageException) e).getUsage());
+                if (outcome != null) {
+                    outcome.reason = RejectionReason.USAGE;
+                }
+
+                reply(sender, USAGE_MESSAGE + ((IllegalCommandUsageException) e).getUsage());
+
+                String suggestion = arguments.isEmpty() ? null : this.getSuggestion(this.compile(), sender, CommandSource.fromSender(sender), arguments.get(0));
+
+                if (suggestion != null) {
+                    reply(sender, suggestion);
+                }
+
                 return;
             }
 
+            if (outcome != null) {
+                outcome.failure = e;
+            }
+
             e.printStackTrace();
+        } finally {
+            if (measured) {
+                this.metrics.recordLatency(System.nanoTime() - start);
+            }
+
+            if (watch != null) {
+                watch.stop();
+            }
+
+            if (audited) {
+                this.audit(audit, sender, arguments, auditOutcome, null, System.nanoTime() - start);
+            }
         }
     }
 
+    private void audit(AuditLog audit, CommandSender sender, CommandArguments arguments, AuditOutcome outcome, @Nullable RejectionReason reason, long durationNanos) {
+        UUID id = sender instanceof Entity ? ((Entity) sender).getUniqueId() : null;
+
+        audit.record(new AuditRecord(System.currentTimeMillis(), this.getPath(), sender.getName(), id,
+          CommandSource.fromSender(sender), arguments.join(0), outcome, reason, durationNanos));
+    }
+
+    /**
+     * Runs a task on the server thread. Asynchronous commands should use this to touch the Bukkit API or to send
+     * their results back to the sender.
+     *
+     * @param task Task to run.
+     *
+     * @return A future that completes once the task has run.
+     */
+    protected CompletableFuture<Void> sync(Runnable task) {
+        return CompletableFuture.runAsync(task, CommandExecutors.mainThread());
+    }
+
+    /**
+     * Sends a message to a sender on the server thread, immediately if already on it.
+     *
+     * @param sender Sender to message.
+     * @param message Message to send.
+     */
+    protected static void reply(CommandSender sender, String message) {
+        CommandExecutors.mainThread().execute(() -> sender.sendMessage(message));
+    }
+
+    /**
+     * Code to execute when this command has completed all checks. By default this copies the arguments and
+     * delegates to {@link #execute(CommandSender, String...)}; override it to read the arguments without copying, or
+     * extend {@link TypedCommand} to implement only this form.
+     *
+     * @param sender The sender of the command.
+     * @param args The arguments that the sender has sent alongside this command.
+     *
+     * @throws Exception On specific use cases such as incorrect argument types or incorrect usage.
+     */
+    protected void execute(CommandSender sender, CommandArguments args) throws Exception {
+        this.execute(sender, args.toArray());
+    }
+
     /**
-     * Code to execute when this command has completed all checks.
+     * Code to execute when this command has completed all checks. Only invoked if
+     * {@link #execute(CommandSender, CommandArguments)} is not overridden.
      *
      * @param sender The sender of the command.
      * @param args The arguments that the sender has sent alongside this command.
@@ -350,28 +1340,95 @@ public abstract class Command {
 
     /**
      * @return The command usage to accompany this command. If none, it defaults to invoking {@param GET_USAGE_FUNCTION}.
+     * Called lazily the first time the usage is needed, and again after the command changes.
      */
     protected String getCommandUsage() {
         return GET_USAGE_FUNCTION.apply(this);
     }
 
     private static String getUsage(Command command) {
-        StringBuilder builder = new StringBuilder();
+        StringBuilder builder = new StringBuilder("/").append(command.getPath());
+
+        if (!command.subCommands.isEmpty()) {
+            builder.append(" <").append(command.subCommands.stream()
+              .map(Command::getName)
+              .sorted()
+              .collect(Collectors.joining("/"))).append(">");
+        }
+
+        for (Argument<?> argument : command.arguments) {
+            builder
+              .append(argument.isOptional() ? " [" : " <")
+              .append(argument.getName())
+              .append(argument.isGreedy() ? "..." : "")
+              .append(argument.isOptional() ? "]" : ">");
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * The interceptors from one index onwards, followed by the checks and execution of the command.
+     */
+    private static final class Chain implements InterceptorChain {
+
+        private final CompiledCommand command;
+        private final CommandInterceptor[] interceptors;
+        private final int index;
+        private final Outcome outcome;
+
+        private Chain(CompiledCommand command, CommandInterceptor[] interceptors, int index, @Nullable Outcome outcome) {
+            this.command = command;
+            this.interceptors = interceptors;
+            this.index = index;
+            this.outcome = outcome;
+        }
+
+        @Override
+        public CompletableFuture<Void> proceed(CommandInvocation invocation) {
+            CompletableFuture<Void> future;
 
-        builder
-          .append("/")
-          .append(command.getName())
-          .append(" ");
+            if (this.index == this.interceptors.length) {
+                future = this.command.getCommand().runChecks(this.command, invocation.getSender(), invocation.getSourceArgs(), invocation.getOffset(), this.outcome);
+            } else {
+                try {
+                    future = this.interceptors[this.index].intercept(invocation, new Chain(this.command, this.interceptors, this.index + 1, this.outcome));
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
 
-        if (command.getSubCommands() != null && command.getSubCommands().size() >= 1) {
-            StringBuilder subBuilder = new StringBuilder();
-            String cmds = command.getSubCommands().stream().map(cmd -> cmd.getName() + "/").collect(Collectors.joining());
+                    future = new CompletableFuture<>();
+                    future.completeExceptionally(e);
+                }
+            }
 
-            subBuilder.append("<").append(cmds, 0, cmds.length() - 1).append("> ");
-            builder.append(subBuilder.toString());
+            return future == null ? CompletableFuture.completedFuture(null) : future;
         }
+    }
+
+    /**
+     * Records how a single invocation ended, for {@link #dispatchForResult(CommandSender, String...)}. Written by the
+     * thread that checks or executes the invocation, and read once its future completes.
+     */
+    private static final class Outcome {
+
+        private volatile boolean executed;
+        private volatile RejectionReason reason;
+        private volatile Throwable failure;
 
-        String usage = builder.toString();
-        return usage.substring(0, usage.length() - 1);
+        private DispatchResult toResult(@Nullable Throwable throwable) {
+            if (throwable != null) {
+                return new DispatchResult(DispatchResult.Status.FAILED, null, throwable instanceof CompletionException ? throwable.getCause() : throwable);
+            }
+
+            if (this.failure != null) {
+                return new DispatchResult(DispatchResult.Status.FAILED, null, this.failure);
+            }
+
+            if (this.reason != null || !this.executed) {
+                return new DispatchResult(DispatchResult.Status.REJECTED, this.reason, null);
+            }
+
+            return new DispatchResult(DispatchResult.Status.EXECUTED, null, null);
+        }
     }
 }
@@ -1,31 +1,81 @@
 package io.obadiah.command;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.ObjectArrays;
+import com.google.common.collect.Sets;
 import com.google.common.reflect.ClassPath;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.LiteralCommandNode;
 import io.obadiah.command.annotation.NoAutoRegister;
+import io.obadiah.command.audit.AuditLog;
+import io.obadiah.command.completion.OnlinePlayers;
+import io.obadiah.command.forward.CommandForwarder;
+import io.obadiah.command.help.HelpIndex;
+import io.obadiah.command.interceptor.CommandInterceptor;
+import io.obadiah.command.macro.Macro;
+import io.obadiah.command.macro.MacroReport;
+import io.obadiah.command.macro.MacroRunner;
+import io.obadiah.command.metrics.CommandMetricsSnapshot;
+import io.obadiah.command.metrics.MetricsExporter;
+import io.obadiah.command.permission.PermissionCache;
+import io.obadiah.command.ratelimit.RateLimiter;
+import io.obadiah.command.watchdog.CommandWatchdog;
 import me.lucko.commodore.Commodore;
 import me.lucko.commodore.CommodoreProvider;
 import org.bukkit.Bukkit;
 import org.bukkit.command.CommandMap;
-import org.bukkit.command.defaults.BukkitCommand;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceLoader;
 import java.util.Set;
-import java.util.stream.Stream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * This is only a plugin to ensure Commodore works with it.
  */
 @ThreadSafe
-public class CommandAPI extends JavaPlugin {
+public class CommandAPI extends JavaPlugin implements Listener {
 
     private static CommandMap COMMAND_MAP;
     private static Commodore COMMODORE = null;
+    private static Method SYNC_COMMANDS = null;
+    private static final Method UPDATE_COMMANDS = findMethod(Player.class, "updateCommands");
+    private static final Map<ClassLoader, ClassPath> CLASS_PATHS = new ConcurrentHashMap<>();
+    private static volatile RateLimiter GLOBAL_RATE_LIMITER = null;
+    private static volatile boolean METRICS_ENABLED = false;
+    private static volatile CommandWatchdog WATCHDOG = null;
+    private static volatile AuditLog AUDIT_LOG = null;
+    private static volatile CommandForwarder FORWARDER = null;
+    private static volatile PermissionCache PERMISSION_CACHE = null;
+    private static volatile CommandInterceptor[] INTERCEPTORS = new CommandInterceptor[0];
+    private static final Map<Command, RegisteredCommand> REGISTERED_COMMANDS = new ConcurrentHashMap<>();
+    private static final HelpIndex HELP_INDEX = new HelpIndex(CommandAPI::getRegisteredCommands, 5, TimeUnit.MINUTES);
 
     @Override
     public void onEnable() {
@@ -38,6 +88,7 @@ public class CommandAPI extends JavaPlugin {
             }
 
             COMMAND_MAP = (CommandMap) field.get(Bukkit.getServer());
+            SYNC_COMMANDS = findMethod(Bukkit.getServer().getClass(), "syncCommands");
         } catch (NoSuchFieldException | IllegalAccessException e) {
             throw new RuntimeException(e);
         }
@@ -45,46 +96,212 @@ public class CommandAPI extends JavaPlugin {
         if (CommodoreProvider.isSupported()) {
             COMMODORE = CommodoreProvider.getCommodore(CommandAPI.get());
         }
+
+        Bukkit.getPluginManager().registerEvents(this, this);
+        OnlinePlayers.update(Bukkit.getOnlinePlayers());
+    }
+
+    @Override
+    public void onDisable() {
+        CommandExecutors.shutdown();
+        CLASS_PATHS.clear();
+        setWatchdog(null);
+        setAuditLog(null);
+        setForwarder(null);
+    }
+
+    /**
+     * Forgets the cached class path scan of a plugin once it is disabled.
+     */
+    @EventHandler
+    public void onPluginDisable(PluginDisableEvent event) {
+        CLASS_PATHS.remove(event.getPlugin().getClass().getClassLoader());
+    }
+
+    /**
+     * Adds a player to the snapshot of online players completions read.
+     */
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        OnlinePlayers.update(Bukkit.getOnlinePlayers());
+    }
+
+    /**
+     * Forgets the cached permissions and help view of a player once they leave, and removes them from the snapshot of
+     * online players.
+     */
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+
+        invalidatePermissions(player);
+        OnlinePlayers.update(Bukkit.getOnlinePlayers().stream()
+          .filter(online -> online != player)
+          .collect(Collectors.toList()));
+    }
+
+    /**
+     * Forgets the cached permissions and help view of a player when they change world, as permission plugins commonly
+     * grant permissions per world.
+     */
+    @EventHandler
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        invalidatePermissions(event.getPlayer());
     }
 
     /**
      * Registers all commands found in a specific package unless annotated with @NoAutoRegister
      *
+     * @param plugin Plugin to register against, whose class loader is scanned.
      * @param packageName The name of the package to traverse.
      */
-    @SuppressWarnings("UnstableApiUsage")
     public static void registerCommands(Plugin plugin, String packageName) {
+        registerCommands(plugin, packageName, false);
+    }
+
+    /**
+     * Registers all commands found in a specific package unless annotated with @NoAutoRegister, including static
+     * nested classes. The scan of the plugin's class path is cached between calls, and classes are loaded and filtered in
+     * parallel, then instantiated on the calling thread before being registered together on the server thread.
+     *
+     * @param plugin Plugin to register against, whose class loader is scanned.
+     * @param packageName The name of the package to traverse.
+     * @param recursive {@code true} To also traverse every package nested in the package.
+     */
+    @SuppressWarnings("UnstableApiUsage")
+    public static void registerCommands(Plugin plugin, String packageName, boolean recursive) {
+        ClassPath classPath;
+
         try {
-            ClassPath.from(CommandAPI.class.getClassLoader()).getTopLevelClasses(packageName).stream()
-              .map(ClassPath.ClassInfo::load)
-              .filter(c -> Command.class.isAssignableFrom(c) && c != Command.class)
-              .forEach(c -> {
-                  if (c.isAnnotationPresent(NoAutoRegister.class)) {
-                      return;
-                  }
-
-                  try {
-                      Bukkit.getLogger().info("Attempting to register the command, " + c.getSimpleName() + "..");
-                      Command command = (Command) c.getConstructor().newInstance();
-
-                      registerCommand(plugin, command);
-                  } catch (InstantiationException | InvocationTargetException | NoSuchMethodException | IllegalAccessException e) {
-                      Bukkit.getLogger().severe("Could not register the command, " + c.getSimpleName() + "!!");
-                      e.printStackTrace();
-                  }
-              });
-        } catch (IOException e) {
+            classPath = getClassPath(plugin.getClass().getClassLoader());
+        } catch (UncheckedIOException e) {
+            e.getCause().printStackTrace();
+            return;
+        }
+
+        String prefix = packageName + ".";
+        List<Class<? extends Command>> classes = classPath.getAllClasses().parallelStream()
+          .filter(info -> info.getPackageName().equals(packageName) || recursive && info.getPackageName().startsWith(prefix))
+          .map(CommandAPI::load)
+          .filter(Objects::nonNull)
+          .collect(Collectors.toList());
+        Command[] commands = classes.stream()
+          .map(CommandAPI::instantiate)
+          .filter(Objects::nonNull)
+          .toArray(Command[]::new);
+
+        CommandExecutors.mainThread().execute(() -> registerCommands(plugin, commands));
+    }
+
+    /**
+     * Registers every command in the plugin's compile-time command index, generated by the CommandAPI annotation
+     * processor. Unlike {@link #registerCommands(Plugin, String)}, this neither scans the class path nor constructs
+     * commands reflectively.
+     *
+     * @param plugin Plugin to register against, whose index is read.
+     *
+     * @return {@code true} If the plugin has a command index.
+     */
+    public static boolean registerIndexedCommands(Plugin plugin) {
+        ClassLoader loader = plugin.getClass().getClassLoader();
+        List<Command> commands = Lists.newArrayList();
+        boolean indexed = false;
+
+        for (CommandIndex index : ServiceLoader.load(CommandIndex.class, loader)) {
+            if (index.getClass().getClassLoader() == loader) {
+                commands.addAll(index.createCommands());
+                indexed = true;
+            }
+        }
+
+        registerCommands(plugin, commands.toArray(new Command[0]));
+
+        return indexed;
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    private static ClassPath getClassPath(ClassLoader loader) {
+        return CLASS_PATHS.computeIfAbsent(loader, key -> {
+            try {
+                return ClassPath.from(key);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Loads a command class, unless it is not a command, is annotated with @NoAutoRegister or is an inner, local or
+     * anonymous class. Safe to call from any thread, as loading a class does not run the command's own code.
+     *
+     * @return The command class, or {@code null} if the class is not an automatically registered command.
+     */
+    @Nullable
+    @SuppressWarnings({"UnstableApiUsage", "unchecked"})
+    private static Class<? extends Command> load(ClassPath.ClassInfo info) {
+        try {
+            Class<?> c = info.load();
+
+            if (!Command.class.isAssignableFrom(c) || c == Command.class || Modifier.isAbstract(c.getModifiers()) || c.isAnnotationPresent(NoAutoRegister.class)) {
+                return null;
+            }
+
+            // Like the command index, only nested classes that can be constructed on their own
+            if (c.isAnonymousClass() || c.isLocalClass() || (c.isMemberClass() && !Modifier.isStatic(c.getModifiers()))) {
+                return null;
+            }
+
+            return (Class<? extends Command>) c;
+        } catch (LinkageError e) {
+            Bukkit.getLogger().severe("Could not register the command, " + info.getSimpleName() + "!!");
             e.printStackTrace();
+            return null;
         }
     }
 
+    /**
+     * Instantiates a command class through its no-argument constructor.
+     *
+     * @return The command, or {@code null} if it could not be constructed.
+     */
+    @Nullable
+    private static Command instantiate(Class<? extends Command> c) {
+        try {
+            return c.getConstructor().newInstance();
+        } catch (InstantiationException | InvocationTargetException | NoSuchMethodException | IllegalAccessException | LinkageError e) {
+            Bukkit.getLogger().severe("Could not register the command, " + c.getSimpleName() + "!!");
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Starts a registration of several commands that are registered together when committed.
+     *
+     * @return The registration.
+     */
+    public static CommandRegistration beginRegistration() {
+        return new CommandRegistration("CommandAPI", CommandAPI.get().getLogger());
+    }
+
+    /**
+     * Starts a registration of several commands against a plugin that are registered together when committed.
+     *
+     * @param plugin Plugin to register against.
+     *
+     * @return The registration.
+     */
+    public static CommandRegistration beginRegistration(Plugin plugin) {
+        return new CommandRegistration(plugin.getName(), plugin.getLogger());
+    }
+
     /**
      * Registers an array of commands.
      *
      * @param commands Commands to register.
      */
     public static void registerCommands(Command... commands) {
-        Stream.of(commands).forEach(CommandAPI::registerCommand);
+        beginRegistration().add(commands).commit();
     }
 
     /**
@@ -94,7 +311,7 @@ public class CommandAPI extends JavaPlugin {
      * @param commands Commands to register.
      */
     public static void registerCommands(Plugin plugin, Command... commands) {
-        Stream.of(commands).forEach(c -> registerCommand(plugin, c));
+        beginRegistration(plugin).add(commands).commit();
     }
 
     /**
@@ -103,7 +320,7 @@ public class CommandAPI extends JavaPlugin {
      * @param commands Commands to register.
      */
     public static void registerCommands(List<Command> commands) {
-        commands.forEach(CommandAPI::registerCommand);
+        beginRegistration().add(commands).commit();
     }
 
     /**
@@ -112,7 +329,7 @@ public class CommandAPI extends JavaPlugin {
      * @param commands Commands to register.
      */
     public static void registerCommands(Set<Command> commands) {
-        commands.forEach(CommandAPI::registerCommand);
+        beginRegistration().add(commands).commit();
     }
 
     /**
@@ -121,14 +338,7 @@ public class CommandAPI extends JavaPlugin {
      * @param command Command to register.
      */
     public static void registerCommand(Command command) {
-        BukkitCommand bCommand = command.asBukkitCommand();
-        COMMAND_MAP.register("CommandAPI", bCommand);
-
-        if (COMMODORE != null && command instanceof CompletableCommand) {
-            COMMODORE.register(bCommand, ((CompletableCommand) command).getCompletions());
-        }
-
-        CommandAPI.get().getLogger().info("Registered the command, " + command.getClass().getSimpleName() + ", successfully!");
+        beginRegistration().add(command).commit();
     }
 
     /**
@@ -137,14 +347,306 @@ public class CommandAPI extends JavaPlugin {
      * @param command Command to register.
      */
     public static void registerCommand(Plugin plugin, Command command) {
-        BukkitCommand bCommand = command.asBukkitCommand();
-        COMMAND_MAP.register(plugin.getName(), bCommand);
+        beginRegistration(plugin).add(command).commit();
+    }
+
+    /**
+     * Adds a command to the command map. Neither builds its completions nor notifies players.
+     *
+     * @return The Bukkit command it was registered as.
+     */
+    static RegisteredCommand registerToServer(String fallbackPrefix, Command command) {
+        command.freeze();
+
+        RegisteredCommand bCommand = new RegisteredCommand(fallbackPrefix, command);
+        COMMAND_MAP.register(fallbackPrefix, bCommand);
+        REGISTERED_COMMANDS.put(command, bCommand);
+
+        return bCommand;
+    }
+
+    /**
+     * Removes a registered command from the server, along with its completions, and sends the updated command tree to
+     * each online player once. Executions that have already begun finish. Must be called on the server thread.
+     *
+     * @param command Command to unregister.
+     *
+     * @return {@code true} If the command was registered.
+     */
+    public static boolean unregisterCommand(Command command) {
+        RegisteredCommand bCommand = REGISTERED_COMMANDS.remove(command);
+
+        if (bCommand == null) {
+            return false;
+        }
+
+        bCommand.getCompletionTree().remove();
+        unregisterCompletions(bCommand);
+        removeKnownCommand(bCommand);
+        bCommand.unregister(COMMAND_MAP);
+
+        syncCommands();
+        HELP_INDEX.invalidate();
+
+        return true;
+    }
+
+    /**
+     * Replaces a registered command with another of the same name, such as a fixed version of it, without rebuilding
+     * the command map. The replacement is compiled before it is swapped in, so executions that have already begun
+     * finish on the old command and every later one runs the replacement. Its aliases replace those of the old command
+     * straight away, and its completions once they have been built, after which the updated command tree is sent to
+     * each online player once. Must be called on the server thread.
+     *
+     * @param command The registered command.
+     * @param replacement The command to replace it with, which is registered in its place.
+     *
+     * @throws IllegalArgumentException If the {@param command} parameter is not registered, or the {@param replacement}
+     * parameter has a different name or is already registered.
+     */
+    public static void replaceCommand(Command command, Command replacement) {
+        RegisteredCommand bCommand = REGISTERED_COMMANDS.get(command);
+
+        if (bCommand == null) {
+            throw new IllegalArgumentException("The command, " + command.getName() + ", is not registered!");
+        }
+
+        if (!command.getName().equalsIgnoreCase(replacement.getName())) {
+            throw new IllegalArgumentException("The replacement of " + command.getName() + " cannot be named " + replacement.getName() + "!");
+        }
+
+        if (REGISTERED_COMMANDS.containsKey(replacement)) {
+            throw new IllegalArgumentException("The replacement of " + command.getName() + " is already registered!");
+        }
+
+        replacement.freeze();
+        unregisterCompletions(bCommand);
+        removeKnownCommand(bCommand);
+
+        bCommand.setTarget(COMMAND_MAP, replacement);
+        COMMAND_MAP.register(bCommand.getFallbackPrefix(), bCommand);
+        REGISTERED_COMMANDS.put(replacement, bCommand);
+        REGISTERED_COMMANDS.remove(command);
+
+        buildCompletions(Collections.singletonList(bCommand), true);
+        HELP_INDEX.invalidate();
+    }
+
+    /**
+     * Rebuilds the completions of registered commands on worker threads, such as once the data a CompletableCommand
+     * generates its tree from has changed. The trees that changed are handed to Commodore together on the server
+     * thread, then the updated command tree is sent to each online player once. Subtrees that did not change are
+     * reused, and if no tree changed nothing is sent. Requesting a rebuild again before the last one was committed
+     * supersedes it.
+     *
+     * @param commands The registered commands to rebuild the completions of.
+     *
+     * @return A future that completes on the server thread once the changed trees have been committed.
+     *
+     * @throws IllegalArgumentException If a command is not registered.
+     */
+    public static CompletableFuture<Void> refreshCompletions(Command... commands) {
+        List<RegisteredCommand> bCommands = Lists.newArrayListWithCapacity(commands.length);
 
-        if (COMMODORE != null && command instanceof CompletableCommand) {
-            COMMODORE.register(bCommand, ((CompletableCommand) command).getCompletions());
+        for (Command command : commands) {
+            RegisteredCommand bCommand = REGISTERED_COMMANDS.get(command);
+
+            if (bCommand == null) {
+                throw new IllegalArgumentException("The command, " + command.getName() + ", is not registered!");
+            }
+
+            bCommands.add(bCommand);
         }
 
-        CommandAPI.get().getLogger().info("Registered the command, " + command.getClass().getSimpleName() + ", successfully!");
+        return buildCompletions(bCommands, false);
+    }
+
+    /**
+     * Executes several commands as a sender, in order, starting on the server thread. The commands are parsed once and
+     * sent straight to the registered commands they name, and a large batch is spread across ticks. Use a
+     * {@link MacroRunner} to change the tick budget, or to run the same {@link Macro} repeatedly.
+     *
+     * @param sender Sender to execute the commands as.
+     * @param commands The commands, with or without their leading slash.
+     *
+     * @return A future that completes with the result of each command once every command has finished.
+     *
+     * @throws IllegalArgumentException If there are no commands.
+     */
+    public static CompletableFuture<MacroReport> executeBatch(CommandSender sender, String... commands) {
+        return executeBatch(sender, Arrays.asList(commands));
+    }
+
+    /**
+     * Executes several commands as a sender, in order, starting on the server thread. The commands are parsed once and
+     * sent straight to the registered commands they name, and a large batch is spread across ticks. Use a
+     * {@link MacroRunner} to change the tick budget, or to run the same {@link Macro} repeatedly.
+     *
+     * @param sender Sender to execute the commands as.
+     * @param commands The commands, with or without their leading slash.
+     *
+     * @return A future that completes with the result of each command once every command has finished.
+     *
+     * @throws IllegalArgumentException If there are no commands.
+     */
+    public static CompletableFuture<MacroReport> executeBatch(CommandSender sender, List<String> commands) {
+        return new MacroRunner(get()).run(Macro.parse(commands), sender);
+    }
+
+    /**
+     * Builds the completions of several commands on worker threads, then hands those that changed to Commodore together
+     * on the server thread and sends the updated command tree to each online player once. A tree that fails to build
+     * is logged and left as it was.
+     *
+     * @param bCommands The registered commands to build the completions of.
+     * @param sync {@code true} To send the command tree even if no tree changed, as the command map did.
+     *
+     * @return A future that completes on the server thread once the changed trees have been committed.
+     */
+    static CompletableFuture<Void> buildCompletions(List<RegisteredCommand> bCommands, boolean sync) {
+        if (COMMODORE == null) {
+            if (sync) {
+                CommandExecutors.mainThread().execute(CommandAPI::syncCommands);
+            }
+
+            return CompletableFuture.completedFuture(null);
+        }
+
+        int[] generations = new int[bCommands.size()];
+        CompletableFuture<?>[] builds = new CompletableFuture<?>[bCommands.size()];
+
+        for (int i = 0; i < builds.length; i++) {
+            RegisteredCommand bCommand = bCommands.get(i);
+            CompletionTree tree = bCommand.getCompletionTree();
+            int generation = tree.request();
+
+            generations[i] = generation;
+            builds[i] = CompletableFuture.supplyAsync(() -> tree.build(generation, bCommand.getTarget()), CommandExecutors.defaultExecutor())
+              .exceptionally(throwable -> {
+                  CommandAPI.get().getLogger().warning("Could not build the completions of /" + bCommand.getName() + ": " + throwable.getCause());
+                  return null;
+              });
+        }
+
+        return CompletableFuture.allOf(builds).thenRunAsync(() -> {
+            boolean changed = false;
+
+            for (int i = 0; i < builds.length; i++) {
+                RegisteredCommand bCommand = bCommands.get(i);
+                CompletionTree tree = bCommand.getCompletionTree();
+                LiteralCommandNode<?> root = (LiteralCommandNode<?>) builds[i].join();
+
+                if (root != null && root != tree.getCommitted() && tree.isCurrent(generations[i])) {
+                    if (tree.getCommitted() != null) {
+                        unregisterCompletions(bCommand);
+                    }
+
+                    COMMODORE.register(bCommand, root);
+                    tree.setCommitted(root);
+                    changed = true;
+                }
+            }
+
+            if (changed || sync) {
+                syncCommands();
+            }
+        }, CommandExecutors.mainThread());
+    }
+
+    /**
+     * Removes the completions Commodore registered for every label of a command. Neither Commodore nor Brigadier can
+     * remove a node, and registering a node over an existing one merges the two, so both are changed reflectively.
+     */
+    @SuppressWarnings("unchecked")
+    private static void unregisterCompletions(RegisteredCommand bCommand) {
+        if (COMMODORE == null) {
+            return;
+        }
+
+        bCommand.getCompletionTree().setCommitted(null);
+
+        Set<String> labels = Sets.newHashSet(bCommand.getAliases());
+        labels.add(bCommand.getName());
+        labels.add(bCommand.getLabel());
+
+        try {
+            CommandNode<?> root = COMMODORE.getDispatcher().getRoot();
+
+            for (String name : new String[] {"children", "literals"}) {
+                ((Map<String, ?>) findField(CommandNode.class, name).get(root)).keySet().removeAll(labels);
+            }
+
+            ((List<LiteralCommandNode<?>>) findField(COMMODORE.getClass(), "registeredNodes").get(COMMODORE))
+              .removeIf(node -> labels.contains(node.getLiteral()));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            CommandAPI.get().getLogger().warning("Could not remove the completions of /" + bCommand.getName() + ": " + e);
+        }
+    }
+
+    /**
+     * Removes every label of a command from the command map, which has no method to do so.
+     */
+    @SuppressWarnings("unchecked")
+    private static void removeKnownCommand(RegisteredCommand bCommand) {
+        try {
+            ((Map<String, org.bukkit.command.Command>) findField(COMMAND_MAP.getClass(), "knownCommands").get(COMMAND_MAP))
+              .values()
+              .removeIf(known -> known == bCommand);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            CommandAPI.get().getLogger().warning("Could not remove /" + bCommand.getName() + " from the command map: " + e);
+        }
+    }
+
+    /**
+     * Rebuilds the server's command tree from the command map and sends it to every online player once. Both steps
+     * are looked up reflectively, as neither is available on every server version.
+     */
+    static void syncCommands() {
+        try {
+            if (SYNC_COMMANDS != null) {
+                SYNC_COMMANDS.invoke(Bukkit.getServer());
+            }
+
+            if (UPDATE_COMMANDS != null) {
+                for (Player player : Bukkit.getOnlinePlayers()) {
+                    UPDATE_COMMANDS.invoke(player);
+                }
+            }
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            CommandAPI.get().getLogger().warning("Could not send the updated command tree to players: " + e);
+        }
+    }
+
+    /**
+     * Looks up a field declared by a type or any of its superclasses, and makes it accessible.
+     *
+     * @throws NoSuchFieldException If there is no such field.
+     */
+    private static Field findField(Class<?> type, String name) throws NoSuchFieldException {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                Field field = current.getDeclaredField(name);
+                field.setAccessible(true);
+
+                return field;
+            } catch (NoSuchFieldException e) {
+                // Declared further up the hierarchy.
+            }
+        }
+
+        throw new NoSuchFieldException(type.getName() + "." + name);
+    }
+
+    @Nullable
+    private static Method findMethod(Class<?> type, String name) {
+        try {
+            Method method = type.getDeclaredMethod(name);
+            method.setAccessible(true);
+
+            return method;
+        } catch (NoSuchMethodException | RuntimeException e) {
+            return null;
+        }
     }
 
     /**
@@ -169,10 +671,228 @@ public class CommandAPI extends JavaPlugin {
         return COMMAND_MAP.getCommand(command) != null;
     }
 
+    /**
+     * Sets the rate limit applied to every command, on top of any rate limit set on the command itself.
+     *
+     * @param rateLimiter Rate limit to apply, or {@code null} for none.
+     */
+    public static void setGlobalRateLimiter(@Nullable RateLimiter rateLimiter) {
+        GLOBAL_RATE_LIMITER = rateLimiter;
+    }
+
+    /**
+     * @return The rate limit applied to every command, or {@code null} if there is none.
+     */
+    @Nullable
+    public static RateLimiter getGlobalRateLimiter() {
+        return GLOBAL_RATE_LIMITER;
+    }
+
+    /**
+     * Adds an interceptor that runs around every command, before the interceptors of the command itself. Takes effect
+     * immediately, including for commands that are already registered.
+     *
+     * @param interceptor Interceptor to add.
+     */
+    public static synchronized void addInterceptor(CommandInterceptor interceptor) {
+        INTERCEPTORS = ObjectArrays.concat(INTERCEPTORS, interceptor);
+    }
+
+    /**
+     * Removes an interceptor added through {@link #addInterceptor(CommandInterceptor)}.
+     *
+     * @param interceptor Interceptor to remove.
+     *
+     * @return {@code true} If the interceptor had been added.
+     */
+    public static synchronized boolean removeInterceptor(CommandInterceptor interceptor) {
+        List<CommandInterceptor> interceptors = Lists.newArrayList(INTERCEPTORS);
+
+        if (!interceptors.remove(interceptor)) {
+            return false;
+        }
+
+        INTERCEPTORS = interceptors.toArray(new CommandInterceptor[0]);
+        return true;
+    }
+
+    /**
+     * @return The interceptors that run around every command, in the order they run.
+     */
+    public static List<CommandInterceptor> getInterceptors() {
+        return Collections.unmodifiableList(Arrays.asList(INTERCEPTORS));
+    }
+
+    /**
+     * @return The interceptors that run around every command. The array is replaced rather than changed when an
+     * interceptor is added or removed, so compiled commands can tell whether their own copy is current.
+     */
+    static CommandInterceptor[] getInterceptorArray() {
+        return INTERCEPTORS;
+    }
+
+    /**
+     * @return Every root command registered through CommandAPI.
+     */
+    public static Set<Command> getRegisteredCommands() {
+        return Collections.unmodifiableSet(REGISTERED_COMMANDS.keySet());
+    }
+
+    /**
+     * Sets the cache that remembers the permission decisions of each sender, for servers whose permission plugin makes
+     * permission checks expensive. Disabled by default.
+     *
+     * @param permissionCache Cache to use, or {@code null} to check permissions every time.
+     */
+    public static void setPermissionCache(@Nullable PermissionCache permissionCache) {
+        PERMISSION_CACHE = permissionCache;
+    }
+
+    /**
+     * @return The cache that remembers permission decisions, or {@code null} if it is disabled.
+     */
+    @Nullable
+    public static PermissionCache getPermissionCache() {
+        return PERMISSION_CACHE;
+    }
+
+    /**
+     * Forgets the cached permission decisions and help view of a sender. Permission plugins, or listeners to their
+     * events, should call this whenever the permissions of a sender change.
+     *
+     * @param sender Sender whose permissions changed.
+     */
+    public static void invalidatePermissions(CommandSender sender) {
+        PermissionCache permissionCache = PERMISSION_CACHE;
+
+        if (permissionCache != null) {
+            permissionCache.invalidate(sender);
+        }
+
+        HELP_INDEX.invalidate(sender);
+    }
+
+    /**
+     * Obtains the help catalog of every registered command, which is rebuilt after each registration.
+     *
+     * @return The help catalog.
+     */
+    public static HelpIndex getHelpIndex() {
+        return HELP_INDEX;
+    }
+
+    /**
+     * Sets whether commands record execution metrics. Disabled by default.
+     *
+     * @param enabled {@code true} To record metrics.
+     */
+    public static void setMetricsEnabled(boolean enabled) {
+        METRICS_ENABLED = enabled;
+    }
+
+    /**
+     * @return {@code true} If commands record execution metrics.
+     */
+    public static boolean isMetricsEnabled() {
+        return METRICS_ENABLED;
+    }
+
+    /**
+     * Exports the metrics of every registered command node, parents before their subcommands.
+     *
+     * @param exporter Exporter to export to.
+     */
+    public static void exportMetrics(MetricsExporter exporter) {
+        List<CommandMetricsSnapshot> snapshots = Lists.newArrayList();
+
+        REGISTERED_COMMANDS.keySet().stream()
+          .sorted(Comparator.comparing(Command::getName))
+          .forEach(command -> snapshot(command, snapshots));
+
+        exporter.export(snapshots);
+    }
+
+    private static void snapshot(Command command, List<CommandMetricsSnapshot> snapshots) {
+        snapshots.add(new CommandMetricsSnapshot(command.getPath(), command.getMetrics()));
+
+        command.getSubCommands().stream()
+          .sorted(Comparator.comparing(Command::getName))
+          .forEach(subCommand -> snapshot(subCommand, snapshots));
+    }
+
+    /**
+     * Sets the watchdog that reports command executions exceeding its budget, replacing and shutting down the
+     * previous one. Disabled by default.
+     *
+     * @param watchdog Watchdog to use, or {@code null} to disable it.
+     */
+    public static synchronized void setWatchdog(@Nullable CommandWatchdog watchdog) {
+        CommandWatchdog previous = WATCHDOG;
+        WATCHDOG = watchdog;
+
+        if (previous != null && previous != watchdog) {
+            previous.shutdown();
+        }
+    }
+
+    /**
+     * @return The watchdog that reports slow command executions, or {@code null} if it is disabled.
+     */
+    @Nullable
+    public static CommandWatchdog getWatchdog() {
+        return WATCHDOG;
+    }
+
+    /**
+     * Sets the audit log that records command invocations, replacing and closing the previous one. Disabled by
+     * default.
+     *
+     * @param auditLog Audit log to use, or {@code null} to disable auditing.
+     */
+    public static synchronized void setAuditLog(@Nullable AuditLog auditLog) {
+        AuditLog previous = AUDIT_LOG;
+        AUDIT_LOG = auditLog;
+
+        if (previous != null && previous != auditLog) {
+            previous.close();
+        }
+    }
+
+    /**
+     * @return The audit log that records command invocations, or {@code null} if auditing is disabled.
+     */
+    @Nullable
+    public static AuditLog getAuditLog() {
+        return AUDIT_LOG;
+    }
+
+    /**
+     * Sets the forwarder that sends the invocations of commands with a forwarding key to the node that owns them,
+     * replacing and closing the previous one. Disabled by default.
+     *
+     * @param forwarder Forwarder to use, or {@code null} to execute every command on this node.
+     */
+    public static synchronized void setForwarder(@Nullable CommandForwarder forwarder) {
+        CommandForwarder previous = FORWARDER;
+        FORWARDER = forwarder;
+
+        if (previous != null && previous != forwarder) {
+            previous.close();
+        }
+    }
+
+    /**
+     * @return The forwarder that sends invocations to other nodes, or {@code null} if forwarding is disabled.
+     */
+    @Nullable
+    public static CommandForwarder getForwarder() {
+        return FORWARDER;
+    }
+
     /**
      * @return The CommandAPI instance in use by Bukkit.
      */
-    private static CommandAPI get() {
+    static CommandAPI get() {
         return JavaPlugin.getPlugin(CommandAPI.class);
     }
 }
@@ -0,0 +1,130 @@
+package io.obadiah.command;
+
+import io.obadiah.command.argument.Argument;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.Arrays;
+
+/**
+ * A read-only window over the arguments sent alongside a command. Subcommand dispatch moves the window forward
+ * instead of copying the remaining arguments into a new array.
+ */
+@Immutable
+public final class CommandArguments {
+
+    private static final String[] EMPTY = new String[0];
+    private static final Object[] NO_VALUES = new Object[0];
+
+    private final String[] source;
+    private final int offset;
+    private final Object[] values;
+
+    /**
+     * Represents the arguments of a command.
+     *
+     * @param source The full argument array, as sent to the root command.
+     * @param offset The index of the first argument that belongs to this window.
+     */
+    public CommandArguments(String[] source, int offset) {
+        this(source, offset, NO_VALUES);
+    }
+
+    CommandArguments(String[] source, int offset, Object[] values) {
+        if (offset < 0 || offset > source.length) {
+            throw new IndexOutOfBoundsException("Offset " + offset + " is out of bounds for " + source.length + " arguments!");
+        }
+
+        this.source = source;
+        this.offset = offset;
+        this.values = values;
+    }
+
+    /**
+     * @return The amount of arguments in this window.
+     */
+    public int size() {
+        return this.source.length - this.offset;
+    }
+
+    /**
+     * @return {@code true} If there are no arguments in this window.
+     */
+    public boolean isEmpty() {
+        return this.offset == this.source.length;
+    }
+
+    /**
+     * Obtains an argument relative to the start of this window.
+     *
+     * @param index Index of the argument.
+     *
+     * @return The argument.
+     *
+     * @throws IndexOutOfBoundsException If the {@param index} parameter is outside of this window.
+     */
+    public String get(int index) {
+        if (index < 0 || index >= this.size()) {
+            throw new IndexOutOfBoundsException("Argument " + index + " is out of bounds for " + this.size() + " arguments!");
+        }
+
+        return this.source[this.offset + index];
+    }
+
+    /**
+     * Obtains the parsed value of a typed argument declared on the executing command.
+     *
+     * @param argument The argument, as returned when it was declared.
+     *
+     * @return The parsed value, or {@code null} if the argument is optional and was omitted.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Argument<T> argument) {
+        int index = argument.getIndex();
+
+        return index < this.values.length ? (T) this.values[index] : null;
+    }
+
+    /**
+     * Joins every argument from a specific index to the end of this window with single spaces.
+     *
+     * @param from Index of the first argument to join.
+     *
+     * @return The joined arguments, or an empty string if there are none.
+     */
+    public String join(int from) {
+        StringBuilder builder = new StringBuilder();
+
+        for (int i = this.offset + from; i < this.source.length; i++) {
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+
+            builder.append(this.source[i]);
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * @return A window over the arguments following the first argument of this window.
+     */
+    public CommandArguments shift() {
+        return new CommandArguments(this.source, this.offset + 1, this.values);
+    }
+
+    /**
+     * Copies the arguments of this window into a new array.
+     *
+     * @return The copied arguments.
+     */
+    public String[] toArray() {
+        return this.isEmpty() ? EMPTY : Arrays.copyOfRange(this.source, this.offset, this.source.length);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(this.toArray());
+    }
+}
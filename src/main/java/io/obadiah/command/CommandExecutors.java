@@ -0,0 +1,84 @@
+package io.obadiah.command;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.bukkit.Bukkit;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executors used to run asynchronous commands and to hand their results back to the server thread.
+ */
+@ThreadSafe
+public final class CommandExecutors {
+
+    private static final Executor MAIN_THREAD = task -> {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+            return;
+        }
+
+        Bukkit.getScheduler().runTask(CommandAPI.get(), task);
+    };
+
+    private static final Executor NEXT_TICK = task -> Bukkit.getScheduler().runTask(CommandAPI.get(), task);
+
+    private static ExecutorService defaultExecutor;
+
+    private CommandExecutors() {}
+
+    /**
+     * @return An executor that runs tasks on the server thread, immediately if already on it.
+     */
+    public static Executor mainThread() {
+        return MAIN_THREAD;
+    }
+
+    /**
+     * @return An executor that runs tasks on the server thread in a later tick, even if already on it, so they run after
+     * every task handed to {@link #mainThread()} from other threads before them.
+     */
+    public static Executor nextTick() {
+        return NEXT_TICK;
+    }
+
+    /**
+     * Obtains the executor asynchronous commands run on unless they specify their own. Uses a virtual thread per task
+     * when the runtime supports them, otherwise a cached pool of daemon threads.
+     *
+     * @return The default executor.
+     */
+    public static synchronized Executor defaultExecutor() {
+        if (defaultExecutor == null) {
+            defaultExecutor = createDefaultExecutor();
+        }
+
+        return defaultExecutor;
+    }
+
+    /**
+     * Shuts down the default executor, if it has been created. Commands still running are allowed to finish.
+     */
+    static synchronized void shutdown() {
+        if (defaultExecutor != null) {
+            defaultExecutor.shutdown();
+            defaultExecutor = null;
+        }
+    }
+
+    private static ExecutorService createDefaultExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+              .setNameFormat("CommandAPI Async #%d")
+              .setDaemon(true)
+              .build());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.obadiah.command;
+
+import java.util.List;
+
+/**
+ * A compile-time index of a plugin's commands, generated by the CommandAPI annotation processor. Lets
+ * {@link CommandAPI#registerIndexedCommands(org.bukkit.plugin.Plugin)} register commands without scanning the class
+ * path or constructing them reflectively.
+ */
+public interface CommandIndex {
+
+    /**
+     * @return A new instance of every indexed command.
+     */
+    List<Command> createCommands();
+}
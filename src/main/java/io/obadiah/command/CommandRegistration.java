@@ -0,0 +1,119 @@
+package io.obadiah.command;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Collects commands and registers them together, so the command tree is only sent to players once and a single line
+ * is logged, however many commands are registered. Must be committed on the server thread. Their Brigadier trees are
+ * built on worker threads and handed to Commodore together on a later tick, before the command tree is sent.
+ */
+@NotThreadSafe
+public final class CommandRegistration {
+
+    private final String fallbackPrefix;
+    private final Logger logger;
+    private final List<Command> commands;
+    private final Map<Command, Long> timings;
+
+    private boolean committed;
+
+    CommandRegistration(String fallbackPrefix, Logger logger) {
+        this.fallbackPrefix = fallbackPrefix;
+        this.logger = logger;
+        this.commands = Lists.newArrayList();
+        this.timings = Maps.newLinkedHashMap();
+    }
+
+    /**
+     * Adds an array of commands to this registration.
+     *
+     * @param commands Commands to register.
+     *
+     * @return This registration instance.
+     */
+    public CommandRegistration add(Command... commands) {
+        this.checkNotCommitted();
+        Collections.addAll(this.commands, commands);
+
+        return this;
+    }
+
+    /**
+     * Adds a collection of commands to this registration.
+     *
+     * @param commands Commands to register.
+     *
+     * @return This registration instance.
+     */
+    public CommandRegistration add(Collection<? extends Command> commands) {
+        this.checkNotCommitted();
+        this.commands.addAll(commands);
+
+        return this;
+    }
+
+    /**
+     * Registers every added command and invalidates the help catalog, so it is rebuilt when next needed. The commands
+     * can be executed straight away, and the updated command tree is sent to each online player once their completions
+     * have been built.
+     *
+     * @return This registration instance.
+     *
+     * @throws IllegalStateException If this registration has already been committed.
+     */
+    public CommandRegistration commit() {
+        this.checkNotCommitted();
+        this.committed = true;
+
+        if (this.commands.isEmpty()) {
+            return this;
+        }
+
+        long start = System.nanoTime();
+        List<RegisteredCommand> registered = Lists.newArrayListWithCapacity(this.commands.size());
+
+        for (Command command : this.commands) {
+            long commandStart = System.nanoTime();
+            registered.add(CommandAPI.registerToServer(this.fallbackPrefix, command));
+
+            this.timings.put(command, System.nanoTime() - commandStart);
+        }
+
+        CommandAPI.buildCompletions(registered, true);
+        CommandAPI.getHelpIndex().invalidate();
+
+        this.logger.info(String.format("Registered %d command(s) for %s in %.2fms.",
+          this.commands.size(), this.fallbackPrefix, (System.nanoTime() - start) / (double) TimeUnit.MILLISECONDS.toNanos(1)));
+
+        return this;
+    }
+
+    /**
+     * @return The time each command took to register, in nanoseconds and in registration order. Empty until committed.
+     */
+    public Map<Command, Long> getTimings() {
+        return Collections.unmodifiableMap(this.timings);
+    }
+
+    /**
+     * @return {@code true} If this registration has been committed.
+     */
+    public boolean isCommitted() {
+        return this.committed;
+    }
+
+    private void checkNotCommitted() {
+        if (this.committed) {
+            throw new IllegalStateException("This registration has already been committed!");
+        }
+    }
+}
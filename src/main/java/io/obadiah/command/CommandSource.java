@@ -1,12 +1,12 @@
 package io.obadiah.command;
 
+import io.obadiah.command.forward.RemoteCommandSender;
 import org.bukkit.command.BlockCommandSender;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.ConsoleCommandSender;
 import org.bukkit.entity.Player;
 
 import javax.annotation.concurrent.Immutable;
-import java.util.stream.Stream;
 
 @Immutable
 public enum CommandSource {
@@ -14,39 +14,74 @@ public enum CommandSource {
     /**
      * A player on the server.
      */
-    PLAYER(Player.class),
+    PLAYER(Player.class, true),
 
     /**
      * The console or via code.
      */
-    CONSOLE(ConsoleCommandSender.class),
+    CONSOLE(ConsoleCommandSender.class, false),
 
     /**
      * Any command block (if enabled).
      */
-    COMMAND_BLOCK(BlockCommandSender.class);
+    COMMAND_BLOCK(BlockCommandSender.class, false),
+
+    /**
+     * An invocation forwarded from another node. Always permission checked, whatever the original sender was, as it
+     * only holds the permissions the sending node vouched for.
+     */
+    REMOTE(RemoteCommandSender.class, true),
+
+    /**
+     * Any other sender, such as a proxied sender. Must stay last as it matches every sender.
+     */
+    UNKNOWN(CommandSender.class, true);
+
+    private static final CommandSource[] VALUES = values();
+
+    /**
+     * Caches the resolved source per concrete sender class, so resolution only walks the sources once per class.
+     */
+    private static final ClassValue<CommandSource> SOURCE_BY_CLASS = new ClassValue<CommandSource>() {
+        @Override
+        protected CommandSource computeValue(Class<?> type) {
+            for (CommandSource source : VALUES) {
+                if (source.getSenderClass().isAssignableFrom(type)) {
+                    return source;
+                }
+            }
+
+            return UNKNOWN;
+        }
+    };
 
     private final Class<?> senderClass;
+    private final boolean permissionChecked;
 
-    CommandSource(Class<?> senderClass) {
+    CommandSource(Class<?> senderClass, boolean permissionChecked) {
         this.senderClass = senderClass;
+        this.permissionChecked = permissionChecked;
     }
 
     public Class<?> getSenderClass() {
         return this.senderClass;
     }
 
+    /**
+     * @return {@code true} If senders of this source must hold a command's permission node to execute it.
+     */
+    public boolean isPermissionChecked() {
+        return this.permissionChecked;
+    }
+
     /**
      * Obtains the corresponding command source depending based on whether the sender can be assigned from their class.
      *
      * @param sender Sender to check.
      *
-     * @return Corresponding CommandSource.
+     * @return Corresponding CommandSource, or {@link #UNKNOWN} if none matches.
      */
     public static CommandSource fromSender(CommandSender sender) {
-        return Stream.of(CommandSource.values())
-          .filter(source -> source.getSenderClass().isAssignableFrom(sender.getClass()))
-          .findFirst()
-          .orElse(null);
+        return SOURCE_BY_CLASS.get(sender.getClass());
     }
 }
@@ -0,0 +1,279 @@
+package io.obadiah.command;
+
+import com.google.common.collect.ObjectArrays;
+import io.obadiah.command.argument.Argument;
+import io.obadiah.command.completion.CompletionTrie;
+import io.obadiah.command.completion.FuzzyIndex;
+import io.obadiah.command.interceptor.CommandInterceptor;
+import io.obadiah.command.permission.PermissionCache;
+import org.bukkit.command.CommandSender;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.Map;
+
+/**
+ * The immutable form of a command node that dispatch, checks and completion read from. Subcommands are found through
+ * an open-addressed table of interned, lowercased names and aliases, probed without lowercasing the label. A fuzzy
+ * index of the same names suggests the subcommand closest to a label that matches none.
+ *
+ * The interceptors of the command and of every command above it are flattened into one array, which is merged with
+ * the global interceptors on first use and again only when those change.
+ */
+@Immutable
+final class CompiledCommand {
+
+    private static final String[] NO_KEYS = new String[0];
+    private static final CompiledCommand[] NO_CHILDREN = new CompiledCommand[0];
+
+    private final Command command;
+    private final String[] keys;
+    private final CompiledCommand[] children;
+    private final int mask;
+    private final CompletionTrie trie;
+    private final FuzzyIndex names;
+
+    private final int sources;
+    private final String[] permissions;
+    private final int minArgs;
+    private final int maxArgs;
+    private final Argument<?>[] arguments;
+    private final CommandInterceptor[] interceptors;
+
+    private volatile Interceptors merged;
+
+    /**
+     * Compiles a command node.
+     *
+     * @param command The command node.
+     * @param children The compiled subcommands, keyed by their names and aliases folded with {@link #fold(String)}.
+     * @param sources The permitted sources, one bit per ordinal.
+     * @param permissions Every permission node required to execute the command.
+     * @param minArgs Minimum arguments.
+     * @param maxArgs Maximum arguments.
+     * @param arguments The typed arguments, which must not be changed afterwards.
+     * @param interceptors The interceptors of the command and every command above it, outermost first.
+     */
+    CompiledCommand(Command command, Map<String, CompiledCommand> children, int sources, String[] permissions, int minArgs, int maxArgs, Argument<?>[] arguments, CommandInterceptor[] interceptors) {
+        this.command = command;
+        this.sources = sources;
+        this.permissions = permissions;
+        this.minArgs = minArgs;
+        this.maxArgs = maxArgs;
+        this.arguments = arguments;
+        this.interceptors = interceptors;
+
+        if (children.isEmpty()) {
+            this.keys = NO_KEYS;
+            this.children = NO_CHILDREN;
+            this.mask = 0;
+            this.trie = CompletionTrie.empty();
+            this.names = FuzzyIndex.empty();
+            return;
+        }
+
+        int capacity = Integer.highestOneBit(children.size() * 2 - 1) << 1;
+
+        this.keys = new String[capacity];
+        this.children = new CompiledCommand[capacity];
+        this.mask = capacity - 1;
+        this.trie = CompletionTrie.of(children.keySet());
+        this.names = FuzzyIndex.of(children.keySet());
+
+        for (Map.Entry<String, CompiledCommand> entry : children.entrySet()) {
+            String key = entry.getKey().intern();
+            int slot = spread(key.hashCode()) & this.mask;
+
+            while (this.keys[slot] != null) {
+                slot = (slot + 1) & this.mask;
+            }
+
+            this.keys[slot] = key;
+            this.children[slot] = entry.getValue();
+        }
+    }
+
+    /**
+     * Looks up a direct subcommand by its name or one of its aliases, ignoring case.
+     *
+     * @param label Name or alias of the subcommand.
+     *
+     * @return The compiled subcommand, or {@code null} if there is none.
+     */
+    @Nullable
+    CompiledCommand getChild(String label) {
+        if (this.keys.length == 0) {
+            return null;
+        }
+
+        int length = label.length();
+        int hash = 0;
+
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + Character.toLowerCase(label.charAt(i));
+        }
+
+        for (int slot = spread(hash) & this.mask; ; slot = (slot + 1) & this.mask) {
+            String key = this.keys[slot];
+
+            if (key == null) {
+                return null;
+            }
+
+            if (key.hashCode() == hash && key.length() == length && matches(key, label)) {
+                return this.children[slot];
+            }
+        }
+    }
+
+    /**
+     * Finds the subcommand the sender most likely meant by a label that matches none, among those they may execute.
+     *
+     * @param sender Sender to check.
+     * @param source The source of the sender.
+     * @param label The label that matched no subcommand.
+     *
+     * @return The name or alias of the subcommand, or {@code null} if none is close enough.
+     */
+    @Nullable
+    String suggestChild(CommandSender sender, CommandSource source, String label) {
+        if (this.keys.length == 0) {
+            return null;
+        }
+
+        return this.names.closest(label, FuzzyIndex.getMaxDistance(label.length()), key -> this.getChild(key).canExecute(sender, source));
+    }
+
+    /**
+     * Checks whether a sender is allowed to execute this command, based on their source and permissions.
+     *
+     * @param sender Sender to check.
+     * @param source The source of the sender.
+     *
+     * @return {@code true} If the sender may execute this command.
+     */
+    boolean canExecute(CommandSender sender, CommandSource source) {
+        return this.isPermitted(source) && this.hasPermissions(sender, source);
+    }
+
+    /**
+     * @return {@code true} If the source is allowed to execute this command.
+     */
+    boolean isPermitted(CommandSource source) {
+        return (this.sources & (1 << source.ordinal())) != 0;
+    }
+
+    /**
+     * Checks whether a sender has every permission required to execute this command, through the permission cache if
+     * there is one. Sources that are not permission checked and commands without permissions skip the check.
+     */
+    boolean hasPermissions(CommandSender sender, CommandSource source) {
+        if (this.permissions.length == 0 || !source.isPermissionChecked()) {
+            return true;
+        }
+
+        PermissionCache cache = CommandAPI.getPermissionCache();
+
+        for (String permission : this.permissions) {
+            if (!(cache == null ? sender.hasPermission(permission) : cache.hasPermission(sender, permission))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return Every permission node required to execute this command.
+     */
+    String[] getPermissions() {
+        return this.permissions;
+    }
+
+    /**
+     * Obtains every interceptor that runs around this command, the global interceptors first.
+     *
+     * @param global The current global interceptors, see {@link CommandAPI#getInterceptorArray()}.
+     *
+     * @return The interceptors, empty if there are none.
+     */
+    CommandInterceptor[] getInterceptors(CommandInterceptor[] global) {
+        if (global.length == 0) {
+            return this.interceptors;
+        }
+
+        Interceptors merged = this.merged;
+
+        if (merged == null || merged.global != global) {
+            merged = new Interceptors(global, ObjectArrays.concat(global, this.interceptors, CommandInterceptor.class));
+            this.merged = merged;
+        }
+
+        return merged.all;
+    }
+
+    Command getCommand() {
+        return this.command;
+    }
+
+    CompletionTrie getTrie() {
+        return this.trie;
+    }
+
+    int getMinArgs() {
+        return this.minArgs;
+    }
+
+    int getMaxArgs() {
+        return this.maxArgs;
+    }
+
+    Argument<?>[] getArguments() {
+        return this.arguments;
+    }
+
+    /**
+     * Lowercases a name the same way labels are lowercased when they are looked up.
+     *
+     * @param name Name to lowercase.
+     *
+     * @return The lowercased name.
+     */
+    static String fold(String name) {
+        char[] chars = name.toCharArray();
+
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+
+        return new String(chars);
+    }
+
+    private static boolean matches(String key, String label) {
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) != Character.toLowerCase(label.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * The interceptors of a command, merged with one version of the global interceptors.
+     */
+    private static final class Interceptors {
+
+        private final CommandInterceptor[] global;
+        private final CommandInterceptor[] all;
+
+        private Interceptors(CommandInterceptor[] global, CommandInterceptor[] all) {
+            this.global = global;
+            this.all = all;
+        }
+    }
+}
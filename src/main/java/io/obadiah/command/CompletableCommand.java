@@ -8,6 +8,10 @@ import javax.annotation.concurrent.Immutable;
 public interface CompletableCommand {
 
     /**
+     * Builds the completions of your command. Called on a worker thread when the command is registered and whenever
+     * {@link CommandAPI#refreshCompletions(Command...)} is, so it must not read server state that is only safe to read
+     * on the server thread. The returned tree is copied rather than changed, so it may be kept and reused.
+     *
      * @return All completions for your command.
      */
     LiteralCommandNode<?> getCompletions();
@@ -0,0 +1,93 @@
+package io.obadiah.command;
+
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import io.obadiah.command.completion.BrigadierTrees;
+import io.obadiah.command.completion.NodeInterner;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The Brigadier tree of a registered command. Trees are built and interned on a worker thread and committed to
+ * Commodore on the server thread. Every build is numbered when requested, so a build superseded by a later request, or
+ * one that finishes after the command was unregistered, is never committed.
+ */
+@ThreadSafe
+final class CompletionTree {
+
+    private final NodeInterner interner;
+    private final AtomicInteger generation;
+
+    private volatile boolean removed;
+    private LiteralCommandNode<?> committed;
+
+    CompletionTree() {
+        this.interner = new NodeInterner();
+        this.generation = new AtomicInteger();
+    }
+
+    /**
+     * Requests a build, superseding any build requested before it.
+     *
+     * @return The number of the build.
+     */
+    int request() {
+        return this.generation.incrementAndGet();
+    }
+
+    /**
+     * Builds and interns the tree of a command, derived from the command itself unless it is a CompletableCommand.
+     * Builds of the same command run one at a time, so each reuses the nodes of the last.
+     *
+     * @param generation The number of the build.
+     * @param command The command to build the tree of.
+     *
+     * @return The interned tree, or {@code null} if the build was superseded before it started.
+     */
+    @Nullable
+    LiteralCommandNode<?> build(int generation, Command command) {
+        synchronized (this.interner) {
+            if (!this.isCurrent(generation)) {
+                return null;
+            }
+
+            LiteralCommandNode<?> root = command instanceof CompletableCommand ? ((CompletableCommand) command).getCompletions() : BrigadierTrees.build(command);
+
+            return this.interner.intern(root);
+        }
+    }
+
+    /**
+     * @param generation The number of a build.
+     *
+     * @return {@code true} If the build has not been superseded and the command is still registered.
+     */
+    boolean isCurrent(int generation) {
+        return !this.removed && this.generation.get() == generation;
+    }
+
+    /**
+     * Supersedes every pending build, as the command has been unregistered.
+     */
+    void remove() {
+        this.removed = true;
+        this.generation.incrementAndGet();
+    }
+
+    /**
+     * @return The tree committed to Commodore, or {@code null} if none is. Only read on the server thread.
+     */
+    @Nullable
+    LiteralCommandNode<?> getCommitted() {
+        return this.committed;
+    }
+
+    /**
+     * @param committed The tree committed to Commodore, or {@code null} once its nodes have been removed. Only set on
+     * the server thread.
+     */
+    void setCommitted(@Nullable LiteralCommandNode<?> committed) {
+        this.committed = committed;
+    }
+}
@@ -0,0 +1,74 @@
+package io.obadiah.command;
+
+import io.obadiah.command.metrics.RejectionReason;
+import org.bukkit.command.CommandSender;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * How an invocation of a command ended, see {@link Command#dispatchForResult(CommandSender, String...)}.
+ */
+@Immutable
+public final class DispatchResult {
+
+    private final Status status;
+    private final RejectionReason reason;
+    private final Throwable failure;
+
+    DispatchResult(Status status, @Nullable RejectionReason reason, @Nullable Throwable failure) {
+        this.status = status;
+        this.reason = reason;
+        this.failure = failure;
+    }
+
+    /**
+     * @return How the invocation ended.
+     */
+    public Status getStatus() {
+        return this.status;
+    }
+
+    /**
+     * @return Why the invocation was rejected, or {@code null} if it was not, or was stopped by an interceptor.
+     */
+    @Nullable
+    public RejectionReason getReason() {
+        return this.reason;
+    }
+
+    /**
+     * @return What the command or an interceptor threw, or {@code null} if the invocation did not fail.
+     */
+    @Nullable
+    public Throwable getFailure() {
+        return this.failure;
+    }
+
+    @Override
+    public String toString() {
+        return this.status + (this.reason != null ? " " + this.reason : this.failure != null ? " " + this.failure : "");
+    }
+
+    /**
+     * How an invocation of a command ended.
+     */
+    public enum Status {
+
+        /**
+         * The command executed without throwing, or was forwarded to the node that executes it.
+         */
+        EXECUTED,
+
+        /**
+         * The invocation was refused by the command's checks, by the command throwing an IllegalCommandArgException or
+         * IllegalCommandUsageException, or by an interceptor that did not proceed.
+         */
+        REJECTED,
+
+        /**
+         * The command or an interceptor threw any other exception.
+         */
+        FAILED
+    }
+}
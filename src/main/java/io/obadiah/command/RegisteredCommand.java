@@ -0,0 +1,79 @@
+package io.obadiah.command;
+
+import com.google.common.collect.Lists;
+import org.bukkit.command.CommandMap;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.defaults.BukkitCommand;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.List;
+
+/**
+ * The Bukkit command a root command is registered to the server as. Forwards to whichever command it currently
+ * targets, so a command can be replaced without touching the command map: executions that have already begun finish
+ * on the command they started with, every later one runs the replacement.
+ */
+@ThreadSafe
+final class RegisteredCommand extends BukkitCommand {
+
+    private final String fallbackPrefix;
+    private final CompletionTree completionTree;
+
+    private volatile Command target;
+
+    RegisteredCommand(String fallbackPrefix, Command target) {
+        super(target.getName(), target.getDescription(), target.getUsage(), Lists.newArrayList(target.getAliases()));
+
+        this.fallbackPrefix = fallbackPrefix;
+        this.completionTree = new CompletionTree();
+        this.target = target;
+    }
+
+    @Override
+    public boolean execute(CommandSender sender, String label, String[] args) {
+        this.target.fire(sender, args);
+        return false;
+    }
+
+    @Override
+    public List<String> tabComplete(CommandSender sender, String alias, String[] args) {
+        return Lists.newArrayList(this.target.complete(sender, args));
+    }
+
+    /**
+     * @return The prefix the labels of this command were registered under to tell them apart from other plugins.
+     */
+    String getFallbackPrefix() {
+        return this.fallbackPrefix;
+    }
+
+    /**
+     * @return The Brigadier tree of the command currently targeted.
+     */
+    CompletionTree getCompletionTree() {
+        return this.completionTree;
+    }
+
+    /**
+     * @return The command invocations currently run.
+     */
+    Command getTarget() {
+        return this.target;
+    }
+
+    /**
+     * Runs every later invocation on another command of the same name, taking its description, usage and aliases.
+     *
+     * @param commandMap The command map this command is registered to.
+     * @param target The command to run.
+     */
+    void setTarget(CommandMap commandMap, Command target) {
+        this.target = target;
+
+        this.unregister(commandMap);
+        this.setDescription(target.getDescription());
+        this.setUsage(target.getUsage());
+        this.setAliases(Lists.newArrayList(target.getAliases()));
+        this.register(commandMap);
+    }
+}
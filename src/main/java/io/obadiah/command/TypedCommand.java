@@ -0,0 +1,43 @@
+package io.obadiah.command;
+
+import org.bukkit.command.CommandSender;
+
+import javax.annotation.Nullable;
+
+/**
+ * A command that reads its arguments through {@link CommandArguments}, without copying them, including the parsed
+ * values of its typed arguments. Implement {@link #execute(CommandSender, CommandArguments)} rather than the raw form.
+ */
+public abstract class TypedCommand extends Command {
+
+    /**
+     * Represents a command whose arguments are read through {@link CommandArguments}.
+     *
+     * @param name Name of the command.
+     * @param permission The optional permission node that is required to execute this command.
+     */
+    public TypedCommand(String name, @Nullable String permission) {
+        super(name, permission);
+    }
+
+    /**
+     * Code to execute when this command has completed all checks.
+     *
+     * @param sender The sender of the command.
+     * @param args The arguments that the sender has sent alongside this command, with the parsed values of its typed
+     * arguments.
+     *
+     * @throws Exception On specific use cases such as incorrect argument types or incorrect usage.
+     */
+    @Override
+    protected abstract void execute(CommandSender sender, CommandArguments args) throws Exception;
+
+    /**
+     * Executes this command with raw arguments, as when called directly rather than dispatched. The typed arguments are
+     * not parsed, so their values read as {@code null}.
+     */
+    @Override
+    protected final void execute(CommandSender sender, String... args) throws Exception {
+        this.execute(sender, new CommandArguments(args, 0));
+    }
+}
@@ -0,0 +1,93 @@
+package io.obadiah.command.argument;
+
+import io.obadiah.command.completion.SuggestionProvider;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A typed argument declared on a command. Used as a handle to obtain the parsed value when the command executes.
+ *
+ * @param <T> The type of the parsed value.
+ */
+@Immutable
+public final class Argument<T> {
+
+    private final String name;
+    private final ArgumentParser<T> parser;
+    private final boolean optional;
+    private final int index;
+    private final SuggestionProvider suggestions;
+
+    /**
+     * Represents a typed argument.
+     *
+     * @param name Name of the argument, as shown in usage and error messages.
+     * @param parser The parser used to convert the raw input.
+     * @param optional {@code true} If the argument may be omitted.
+     * @param index The position of the argument among the arguments of its command.
+     */
+    public Argument(String name, ArgumentParser<T> parser, boolean optional, int index) {
+        this(name, parser, optional, index, null);
+    }
+
+    /**
+     * Represents a typed argument with its own suggestions.
+     *
+     * @param name Name of the argument, as shown in usage and error messages.
+     * @param parser The parser used to convert the raw input.
+     * @param optional {@code true} If the argument may be omitted.
+     * @param index The position of the argument among the arguments of its command.
+     * @param suggestions The suggestions offered when tab completing, or {@code null} to use the parser's.
+     */
+    public Argument(String name, ArgumentParser<T> parser, boolean optional, int index, @Nullable SuggestionProvider suggestions) {
+        this.name = name;
+        this.parser = parser;
+        this.optional = optional;
+        this.index = index;
+        this.suggestions = suggestions;
+    }
+
+    /**
+     * @return The name of this argument.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return The parser used to convert the raw input of this argument.
+     */
+    public ArgumentParser<T> getParser() {
+        return this.parser;
+    }
+
+    /**
+     * @return {@code true} If this argument may be omitted.
+     */
+    public boolean isOptional() {
+        return this.optional;
+    }
+
+    /**
+     * @return {@code true} If this argument consumes every remaining argument.
+     */
+    public boolean isGreedy() {
+        return this.parser.isGreedy();
+    }
+
+    /**
+     * @return The suggestions offered when tab completing this argument, or {@code null} for none.
+     */
+    @Nullable
+    public SuggestionProvider getSuggestions() {
+        return this.suggestions == null ? this.parser.getSuggestions() : this.suggestions;
+    }
+
+    /**
+     * @return The position of this argument among the arguments of its command.
+     */
+    public int getIndex() {
+        return this.index;
+    }
+}
@@ -0,0 +1,40 @@
+package io.obadiah.command.argument;
+
+import io.obadiah.command.completion.SuggestionProvider;
+import org.bukkit.command.CommandSender;
+
+import javax.annotation.Nullable;
+
+/**
+ * Converts the raw input of an argument into a typed value.
+ *
+ * @param <T> The type of the parsed value.
+ */
+@FunctionalInterface
+public interface ArgumentParser<T> {
+
+    /**
+     * Parses the input of an argument. Implementations should return a failure rather than throw.
+     *
+     * @param sender The sender of the command.
+     * @param input The raw input of the argument.
+     *
+     * @return The result of parsing the input.
+     */
+    ParseResult<T> parse(CommandSender sender, String input);
+
+    /**
+     * @return {@code true} If this parser consumes every remaining argument, joined with single spaces.
+     */
+    default boolean isGreedy() {
+        return false;
+    }
+
+    /**
+     * @return The suggestions offered when tab completing arguments parsed by this parser, or {@code null} for none.
+     */
+    @Nullable
+    default SuggestionProvider getSuggestions() {
+        return null;
+    }
+}
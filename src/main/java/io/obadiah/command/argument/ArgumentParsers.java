@@ -0,0 +1,281 @@
+package io.obadiah.command.argument;
+
+import com.google.common.collect.ImmutableMap;
+import io.obadiah.command.completion.FuzzyIndex;
+import io.obadiah.command.completion.SuggestionProvider;
+import io.obadiah.command.completion.SuggestionProviders;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import javax.annotation.concurrent.Immutable;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The built-in argument parsers. None of them throw on bad input.
+ */
+@Immutable
+public final class ArgumentParsers {
+
+    private static final long INVALID = Long.MIN_VALUE;
+
+    /**
+     * A single word, as typed.
+     */
+    public static final ArgumentParser<String> STRING = (sender, input) -> ParseResult.success(input);
+
+    /**
+     * Every remaining argument, joined with single spaces.
+     */
+    public static final ArgumentParser<String> GREEDY_STRING = new ArgumentParser<String>() {
+        @Override
+        public ParseResult<String> parse(CommandSender sender, String input) {
+            return ParseResult.success(input);
+        }
+
+        @Override
+        public boolean isGreedy() {
+            return true;
+        }
+    };
+
+    /**
+     * A whole number within the range of an int.
+     */
+    public static final ArgumentParser<Integer> INTEGER = (sender, input) -> {
+        long value = parseLong(input);
+
+        if (value == INVALID || value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            return ParseResult.failure("'" + input + "' is not a whole number!");
+        }
+
+        return ParseResult.success((int) value);
+    };
+
+    /**
+     * A decimal number.
+     */
+    public static final ArgumentParser<Double> DOUBLE = (sender, input) -> {
+        if (!isDecimal(input)) {
+            return ParseResult.failure("'" + input + "' is not a number!");
+        }
+
+        return ParseResult.success(Double.parseDouble(input));
+    };
+
+    /**
+     * {@code true}/{@code false}, {@code yes}/{@code no} or {@code on}/{@code off}, ignoring case.
+     */
+    public static final ArgumentParser<Boolean> BOOLEAN = suggesting((sender, input) -> {
+        switch (input.toLowerCase(Locale.ROOT)) {
+            case "true":
+            case "yes":
+            case "on":
+                return ParseResult.success(true);
+            case "false":
+            case "no":
+            case "off":
+                return ParseResult.success(false);
+            default:
+                return ParseResult.failure("'" + input + "' is not true or false!");
+        }
+    }, SuggestionProviders.of("true", "false"));
+
+    /**
+     * An online player, by their exact name.
+     */
+    public static final ArgumentParser<Player> PLAYER = suggesting((sender, input) -> {
+        Player player = Bukkit.getPlayerExact(input);
+
+        return player == null ? ParseResult.failure("No player named " + input + " is online!") : ParseResult.success(player);
+    }, SuggestionProviders.ONLINE_PLAYERS);
+
+    /**
+     * A duration such as {@code 90}, {@code 30s}, {@code 5m} or {@code 1d12h}. Plain numbers are read as seconds.
+     */
+    public static final ArgumentParser<Duration> DURATION = (sender, input) -> {
+        Duration duration = parseDuration(input);
+
+        return duration == null ? ParseResult.failure("'" + input + "' is not a duration, such as 30s, 5m or 1h30m!") : ParseResult.success(duration);
+    };
+
+    private static final ClassValue<ArgumentParser<?>> ENUM_PARSERS = new ClassValue<ArgumentParser<?>>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected ArgumentParser<?> computeValue(Class<?> type) {
+            return createEnumParser(type.asSubclass(Enum.class));
+        }
+    };
+
+    private ArgumentParsers() {}
+
+    /**
+     * Obtains a parser for the constants of an enum, ignoring case. The parser is created once per enum.
+     *
+     * @param type The enum class.
+     *
+     * @return The parser.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Enum<E>> ArgumentParser<E> enumeration(Class<E> type) {
+        return (ArgumentParser<E>) ENUM_PARSERS.get(type);
+    }
+
+    private static <E extends Enum<E>> ArgumentParser<E> createEnumParser(Class<E> type) {
+        E[] constants = type.getEnumConstants();
+        Map<String, E> lookup = Stream.of(constants)
+          .collect(ImmutableMap.toImmutableMap(constant -> constant.name().toLowerCase(Locale.ROOT), constant -> constant));
+        String expected = Stream.of(constants)
+          .map(constant -> constant.name().toLowerCase(Locale.ROOT))
+          .collect(Collectors.joining(", "));
+        FuzzyIndex names = FuzzyIndex.of(lookup.keySet());
+
+        return suggesting((sender, input) -> {
+            E constant = lookup.get(input.toLowerCase(Locale.ROOT));
+
+            if (constant != null) {
+                return ParseResult.success(constant);
+            }
+
+            String closest = names.closest(input);
+
+            return ParseResult.failure("'" + input + "' is not one of: " + expected + (closest == null ? "!" : ", did you mean " + closest + "?"));
+        }, SuggestionProviders.of(lookup.keySet()));
+    }
+
+    /**
+     * Attaches suggestions to a parser.
+     *
+     * @param parser Parser to attach to.
+     * @param suggestions Suggestions to offer when tab completing.
+     *
+     * @return The parser, with suggestions.
+     */
+    public static <T> ArgumentParser<T> suggesting(ArgumentParser<T> parser, SuggestionProvider suggestions) {
+        return new ArgumentParser<T>() {
+            @Override
+            public ParseResult<T> parse(CommandSender sender, String input) {
+                return parser.parse(sender, input);
+            }
+
+            @Override
+            public boolean isGreedy() {
+                return parser.isGreedy();
+            }
+
+            @Override
+            public SuggestionProvider getSuggestions() {
+                return suggestions;
+            }
+        };
+    }
+
+    /**
+     * @return The parsed number, or {@link #INVALID} if the input is not a whole number or overflows a long.
+     */
+    private static long parseLong(String input) {
+        int length = input.length();
+
+        if (length == 0 || length > 20) {
+            return INVALID;
+        }
+
+        boolean negative = input.charAt(0) == '-';
+        int start = negative || input.charAt(0) == '+' ? 1 : 0;
+
+        if (start == length) {
+            return INVALID;
+        }
+
+        long value = 0;
+        for (int i = start; i < length; i++) {
+            int digit = input.charAt(i) - '0';
+
+            if (digit < 0 || digit > 9 || value > (Long.MAX_VALUE - digit) / 10) {
+                return INVALID;
+            }
+
+            value = value * 10 + digit;
+        }
+
+        return negative ? -value : value;
+    }
+
+    private static boolean isDecimal(String input) {
+        int length = input.length();
+        int start = length > 0 && (input.charAt(0) == '-' || input.charAt(0) == '+') ? 1 : 0;
+        boolean digits = false;
+        boolean point = false;
+
+        for (int i = start; i < length; i++) {
+            char c = input.charAt(i);
+
+            if (c >= '0' && c <= '9') {
+                digits = true;
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                return false;
+            }
+        }
+
+        return digits;
+    }
+
+    private static Duration parseDuration(String input) {
+        long seconds = 0;
+        long number = -1;
+
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+
+            if (c >= '0' && c <= '9') {
+                number = (number < 0 ? 0 : number) * 10 + (c - '0');
+
+                if (number > Integer.MAX_VALUE) {
+                    return null;
+                }
+
+                continue;
+            }
+
+            if (number < 0) {
+                return null;
+            }
+
+            switch (Character.toLowerCase(c)) {
+                case 'w':
+                    seconds += number * 604_800;
+                    break;
+                case 'd':
+                    seconds += number * 86_400;
+                    break;
+                case 'h':
+                    seconds += number * 3_600;
+                    break;
+                case 'm':
+                    seconds += number * 60;
+                    break;
+                case 's':
+                    seconds += number;
+                    break;
+                default:
+                    return null;
+            }
+
+            number = -1;
+        }
+
+        if (number >= 0) {
+            seconds += number;
+        } else if (input.isEmpty()) {
+            return null;
+        }
+
+        return Duration.ofSeconds(seconds);
+    }
+}
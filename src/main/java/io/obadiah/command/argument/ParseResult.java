@@ -0,0 +1,62 @@
+package io.obadiah.command.argument;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The outcome of parsing a single argument. Failures carry a message for the sender instead of an exception.
+ *
+ * @param <T> The type of the parsed value.
+ */
+@Immutable
+public final class ParseResult<T> {
+
+    private final T value;
+    private final String message;
+
+    private ParseResult(@Nullable T value, @Nullable String message) {
+        this.value = value;
+        this.message = message;
+    }
+
+    /**
+     * @param value The parsed value.
+     *
+     * @return A successful result.
+     */
+    public static <T> ParseResult<T> success(T value) {
+        return new ParseResult<>(value, null);
+    }
+
+    /**
+     * @param message The message explaining why the input could not be parsed.
+     *
+     * @return A failed result.
+     */
+    public static <T> ParseResult<T> failure(String message) {
+        return new ParseResult<>(null, message);
+    }
+
+    /**
+     * @return {@code true} If the input was parsed successfully.
+     */
+    public boolean isSuccess() {
+        return this.message == null;
+    }
+
+    /**
+     * @return The parsed value, or {@code null} if parsing failed.
+     */
+    @Nullable
+    public T getValue() {
+        return this.value;
+    }
+
+    /**
+     * @return The message explaining why the input could not be parsed, or {@code null} if parsing succeeded.
+     */
+    @Nullable
+    public String getMessage() {
+        return this.message;
+    }
+}
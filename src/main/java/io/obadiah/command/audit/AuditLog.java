@@ -0,0 +1,221 @@
+package io.obadiah.command.audit;
+
+import io.obadiah.command.Command;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Records command invocations without blocking the threads that invoke them. Records are queued in a bounded,
+ * lock-free ring buffer and written in batches to a sink by a single background thread, so the server thread never
+ * touches the disk. Records offered while the buffer is full are dropped and counted rather than waited on.
+ */
+@ThreadSafe
+public final class AuditLog implements Closeable {
+
+    private final AuditRingBuffer buffer;
+    private final AuditSink sink;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Logger logger;
+    private final Thread writer;
+
+    private final LongAdder recorded;
+    private final LongAdder dropped;
+    private final LongAdder written;
+    private final LongAdder failures;
+
+    private volatile Predicate<Command> filter;
+    private volatile boolean closed;
+
+    /**
+     * Represents an audit log that buffers up to 8192 records and writes them at least every quarter of a second.
+     *
+     * @param sink Sink to write the records to, closed along with this log.
+     * @param logger Logger to report write failures to.
+     */
+    public AuditLog(AuditSink sink, Logger logger) {
+        this(sink, 8192, 512, 250, TimeUnit.MILLISECONDS, logger);
+    }
+
+    /**
+     * Represents an audit log.
+     *
+     * @param sink Sink to write the records to, closed along with this log.
+     * @param capacity The amount of records that can wait to be written, rounded up to a power of two.
+     * @param batchSize The maximum amount of records written to the sink at once.
+     * @param flushInterval How long the writer waits for more records once it has caught up.
+     * @param unit The unit of the {@param flushInterval} parameter.
+     * @param logger Logger to report write failures to.
+     *
+     * @throws IllegalArgumentException If the {@param capacity}, {@param batchSize} or {@param flushInterval} parameters are below 1.
+     */
+    public AuditLog(AuditSink sink, int capacity, int batchSize, long flushInterval, TimeUnit unit, Logger logger) {
+        if (capacity < 1 || batchSize < 1 || flushInterval < 1) {
+            throw new IllegalArgumentException("Capacity, batch size and flush interval cannot be set below 1!");
+        }
+
+        this.buffer = new AuditRingBuffer(capacity);
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = unit.toNanos(flushInterval);
+        this.logger = logger;
+        this.recorded = new LongAdder();
+        this.dropped = new LongAdder();
+        this.written = new LongAdder();
+        this.failures = new LongAdder();
+        this.filter = command -> true;
+
+        this.writer = new Thread(this::write, "CommandAPI Audit Writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Sets which commands are audited, such as only those that require a staff permission. Every command is audited
+     * by default.
+     *
+     * @param filter Filter that accepts the commands to audit. Called for every invocation, so should be cheap.
+     *
+     * @return This audit log instance.
+     */
+    public AuditLog setFilter(Predicate<Command> filter) {
+        this.filter = filter;
+
+        return this;
+    }
+
+    /**
+     * @param command Command to check.
+     *
+     * @return {@code true} If invocations of the command are audited.
+     */
+    public boolean isAudited(Command command) {
+        return !this.closed && this.filter.test(command);
+    }
+
+    /**
+     * Queues a record to be written, without blocking.
+     *
+     * @param record Record to write.
+     *
+     * @return {@code true} If the record was queued, {@code false} if it was dropped because the buffer is full or
+     * this log is closed.
+     */
+    public boolean record(AuditRecord record) {
+        if (this.closed || !this.buffer.offer(record)) {
+            this.dropped.increment();
+            return false;
+        }
+
+        this.recorded.increment();
+        return true;
+    }
+
+    /**
+     * @return The amount of records queued.
+     */
+    public long getRecorded() {
+        return this.recorded.sum();
+    }
+
+    /**
+     * @return The amount of records dropped because the buffer was full or this log was closed.
+     */
+    public long getDropped() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * @return The amount of records written to the sink.
+     */
+    public long getWritten() {
+        return this.written.sum();
+    }
+
+    /**
+     * @return The amount of batches the sink failed to write, whose records are lost.
+     */
+    public long getFailures() {
+        return this.failures.sum();
+    }
+
+    /**
+     * Stops accepting records, waits for the writer to write every queued record, then closes the sink. Records
+     * offered at the same time as the log is closed may be lost.
+     */
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+
+        this.closed = true;
+        LockSupport.unpark(this.writer);
+
+        try {
+            this.writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write() {
+        List<AuditRecord> batch = new ArrayList<>(this.batchSize);
+        boolean unflushed = false;
+
+        while (true) {
+            boolean closing = this.closed;
+            int drained = this.buffer.drain(batch, this.batchSize);
+
+            if (drained > 0) {
+                try {
+                    this.sink.write(batch);
+                    this.written.add(drained);
+                } catch (IOException | RuntimeException e) {
+                    this.failures.increment();
+                    this.logger.log(Level.WARNING, "Could not write " + drained + " audit records", e);
+                }
+
+                batch.clear();
+                unflushed = true;
+            }
+
+            if (drained == this.batchSize) {
+                continue;
+            }
+
+            if (unflushed) {
+                try {
+                    this.sink.flush();
+                } catch (IOException | RuntimeException e) {
+                    this.failures.increment();
+                    this.logger.log(Level.WARNING, "Could not flush audit records", e);
+                }
+
+                unflushed = false;
+            }
+
+            if (closing) {
+                break;
+            }
+
+            LockSupport.parkNanos(this, this.flushIntervalNanos);
+        }
+
+        try {
+            this.sink.close();
+        } catch (IOException e) {
+            this.logger.log(Level.WARNING, "Could not close the audit sink", e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package io.obadiah.command.audit;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * How an audited invocation of a command ended.
+ */
+@Immutable
+public enum AuditOutcome {
+
+    /**
+     * The command executed without throwing.
+     */
+    EXECUTED,
+
+    /**
+     * The command executed and threw an exception.
+     */
+    FAILED,
+
+    /**
+     * The invocation was rejected before the command executed, see {@link AuditRecord#getReason()}.
+     */
+    REJECTED
+}
@@ -0,0 +1,90 @@
+package io.obadiah.command.audit;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.function.Predicate;
+
+/**
+ * Selects audit records by sender, command, outcome and time, every criterion being optional.
+ */
+@NotThreadSafe
+public final class AuditQuery implements Predicate<AuditRecord> {
+
+    private String sender;
+    private String path;
+    private AuditOutcome outcome;
+    private long since = Long.MIN_VALUE;
+    private long until = Long.MAX_VALUE;
+
+    /**
+     * Selects the records of one sender.
+     *
+     * @param sender Name of the sender, ignoring case, or {@code null} for any sender.
+     *
+     * @return This query instance.
+     */
+    public AuditQuery setSender(@Nullable String sender) {
+        this.sender = sender;
+
+        return this;
+    }
+
+    /**
+     * Selects the records of a command and its subcommands.
+     *
+     * @param path Path of the command, such as {@code "warp set"}, or {@code null} for any command.
+     *
+     * @return This query instance.
+     */
+    public AuditQuery setCommand(@Nullable String path) {
+        this.path = path;
+
+        return this;
+    }
+
+    /**
+     * Selects the records that ended a certain way.
+     *
+     * @param outcome Outcome to select, or {@code null} for any outcome.
+     *
+     * @return This query instance.
+     */
+    public AuditQuery setOutcome(@Nullable AuditOutcome outcome) {
+        this.outcome = outcome;
+
+        return this;
+    }
+
+    /**
+     * Selects the records within a time range.
+     *
+     * @param since The earliest time to select, inclusive, in milliseconds since the epoch.
+     * @param until The latest time to select, exclusive, in milliseconds since the epoch.
+     *
+     * @return This query instance.
+     */
+    public AuditQuery setTimeRange(long since, long until) {
+        this.since = since;
+        this.until = until;
+
+        return this;
+    }
+
+    @Override
+    public boolean test(AuditRecord record) {
+        if (record.getTimestamp() < this.since || record.getTimestamp() >= this.until) {
+            return false;
+        }
+
+        if (this.sender != null && !this.sender.equalsIgnoreCase(record.getSender())) {
+            return false;
+        }
+
+        if (this.outcome != null && this.outcome != record.getOutcome()) {
+            return false;
+        }
+
+        return this.path == null || record.getPath().equalsIgnoreCase(this.path)
+          || record.getPath().regionMatches(true, 0, this.path + " ", 0, this.path.length() + 1);
+    }
+}
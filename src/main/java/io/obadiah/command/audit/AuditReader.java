@@ -0,0 +1,212 @@
+package io.obadiah.command.audit;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads the files written by a {@link RotatingFileAuditSink}, oldest first. A file that was not closed, such as the
+ * one being written when the server stopped, is read up to its last flush.
+ *
+ * Also runs from the command line to search an audit directory:
+ * {@code java -cp CommandAPI.jar io.obadiah.command.audit.AuditReader <directory> [sender=<name>] [command=<path>]
+ * [outcome=<EXECUTED|FAILED|REJECTED>] [since=<epoch millis>] [until=<epoch millis>] [limit=<count>]}
+ */
+public final class AuditReader {
+
+    private AuditReader() {}
+
+    /**
+     * Reads every record in an audit directory that matches a query, oldest first.
+     *
+     * @param directory Directory the files were written into.
+     * @param query Query the records must match, see {@link AuditQuery}.
+     * @param consumer Consumer to give the matching records to.
+     *
+     * @throws IOException If a file could not be read.
+     * @throws IllegalArgumentException If a file contains a line that is not a record.
+     */
+    public static void read(Path directory, Predicate<AuditRecord> query, Consumer<AuditRecord> consumer) throws IOException {
+        for (Path file : getFiles(directory)) {
+            readFile(file, query, consumer);
+        }
+    }
+
+    /**
+     * Reads every record in an audit directory that matches a query, oldest first.
+     *
+     * @param directory Directory the files were written into.
+     * @param query Query the records must match, see {@link AuditQuery}.
+     * @param limit The maximum amount of records to read, keeping the most recent.
+     *
+     * @return The matching records.
+     *
+     * @throws IOException If a file could not be read.
+     * @throws IllegalArgumentException If a file contains a line that is not a record.
+     */
+    public static List<AuditRecord> read(Path directory, Predicate<AuditRecord> query, int limit) throws IOException {
+        Deque<AuditRecord> records = new ArrayDeque<>();
+
+        read(directory, query, record -> {
+            records.addLast(record);
+
+            if (records.size() > limit) {
+                records.removeFirst();
+            }
+        });
+
+        return new ArrayList<>(records);
+    }
+
+    /**
+     * @param directory Directory the files were written into.
+     *
+     * @return Every audit file in the directory, oldest first.
+     *
+     * @throws IOException If the directory could not be listed.
+     */
+    public static List<Path> getFiles(Path directory) throws IOException {
+        try (Stream<Path> stream = Files.list(directory)) {
+            return stream
+              .filter(RotatingFileAuditSink::isAuditFile)
+              .sorted()
+              .collect(Collectors.toList());
+        }
+    }
+
+    private static void readFile(Path file, Predicate<AuditRecord> query, Consumer<AuditRecord> consumer) throws IOException {
+        InputStream in = new UnclosedGzipInputStream(new GZIPInputStream(Files.newInputStream(file)));
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+
+                AuditRecord record = AuditRecord.parseJson(line);
+
+                if (query.test(record)) {
+                    consumer.accept(record);
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: AuditReader <directory> [sender=<name>] [command=<path>] [outcome=<outcome>] [since=<epoch millis>] [until=<epoch millis>] [limit=<count>]");
+            System.exit(1);
+        }
+
+        AuditQuery query = new AuditQuery();
+        long since = Long.MIN_VALUE;
+        long until = Long.MAX_VALUE;
+        int limit = Integer.MAX_VALUE;
+
+        for (int i = 1; i < args.length; i++) {
+            int separator = args[i].indexOf('=');
+
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected key=value, found " + args[i] + "!");
+            }
+
+            String value = args[i].substring(separator + 1);
+
+            switch (args[i].substring(0, separator).toLowerCase(Locale.ROOT)) {
+                case "sender":
+                    query.setSender(value);
+                    break;
+                case "command":
+                    query.setCommand(value.startsWith("/") ? value.substring(1) : value);
+                    break;
+                case "outcome":
+                    query.setOutcome(AuditOutcome.valueOf(value.toUpperCase(Locale.ROOT)));
+                    break;
+                case "since":
+                    since = Long.parseLong(value);
+                    break;
+                case "until":
+                    until = Long.parseLong(value);
+                    break;
+                case "limit":
+                    limit = Integer.parseInt(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option, " + args[i] + "!");
+            }
+        }
+
+        query.setTimeRange(since, until);
+
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+
+        for (AuditRecord record : read(Paths.get(args[0]), query, limit)) {
+            StringBuilder line = new StringBuilder()
+              .append(format.format(new Date(record.getTimestamp())))
+              .append(' ').append(record.getSender())
+              .append(" /").append(record.getPath());
+
+            if (!record.getArgs().isEmpty()) {
+                line.append(' ').append(record.getArgs());
+            }
+
+            line.append(" -> ").append(record.getReason() == null ? record.getOutcome() : record.getOutcome() + " " + record.getReason());
+
+            if (record.getOutcome() != AuditOutcome.REJECTED) {
+                line.append(" in ").append(record.getDurationNanos() / 1000).append("us");
+            }
+
+            System.out.println(line);
+        }
+    }
+
+    /**
+     * Ends the stream where a file that was not closed ends, instead of throwing, so that readers buffering ahead do
+     * not lose the records they have already decompressed.
+     */
+    private static final class UnclosedGzipInputStream extends FilterInputStream {
+
+        private UnclosedGzipInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                return super.read();
+            } catch (EOFException e) {
+                return -1;
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                return super.read(b, off, len);
+            } catch (EOFException e) {
+                return -1;
+            }
+        }
+    }
+}
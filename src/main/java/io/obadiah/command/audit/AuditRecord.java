@@ -0,0 +1,290 @@
+package io.obadiah.command.audit;
+
+import io.obadiah.command.CommandSource;
+import io.obadiah.command.metrics.RejectionReason;
+import io.obadiah.command.util.JsonStrings;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.UUID;
+
+/**
+ * A single audited invocation of a command. Records are written as JSON lines, one flat object per record.
+ */
+@Immutable
+public final class AuditRecord {
+
+    private final long timestamp;
+    private final String path;
+    private final String sender;
+    private final UUID uniqueId;
+    private final CommandSource source;
+    private final String args;
+    private final AuditOutcome outcome;
+    private final RejectionReason reason;
+    private final long durationNanos;
+
+    /**
+     * Represents an audited invocation.
+     *
+     * @param timestamp When the invocation happened, in milliseconds since the epoch.
+     * @param path The path of the invoked command, such as {@code "warp set"}.
+     * @param sender The name of the sender.
+     * @param uniqueId The unique id of the sender, or {@code null} if it is not an entity.
+     * @param source The source of the sender.
+     * @param args The arguments sent to the invoked command, joined with single spaces.
+     * @param outcome How the invocation ended.
+     * @param reason Why the invocation was rejected, or {@code null} if it was not.
+     * @param durationNanos How long the command executed for, or 0 if it was rejected.
+     */
+    public AuditRecord(long timestamp, String path, String sender, @Nullable UUID uniqueId, CommandSource source, String args,
+                       AuditOutcome outcome, @Nullable RejectionReason reason, long durationNanos) {
+        this.timestamp = timestamp;
+        this.path = path;
+        this.sender = sender;
+        this.uniqueId = uniqueId;
+        this.source = source;
+        this.args = args;
+        this.outcome = outcome;
+        this.reason = reason;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * @return When the invocation happened, in milliseconds since the epoch.
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    /**
+     * @return The path of the invoked command, such as {@code "warp set"}.
+     */
+    public String getPath() {
+        return this.path;
+    }
+
+    /**
+     * @return The name of the sender.
+     */
+    public String getSender() {
+        return this.sender;
+    }
+
+    /**
+     * @return The unique id of the sender, or {@code null} if it is not an entity.
+     */
+    @Nullable
+    public UUID getUniqueId() {
+        return this.uniqueId;
+    }
+
+    /**
+     * @return The source of the sender.
+     */
+    public CommandSource getSource() {
+        return this.source;
+    }
+
+    /**
+     * @return The arguments sent to the invoked command, joined with single spaces.
+     */
+    public String getArgs() {
+        return this.args;
+    }
+
+    /**
+     * @return How the invocation ended.
+     */
+    public AuditOutcome getOutcome() {
+        return this.outcome;
+    }
+
+    /**
+     * @return Why the invocation was rejected, or {@code null} if it was not.
+     */
+    @Nullable
+    public RejectionReason getReason() {
+        return this.reason;
+    }
+
+    /**
+     * @return How long the command executed for, or 0 if it was rejected.
+     */
+    public long getDurationNanos() {
+        return this.durationNanos;
+    }
+
+    /**
+     * Appends this record as a single line of JSON, including the trailing line break.
+     *
+     * @param builder Builder to append to.
+     */
+    void appendJson(StringBuilder builder) {
+        builder.append("{\"time\":").append(this.timestamp);
+        builder.append(",\"path\":");
+        JsonStrings.append(builder, this.path);
+        builder.append(",\"sender\":");
+        JsonStrings.append(builder, this.sender);
+
+        if (this.uniqueId != null) {
+            builder.append(",\"uuid\":\"").append(this.uniqueId).append('"');
+        }
+
+        builder.append(",\"source\":\"").append(this.source.name()).append('"');
+        builder.append(",\"args\":");
+        JsonStrings.append(builder, this.args);
+        builder.append(",\"outcome\":\"").append(this.outcome.name()).append('"');
+
+        if (this.reason != null) {
+            builder.append(",\"reason\":\"").append(this.reason.name()).append('"');
+        }
+
+        builder.append(",\"nanos\":").append(this.durationNanos).append("}\n");
+    }
+
+    /**
+     * Parses a line written by {@link #appendJson(StringBuilder)}.
+     *
+     * @param line Line to parse, without its line break.
+     *
+     * @return The record.
+     *
+     * @throws IllegalArgumentException If the line is not a record.
+     */
+    static AuditRecord parseJson(String line) {
+        long timestamp = 0;
+        String path = null;
+        String sender = null;
+        UUID uniqueId = null;
+        CommandSource source = null;
+        String args = "";
+        AuditOutcome outcome = null;
+        RejectionReason reason = null;
+        long durationNanos = 0;
+
+        JsonCursor cursor = new JsonCursor(line);
+        cursor.expect('{');
+
+        while (!cursor.consume('}')) {
+            String key = cursor.readString();
+            cursor.expect(':');
+
+            switch (key) {
+                case "time":
+                    timestamp = cursor.readLong();
+                    break;
+                case "path":
+                    path = cursor.readString();
+                    break;
+                case "sender":
+                    sender = cursor.readString();
+                    break;
+                case "uuid":
+                    uniqueId = UUID.fromString(cursor.readString());
+                    break;
+                case "source":
+                    source = CommandSource.valueOf(cursor.readString());
+                    break;
+                case "args":
+                    args = cursor.readString();
+                    break;
+                case "outcome":
+                    outcome = AuditOutcome.valueOf(cursor.readString());
+                    break;
+                case "reason":
+                    reason = RejectionReason.valueOf(cursor.readString());
+                    break;
+                case "nanos":
+                    durationNanos = cursor.readLong();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown audit record field, " + key + "!");
+            }
+
+            cursor.consume(',');
+        }
+
+        if (path == null || sender == null || source == null || outcome == null) {
+            throw new IllegalArgumentException("Incomplete audit record, " + line + "!");
+        }
+
+        return new AuditRecord(timestamp, path, sender, uniqueId, source, args, outcome, reason, durationNanos);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        this.appendJson(builder);
+
+        return builder.substring(0, builder.length() - 1);
+    }
+
+    /**
+     * Reads the flat objects written by {@link #appendJson(StringBuilder)}, which only contain strings and longs.
+     */
+    private static final class JsonCursor {
+
+        private final String line;
+        private int index;
+
+        private JsonCursor(String line) {
+            this.line = line;
+        }
+
+        private boolean consume(char c) {
+            if (this.index < this.line.length() && this.line.charAt(this.index) == c) {
+                this.index++;
+                return true;
+            }
+
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!this.consume(c)) {
+                throw new IllegalArgumentException("Expected '" + c + "' at " + this.index + " of audit record, " + this.line + "!");
+            }
+        }
+
+        private String readString() {
+            this.expect('"');
+            StringBuilder builder = new StringBuilder();
+
+            while (true) {
+                if (this.index >= this.line.length()) {
+                    throw new IllegalArgumentException("Unterminated string in audit record, " + this.line + "!");
+                }
+
+                char c = this.line.charAt(this.index++);
+
+                if (c == '"') {
+                    return builder.toString();
+                }
+
+                if (c == '\\') {
+                    char escaped = this.line.charAt(this.index++);
+
+                    if (escaped == 'u') {
+                        builder.append((char) Integer.parseInt(this.line.substring(this.index, this.index + 4), 16));
+                        this.index += 4;
+                    } else {
+                        builder.append(escaped);
+                    }
+                } else {
+                    builder.append(c);
+                }
+            }
+        }
+
+        private long readLong() {
+            int start = this.index;
+
+            while (this.index < this.line.length() && (this.line.charAt(this.index) == '-' || Character.isDigit(this.line.charAt(this.index)))) {
+                this.index++;
+            }
+
+            return Long.parseLong(this.line.substring(start, this.index));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package io.obadiah.command.audit;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free queue of audit records for any number of producers and a single consumer. Producers claim a
+ * slot by advancing the tail, then publish their record into it; the consumer takes published records in order and
+ * clears their slots. Offers fail rather than wait once the buffer is full.
+ */
+@ThreadSafe
+final class AuditRingBuffer {
+
+    private final AtomicReferenceArray<AuditRecord> slots;
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong tail;
+    private final AtomicLong head;
+
+    /**
+     * @param capacity The minimum amount of records the buffer holds, rounded up to a power of two.
+     */
+    AuditRingBuffer(int capacity) {
+        this.capacity = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+        this.mask = this.capacity - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+        this.tail = new AtomicLong();
+        this.head = new AtomicLong();
+    }
+
+    /**
+     * Adds a record to the buffer unless it is full.
+     *
+     * @param record Record to add.
+     *
+     * @return {@code true} If the record was added.
+     */
+    boolean offer(AuditRecord record) {
+        long tail;
+
+        do {
+            tail = this.tail.get();
+
+            if (tail - this.head.get() >= this.capacity) {
+                return false;
+            }
+        } while (!this.tail.compareAndSet(tail, tail + 1));
+
+        this.slots.lazySet((int) tail & this.mask, record);
+        return true;
+    }
+
+    /**
+     * Moves published records out of the buffer, oldest first. Must only be called by the single consumer. Stops at
+     * the first slot that has been claimed but not yet published.
+     *
+     * @param records List to add the records to.
+     * @param max The maximum amount of records to move.
+     *
+     * @return The amount of records moved.
+     */
+    int drain(List<AuditRecord> records, int max) {
+        long head = this.head.get();
+        int drained = 0;
+
+        while (drained < max) {
+            int slot = (int) head & this.mask;
+            AuditRecord record = this.slots.get(slot);
+
+            if (record == null) {
+                break;
+            }
+
+            this.slots.lazySet(slot, null);
+            records.add(record);
+            head++;
+            drained++;
+        }
+
+        this.head.lazySet(head);
+        return drained;
+    }
+
+    /**
+     * @return The amount of records the buffer holds.
+     */
+    int getCapacity() {
+        return this.capacity;
+    }
+}
@@ -0,0 +1,28 @@
+package io.obadiah.command.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receives batches of audit records from the writer thread of an {@link AuditLog}. Only ever called from that one
+ * thread, so implementations need not be thread safe.
+ */
+public interface AuditSink extends Closeable {
+
+    /**
+     * Writes a batch of records, oldest first. The records may be buffered until {@link #flush()}.
+     *
+     * @param records Records to write.
+     *
+     * @throws IOException If the records could not be written.
+     */
+    void write(List<AuditRecord> records) throws IOException;
+
+    /**
+     * Flushes every buffered record, called whenever the writer has caught up.
+     *
+     * @throws IOException If the records could not be flushed.
+     */
+    void flush() throws IOException;
+}
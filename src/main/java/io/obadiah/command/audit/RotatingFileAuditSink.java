@@ -0,0 +1,150 @@
+package io.obadiah.command.audit;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes audit records as gzip compressed JSON lines into a directory, starting a new file once the current one has
+ * grown past a size. Files are only ever appended to, and are named after the time they were started so they
+ * sort oldest first. Every flush is a gzip sync flush, so the records written so far remain readable if the server
+ * stops without closing the file.
+ */
+@NotThreadSafe
+public final class RotatingFileAuditSink implements AuditSink {
+
+    static final String PREFIX = "audit-";
+    static final String SUFFIX = ".jsonl.gz";
+
+    private final Path directory;
+    private final long maxFileBytes;
+    private final StringBuilder builder;
+
+    private int maxFiles;
+    private OutputStream out;
+    private long fileBytes;
+    private int sequence;
+
+    /**
+     * Represents a sink that keeps every file it writes.
+     *
+     * @param directory Directory to write the files into, created if it does not exist.
+     * @param maxFileBytes The amount of uncompressed bytes after which a new file is started.
+     *
+     * @throws IllegalArgumentException If the {@param maxFileBytes} parameter is below 1.
+     */
+    public RotatingFileAuditSink(Path directory, long maxFileBytes) {
+        if (maxFileBytes < 1) {
+            throw new IllegalArgumentException("Maximum file bytes cannot be set below 1!");
+        }
+
+        this.directory = directory;
+        this.maxFileBytes = maxFileBytes;
+        this.builder = new StringBuilder();
+    }
+
+    /**
+     * Sets the amount of files kept in the directory, deleting the oldest whenever a new file is started.
+     *
+     * @param maxFiles Amount of files to keep, or 0 to keep every file.
+     *
+     * @return This sink instance.
+     *
+     * @throws IllegalArgumentException If the {@param maxFiles} parameter is below 0.
+     */
+    public RotatingFileAuditSink setMaxFiles(int maxFiles) {
+        if (maxFiles < 0) {
+            throw new IllegalArgumentException("Maximum files cannot be set below 0!");
+        }
+
+        this.maxFiles = maxFiles;
+
+        return this;
+    }
+
+    @Override
+    public void write(List<AuditRecord> records) throws IOException {
+        for (AuditRecord record : records) {
+            if (this.out == null || this.fileBytes >= this.maxFileBytes) {
+                this.rotate();
+            }
+
+            this.builder.setLength(0);
+            record.appendJson(this.builder);
+
+            byte[] bytes = this.builder.toString().getBytes(StandardCharsets.UTF_8);
+            this.out.write(bytes);
+            this.fileBytes += bytes.length;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (this.out != null) {
+            this.out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.out != null) {
+            this.out.close();
+            this.out = null;
+        }
+    }
+
+    /**
+     * @return The directory the files are written into.
+     */
+    public Path getDirectory() {
+        return this.directory;
+    }
+
+    private void rotate() throws IOException {
+        this.close();
+
+        Files.createDirectories(this.directory);
+
+        String name = String.format("%s%s-%06d%s", PREFIX, new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date()), this.sequence++, SUFFIX);
+        OutputStream file = Files.newOutputStream(this.directory.resolve(name), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+
+        this.out = new GZIPOutputStream(new BufferedOutputStream(file), 8192, true);
+        this.fileBytes = 0;
+
+        if (this.maxFiles > 0) {
+            this.deleteOldest();
+        }
+    }
+
+    private void deleteOldest() throws IOException {
+        List<Path> files;
+
+        try (Stream<Path> stream = Files.list(this.directory)) {
+            files = stream
+              .filter(path -> isAuditFile(path))
+              .sorted()
+              .collect(Collectors.toList());
+        }
+
+        for (int i = 0; i < files.size() - this.maxFiles; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    static boolean isAuditFile(Path path) {
+        String name = path.getFileName().toString();
+
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+}
@@ -0,0 +1,104 @@
+package io.obadiah.command.completion;
+
+import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.arguments.DoubleArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import io.obadiah.command.Command;
+import io.obadiah.command.argument.Argument;
+import io.obadiah.command.argument.ArgumentParser;
+import io.obadiah.command.argument.ArgumentParsers;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.List;
+
+/**
+ * Derives the Brigadier tree sent to clients from a command's subcommands, aliases and typed arguments, for commands
+ * that do not build their own through {@link io.obadiah.command.CompletableCommand}. Argument types are shared
+ * constants, so the {@link NodeInterner} recognises equal argument nodes.
+ */
+@ThreadSafe
+public final class BrigadierTrees {
+
+    private static final ArgumentType<String> WORD = StringArgumentType.word();
+    private static final ArgumentType<String> GREEDY_STRING = StringArgumentType.greedyString();
+    private static final ArgumentType<Integer> INTEGER = IntegerArgumentType.integer();
+    private static final ArgumentType<Double> DOUBLE = DoubleArgumentType.doubleArg();
+
+    private BrigadierTrees() {}
+
+    /**
+     * Builds the Brigadier tree of a command.
+     *
+     * @param command Command to build the tree of.
+     *
+     * @return The root node of the tree, named after the command.
+     */
+    public static LiteralCommandNode<Object> build(Command command) {
+        return literal(command.getName(), command).build();
+    }
+
+    private static LiteralArgumentBuilder<Object> literal(String name, Command command) {
+        LiteralArgumentBuilder<Object> builder = LiteralArgumentBuilder.literal(name);
+
+        for (Command subCommand : command.getSubCommands()) {
+            builder.then(literal(subCommand.getName(), subCommand));
+
+            for (String alias : subCommand.getAliases()) {
+                builder.then(literal(alias, subCommand));
+            }
+        }
+
+        ArgumentBuilder<Object, ?> arguments = arguments(command, command.getArguments(), 0);
+
+        if (arguments != null) {
+            builder.then(arguments);
+        }
+
+        return builder;
+    }
+
+    /**
+     * Builds the chain of typed arguments from an index on. A command that accepts more arguments than it declares, such
+     * as one reading its raw arguments, ends in a greedy string, so clients accept whatever is typed after it.
+     */
+    @Nullable
+    private static ArgumentBuilder<Object, ?> arguments(Command command, List<Argument<?>> arguments, int index) {
+        if (index >= arguments.size()) {
+            boolean greedy = index > 0 && arguments.get(index - 1).getParser().isGreedy();
+
+            return greedy || command.getMaxArgs() <= arguments.size() ? null : RequiredArgumentBuilder.argument("args", GREEDY_STRING);
+        }
+
+        Argument<?> argument = arguments.get(index);
+        RequiredArgumentBuilder<Object, ?> builder = RequiredArgumentBuilder.argument(argument.getName(), type(argument.getParser()));
+        ArgumentBuilder<Object, ?> next = arguments(command, arguments, index + 1);
+
+        if (next != null) {
+            builder.then(next);
+        }
+
+        return builder;
+    }
+
+    private static ArgumentType<?> type(ArgumentParser<?> parser) {
+        if (parser.isGreedy()) {
+            return GREEDY_STRING;
+        }
+
+        if (parser == ArgumentParsers.INTEGER) {
+            return INTEGER;
+        }
+
+        if (parser == ArgumentParsers.DOUBLE) {
+            return DOUBLE;
+        }
+
+        return WORD;
+    }
+}
@@ -0,0 +1,123 @@
+package io.obadiah.command.completion;
+
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * An immutable prefix tree of completions. Each node stores every completion beneath it, so a lookup walks one node
+ * per character of the prefix and returns a shared list without allocating. Matching ignores case.
+ */
+@Immutable
+public final class CompletionTrie {
+
+    private static final CompletionTrie EMPTY = new CompletionTrie(new Node(new char[0], new Node[0], Collections.emptyList()));
+
+    private final Node root;
+
+    private CompletionTrie(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * @return A trie without any completions.
+     */
+    public static CompletionTrie empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a trie of completions. Duplicates are removed and completions are sorted ignoring case.
+     *
+     * @param completions Completions to add.
+     *
+     * @return The trie.
+     */
+    public static CompletionTrie of(Collection<String> completions) {
+        if (completions.isEmpty()) {
+            return EMPTY;
+        }
+
+        List<String> sorted = completions.stream()
+          .distinct()
+          .sorted(String.CASE_INSENSITIVE_ORDER)
+          .collect(Collectors.toList());
+
+        return new CompletionTrie(build(sorted, 0));
+    }
+
+    /**
+     * Finds every completion that starts with a prefix, ignoring case.
+     *
+     * @param prefix Prefix to complete.
+     *
+     * @return The matching completions, sorted ignoring case.
+     */
+    public List<String> complete(String prefix) {
+        Node node = this.root;
+
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(Character.toLowerCase(prefix.charAt(i)));
+        }
+
+        return node == null ? Collections.emptyList() : node.completions;
+    }
+
+    /**
+     * @return Every completion in this trie.
+     */
+    public List<String> getCompletions() {
+        return this.root.completions;
+    }
+
+    /**
+     * Builds the node for sorted completions that share their first {@param depth} characters, ignoring case.
+     */
+    private static Node build(List<String> sorted, int depth) {
+        TreeMap<Character, List<String>> branches = new TreeMap<>();
+
+        for (String completion : sorted) {
+            if (completion.length() > depth) {
+                branches.computeIfAbsent(Character.toLowerCase(completion.charAt(depth)), key -> new ArrayList<>()).add(completion);
+            }
+        }
+
+        char[] keys = new char[branches.size()];
+        Node[] children = new Node[branches.size()];
+        int index = 0;
+
+        for (Map.Entry<Character, List<String>> branch : branches.entrySet()) {
+            keys[index] = branch.getKey();
+            children[index++] = build(branch.getValue(), depth + 1);
+        }
+
+        return new Node(keys, children, ImmutableList.copyOf(sorted));
+    }
+
+    private static final class Node {
+
+        private final char[] keys;
+        private final Node[] children;
+        private final List<String> completions;
+
+        private Node(char[] keys, Node[] children, List<String> completions) {
+            this.keys = keys;
+            this.children = children;
+            this.completions = completions;
+        }
+
+        private Node child(char key) {
+            int index = Arrays.binarySearch(this.keys, key);
+
+            return index < 0 ? null : this.children[index];
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package io.obadiah.command.completion;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * An immutable index of words that finds the word closest to a misspelling by Levenshtein distance. Words are sorted
+ * by length, so only those within the maximum distance in length are considered, and each is indexed by the set of
+ * characters it contains. A single edit adds or removes at most two characters from that set, so half the size of the
+ * difference between two sets bounds their distance from below, and almost every word is rejected by one bit count
+ * before its distance is computed. Distances are computed row by row and abandoned once they exceed the closest match
+ * so far. Matching ignores case.
+ */
+@Immutable
+public final class FuzzyIndex {
+
+    private static final FuzzyIndex EMPTY = new FuzzyIndex(new String[0], new int[0], new int[] {0});
+
+    private final String[] words;
+    private final int[] masks;
+    private final int[] lengthStarts;
+
+    private FuzzyIndex(String[] words, int[] masks, int[] lengthStarts) {
+        this.words = words;
+        this.masks = masks;
+        this.lengthStarts = lengthStarts;
+    }
+
+    /**
+     * @return An index without any words.
+     */
+    public static FuzzyIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds an index of words. Words are lowercased and duplicates are removed.
+     *
+     * @param words Words to add.
+     *
+     * @return The index.
+     */
+    public static FuzzyIndex of(Collection<String> words) {
+        List<String> sorted = words.stream()
+          .map(word -> word.toLowerCase(Locale.ROOT))
+          .distinct()
+          .sorted(Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()))
+          .collect(Collectors.toList());
+
+        if (sorted.isEmpty()) {
+            return EMPTY;
+        }
+
+        String[] flatWords = sorted.toArray(new String[0]);
+        int[] masks = new int[flatWords.length];
+        int[] lengthStarts = new int[flatWords[flatWords.length - 1].length() + 2];
+
+        for (int i = 0; i < flatWords.length; i++) {
+            masks[i] = mask(flatWords[i]);
+        }
+
+        for (int length = 0, i = 0; length < lengthStarts.length; length++) {
+            while (i < flatWords.length && flatWords[i].length() < length) {
+                i++;
+            }
+
+            lengthStarts[length] = i;
+        }
+
+        return new FuzzyIndex(flatWords, masks, lengthStarts);
+    }
+
+    /**
+     * Obtains how far a query may be from a word to still be considered a misspelling of it: one edit for queries of up
+     * to five characters, two for longer ones.
+     *
+     * @param length Length of the query.
+     *
+     * @return The maximum distance.
+     */
+    public static int getMaxDistance(int length) {
+        return length <= 5 ? 1 : 2;
+    }
+
+    /**
+     * Finds the word closest to a query, within the maximum distance for the query's length.
+     *
+     * @param query Query to look up.
+     *
+     * @return The closest word, lowercased, or {@code null} if none is close enough.
+     */
+    @Nullable
+    public String closest(String query) {
+        return this.closest(query, getMaxDistance(query.length()), word -> true);
+    }
+
+    /**
+     * Finds the word closest to a query among the words a filter accepts. If several words are equally close, the
+     * first in alphabetical order is returned.
+     *
+     * @param query Query to look up.
+     * @param maxDistance The maximum amount of single character insertions, deletions and substitutions between the
+     * query and the word.
+     * @param filter Filter the word must pass, only tested for words within the maximum distance.
+     *
+     * @return The closest word, lowercased, or {@code null} if none is close enough.
+     */
+    @Nullable
+    public String closest(String query, int maxDistance, Predicate<String> filter) {
+        int length = query.length();
+
+        if (this.words.length == 0 || maxDistance < 0) {
+            return null;
+        }
+
+        int mask = mask(query);
+        char[] folded = null;
+        int[] previous = null;
+        int[] current = null;
+        String best = null;
+        int radius = maxDistance;
+
+        // Lengths closest to the query's first, as their words may be the closest and narrow the radius for the rest
+        for (int step = 0; step <= 2 * maxDistance; step++) {
+            int lengthDifference = (step + 1) / 2;
+            int wordLength = (step & 1) == 0 ? length + lengthDifference : length - lengthDifference;
+
+            if (lengthDifference > radius) {
+                break;
+            }
+
+            if (wordLength < 0 || wordLength + 1 >= this.lengthStarts.length) {
+                continue;
+            }
+
+            int maxBits = 2 * radius;
+
+            for (int i = this.lengthStarts[wordLength], end = this.lengthStarts[wordLength + 1]; i < end; i++) {
+                if (Integer.bitCount(this.masks[i] ^ mask) > maxBits) {
+                    continue;
+                }
+
+                if (folded == null) {
+                    folded = new char[length];
+                    previous = new int[length + 1];
+                    current = new int[length + 1];
+
+                    for (int j = 0; j < length; j++) {
+                        folded[j] = Character.toLowerCase(query.charAt(j));
+                    }
+                }
+
+                String word = this.words[i];
+                int distance = distance(word, folded, radius, previous, current);
+
+                if (distance <= radius && (best == null || distance < radius || word.compareTo(best) < 0) && filter.test(word)) {
+                    best = word;
+                    radius = distance;
+                    maxBits = 2 * radius;
+
+                    if (lengthDifference > radius) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * @return The amount of words in this index.
+     */
+    public int size() {
+        return this.words.length;
+    }
+
+    /**
+     * @return The set of characters in a word, lowercased and folded into 32 bits. Characters that share a bit only
+     * weaken the bound, never break it.
+     */
+    private static int mask(String word) {
+        int mask = 0;
+
+        for (int i = 0; i < word.length(); i++) {
+            mask |= 1 << Character.toLowerCase(word.charAt(i));
+        }
+
+        return mask;
+    }
+
+    /**
+     * Computes the Levenshtein distance between a lowercased word and a folded query, giving up once it must exceed a
+     * limit.
+     *
+     * @return The distance, or {@code limit + 1} if it exceeds the limit.
+     */
+    private static int distance(String word, char[] query, int limit, int[] previous, int[] current) {
+        for (int j = 0; j <= query.length; j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= word.length(); i++) {
+            char c = word.charAt(i - 1);
+            int rowMin = i;
+            current[0] = i;
+
+            for (int j = 1; j <= query.length; j++) {
+                int value = Math.min(Math.min(current[j - 1], previous[j]) + 1, previous[j - 1] + (query[j - 1] == c ? 0 : 1));
+                current[j] = value;
+
+                if (value < rowMin) {
+                    rowMin = value;
+                }
+            }
+
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return Math.min(previous[query.length], limit + 1);
+    }
+}
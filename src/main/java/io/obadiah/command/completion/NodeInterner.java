@@ -0,0 +1,187 @@
+package io.obadiah.command.completion;
+
+import com.mojang.brigadier.tree.ArgumentCommandNode;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Interns the nodes of Brigadier trees, so equal subtrees are built once and shared by every parent. Generated trees
+ * repeat the same subtrees many times over, such as the amount after each of hundreds of item names, or the arguments
+ * of a subcommand under each of its aliases.
+ *
+ * The nodes of the last interned tree are kept, so interning a tree regenerated from slightly changed data reuses the
+ * nodes of every subtree that did not change, and returns the very same root if nothing changed at all. Interned nodes
+ * are shared, so they must not be changed. Nodes are compared by their literal or argument type and by the identity of
+ * their command, requirement, redirect and suggestions, which are usually shared constants or method references.
+ */
+@NotThreadSafe
+public final class NodeInterner {
+
+    private Map<NodeKey, CommandNode<?>> previous;
+    private Map<NodeKey, CommandNode<?>> current;
+
+    /**
+     * Represents an interner that has not interned any tree.
+     */
+    public NodeInterner() {
+        this.previous = new HashMap<>();
+    }
+
+    /**
+     * Interns a tree, replacing the nodes of the last interned tree.
+     *
+     * @param root Root of the tree, which is left unchanged.
+     *
+     * @return The interned root of the tree.
+     */
+    @SuppressWarnings("unchecked")
+    public <S> LiteralCommandNode<S> intern(LiteralCommandNode<S> root) {
+        this.current = new HashMap<>(Math.max(16, this.previous.size() * 4 / 3));
+
+        try {
+            return (LiteralCommandNode<S>) this.internNode(root);
+        } finally {
+            this.previous = this.current;
+            this.current = null;
+        }
+    }
+
+    /**
+     * @return The amount of distinct nodes in the last interned tree.
+     */
+    public int size() {
+        return this.previous.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <S> CommandNode<S> internNode(CommandNode<S> node) {
+        Collection<CommandNode<S>> children = node.getChildren();
+        CommandNode<?>[] interned = new CommandNode<?>[children.size()];
+        int i = 0;
+
+        for (CommandNode<S> child : children) {
+            interned[i++] = this.internNode(child);
+        }
+
+        NodeKey key = new NodeKey(node, interned);
+        CommandNode<S> existing = (CommandNode<S>) this.current.get(key);
+
+        if (existing != null) {
+            return existing;
+        }
+
+        existing = (CommandNode<S>) this.previous.get(key);
+
+        if (existing == null) {
+            existing = copy(node);
+
+            for (CommandNode<?> child : interned) {
+                existing.addChild((CommandNode<S>) child);
+            }
+        }
+
+        this.current.put(key, existing);
+
+        return existing;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S> CommandNode<S> copy(CommandNode<S> node) {
+        if (node instanceof LiteralCommandNode) {
+            return new LiteralCommandNode<>(((LiteralCommandNode<S>) node).getLiteral(), node.getCommand(), node.getRequirement(), node.getRedirect(),
+              node.getRedirectModifier(), node.isFork());
+        }
+
+        if (node instanceof ArgumentCommandNode) {
+            ArgumentCommandNode<S, Object> argument = (ArgumentCommandNode<S, Object>) node;
+
+            return new ArgumentCommandNode<>(argument.getName(), argument.getType(), node.getCommand(), node.getRequirement(), node.getRedirect(),
+              node.getRedirectModifier(), node.isFork(), argument.getCustomSuggestions());
+        }
+
+        throw new IllegalArgumentException("Cannot intern a node of type " + node.getClass().getName() + "!");
+    }
+
+    /**
+     * What makes two nodes interchangeable: their own properties and their already interned children.
+     */
+    private static final class NodeKey {
+
+        private final Class<?> type;
+        private final String name;
+        private final Object argumentType;
+        private final Object[] identities;
+        private final CommandNode<?>[] children;
+        private final int hash;
+
+        private NodeKey(CommandNode<?> node, CommandNode<?>[] children) {
+            this.type = node.getClass();
+            this.name = node.getName();
+            this.argumentType = node instanceof ArgumentCommandNode ? ((ArgumentCommandNode<?, ?>) node).getType() : null;
+            this.identities = new Object[] {
+              node.getCommand(), node.getRequirement(), node.getRedirect(), node.getRedirectModifier(), node.isFork(),
+              node instanceof ArgumentCommandNode ? ((ArgumentCommandNode<?, ?>) node).getCustomSuggestions() : null
+            };
+            this.children = children;
+
+            int hash = 31 * this.type.hashCode() + this.name.hashCode();
+            hash = 31 * hash + Objects.hashCode(this.argumentType);
+
+            for (Object identity : this.identities) {
+                hash = 31 * hash + System.identityHashCode(identity);
+            }
+
+            for (CommandNode<?> child : children) {
+                hash = 31 * hash + System.identityHashCode(child);
+            }
+
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof NodeKey)) {
+                return false;
+            }
+
+            NodeKey key = (NodeKey) o;
+
+            if (this.hash != key.hash || this.type != key.type || !this.name.equals(key.name) || !Objects.equals(this.argumentType, key.argumentType)) {
+                return false;
+            }
+
+            for (int i = 0; i < this.identities.length; i++) {
+                if (this.identities[i] != key.identities[i]) {
+                    return false;
+                }
+            }
+
+            if (this.children.length != key.children.length) {
+                return false;
+            }
+
+            for (int i = 0; i < this.children.length; i++) {
+                if (this.children[i] != key.children[i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+}
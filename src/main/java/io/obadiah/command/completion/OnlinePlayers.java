@@ -0,0 +1,73 @@
+package io.obadiah.command.completion;
+
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * A snapshot of the online players, taken on the server thread whenever a player joins or leaves. Completions read the
+ * snapshot instead of the server's player list, which is only safe to read on the server thread, and find players by
+ * name without asking the server.
+ */
+@Immutable
+public final class OnlinePlayers {
+
+    private static volatile OnlinePlayers current = new OnlinePlayers(Collections.emptyList());
+
+    private final CompletionTrie names;
+    private final Map<String, Player> players;
+
+    private OnlinePlayers(Collection<? extends Player> players) {
+        List<String> names = players.stream()
+          .map(Player::getName)
+          .collect(Collectors.toList());
+
+        this.names = CompletionTrie.of(names);
+        this.players = new HashMap<>(Math.max(16, players.size() * 4 / 3));
+
+        for (Player player : players) {
+            this.players.put(player.getName().toLowerCase(Locale.ROOT), player);
+        }
+    }
+
+    /**
+     * @return The most recent snapshot.
+     */
+    public static OnlinePlayers get() {
+        return current;
+    }
+
+    /**
+     * Replaces the snapshot. Only called on the server thread, by CommandAPI as players join and leave.
+     *
+     * @param players Every online player.
+     */
+    public static void update(Collection<? extends Player> players) {
+        current = new OnlinePlayers(players);
+    }
+
+    /**
+     * @return The names of every player in this snapshot.
+     */
+    public CompletionTrie getNames() {
+        return this.names;
+    }
+
+    /**
+     * @param name Name of the player, ignoring case.
+     *
+     * @return The player, or {@code null} if they were not online when this snapshot was taken.
+     */
+    @Nullable
+    public Player getPlayer(String name) {
+        return this.players.get(name.toLowerCase(Locale.ROOT));
+    }
+}
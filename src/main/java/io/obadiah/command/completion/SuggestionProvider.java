@@ -0,0 +1,36 @@
+package io.obadiah.command.completion;
+
+import org.bukkit.command.CommandSender;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Supplies the suggestions for a typed argument, see {@link SuggestionProviders} for the built-in providers.
+ */
+@FunctionalInterface
+public interface SuggestionProvider {
+
+    /**
+     * @param sender The sender requesting suggestions.
+     *
+     * @return Every suggestion available to the sender.
+     */
+    Collection<String> getSuggestions(CommandSender sender);
+
+    /**
+     * Finds the suggestions that start with a prefix, ignoring case. Providers backed by a {@link CompletionTrie}
+     * override this to avoid filtering every suggestion.
+     *
+     * @param sender The sender requesting suggestions.
+     * @param prefix The input typed so far.
+     *
+     * @return The matching suggestions.
+     */
+    default List<String> complete(CommandSender sender, String prefix) {
+        return this.getSuggestions(sender).stream()
+          .filter(suggestion -> suggestion.regionMatches(true, 0, prefix, 0, prefix.length()))
+          .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,182 @@
+package io.obadiah.command.completion;
+
+import io.obadiah.command.CommandExecutors;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * The built-in suggestion providers.
+ */
+@ThreadSafe
+public final class SuggestionProviders {
+
+    /**
+     * The names of every online player the sender can see, read from the snapshot taken as players join and leave.
+     */
+    public static final SuggestionProvider ONLINE_PLAYERS = new SuggestionProvider() {
+        @Override
+        public Collection<String> getSuggestions(CommandSender sender) {
+            OnlinePlayers players = OnlinePlayers.get();
+
+            return filterVisible(sender, players, players.getNames().getCompletions());
+        }
+
+        @Override
+        public List<String> complete(CommandSender sender, String prefix) {
+            OnlinePlayers players = OnlinePlayers.get();
+
+            return filterVisible(sender, players, players.getNames().complete(prefix));
+        }
+    };
+
+    private SuggestionProviders() {}
+
+    /**
+     * Creates a provider for a fixed set of suggestions.
+     *
+     * @param suggestions Suggestions to provide.
+     *
+     * @return The provider.
+     */
+    public static SuggestionProvider of(String... suggestions) {
+        return of(Arrays.asList(suggestions));
+    }
+
+    /**
+     * Creates a provider for a fixed set of suggestions.
+     *
+     * @param suggestions Suggestions to provide.
+     *
+     * @return The provider.
+     */
+    public static SuggestionProvider of(Collection<String> suggestions) {
+        CompletionTrie trie = CompletionTrie.of(suggestions);
+
+        return new SuggestionProvider() {
+            @Override
+            public Collection<String> getSuggestions(CommandSender sender) {
+                return trie.getCompletions();
+            }
+
+            @Override
+            public List<String> complete(CommandSender sender, String prefix) {
+                return trie.complete(prefix);
+            }
+        };
+    }
+
+    /**
+     * Narrows the player names of a provider to the players the sender can see, as Bukkit's own completion does, so
+     * vanished players are not suggested. Players are found in the snapshot of online players, so names of players
+     * that are not online are dropped. Senders other than players see every name.
+     *
+     * @param names Provider of player names, which may be shared by every sender.
+     *
+     * @return The filtering provider.
+     */
+    public static SuggestionProvider visiblePlayers(SuggestionProvider names) {
+        return new SuggestionProvider() {
+            @Override
+            public Collection<String> getSuggestions(CommandSender sender) {
+                return filterVisible(sender, OnlinePlayers.get(), names.getSuggestions(sender));
+            }
+
+            @Override
+            public List<String> complete(CommandSender sender, String prefix) {
+                return filterVisible(sender, OnlinePlayers.get(), names.complete(sender, prefix));
+            }
+        };
+    }
+
+    /**
+     * Caches the suggestions of an expensive provider, such as one backed by a database. The provider is asked again on
+     * the default executor once the cached suggestions are older than the time to live; until the refresh completes,
+     * the stale suggestions are used, and none before the first one completes. The provider is queried without a
+     * particular sender in mind, so it must return the same suggestions for everyone.
+     *
+     * @param provider Provider to cache.
+     * @param ttl How long the suggestions are cached for.
+     * @param unit The unit of the {@param ttl} parameter.
+     *
+     * @return The caching provider.
+     */
+    public static SuggestionProvider cached(SuggestionProvider provider, long ttl, TimeUnit unit) {
+        return new CachedSuggestionProvider(provider, unit.toNanos(ttl));
+    }
+
+    private static List<String> filterVisible(CommandSender sender, OnlinePlayers players, Collection<String> names) {
+        if (!(sender instanceof Player)) {
+            return names instanceof List ? (List<String>) names : new ArrayList<>(names);
+        }
+
+        Player viewer = (Player) sender;
+
+        return names.stream()
+          .filter(name -> {
+              Player player = players.getPlayer(name);
+
+              return player != null && viewer.canSee(player);
+          })
+          .collect(Collectors.toList());
+    }
+
+    private static final class CachedSuggestionProvider implements SuggestionProvider {
+
+        private final SuggestionProvider provider;
+        private final long ttlNanos;
+        private final AtomicBoolean refreshing;
+
+        private volatile CompletionTrie trie;
+        private volatile long expiresAt;
+
+        private CachedSuggestionProvider(SuggestionProvider provider, long ttlNanos) {
+            this.provider = provider;
+            this.ttlNanos = ttlNanos;
+            this.refreshing = new AtomicBoolean();
+        }
+
+        @Override
+        public Collection<String> getSuggestions(CommandSender sender) {
+            return this.getTrie(sender).getCompletions();
+        }
+
+        @Override
+        public List<String> complete(CommandSender sender, String prefix) {
+            return this.getTrie(sender).complete(prefix);
+        }
+
+        private CompletionTrie getTrie(CommandSender sender) {
+            CompletionTrie trie = this.trie;
+
+            if ((trie == null || System.nanoTime() - this.expiresAt > 0) && this.refreshing.compareAndSet(false, true)) {
+                try {
+                    CompletableFuture.supplyAsync(() -> CompletionTrie.of(this.provider.getSuggestions(sender)), CommandExecutors.defaultExecutor())
+                      .whenComplete((refreshed, throwable) -> {
+                          // A failed refresh keeps the stale suggestions for another time to live rather than retrying on every keystroke
+                          if (refreshed != null) {
+                              this.trie = refreshed;
+                          }
+
+                          this.expiresAt = System.nanoTime() + this.ttlNanos;
+                          this.refreshing.set(false);
+                      });
+                } catch (RejectedExecutionException e) {
+                    this.refreshing.set(false);
+                }
+            }
+
+            return trie == null ? CompletionTrie.empty() : trie;
+        }
+    }
+}
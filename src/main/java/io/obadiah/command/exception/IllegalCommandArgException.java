@@ -9,9 +9,17 @@ public final class IllegalCommandArgException extends Exception {
     private final String argumentName;
     private final Class<?> requiredType;
 
-    public IllegalCommandArgException(String argumentName, Class<?> requiredType) throws NoSuchFieldException, IllegalAccessException {
+    /**
+     * Signals that an argument could not be converted to the type a command requires. No stack trace is captured, as
+     * this describes bad input rather than a bug. Prefer declaring typed arguments on the command, which report bad
+     * input without throwing.
+     *
+     * @param argumentName Name of the argument.
+     * @param requiredType The type the argument must be convertible to.
+     */
+    public IllegalCommandArgException(String argumentName, Class<?> requiredType) {
         super("Incorrect argument type for, " + argumentName + ". Required type: " +
-          (requiredType.isEnum() ? Arrays.toString((Enum[]) requiredType.getDeclaredField("$VALUES").get(null)) : requiredType.getSimpleName()));
+          (requiredType.isEnum() ? Arrays.toString(requiredType.getEnumConstants()) : requiredType.getSimpleName()), null, false, false);
 
         this.argumentName = argumentName;
         this.requiredType = requiredType;
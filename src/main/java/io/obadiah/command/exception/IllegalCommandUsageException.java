@@ -9,10 +9,20 @@ public final class IllegalCommandUsageException extends Exception {
 
     private final String usage;
 
+    /**
+     * Signals that a command was used incorrectly. No stack trace is captured, as this describes bad input rather than
+     * a bug.
+     *
+     * @param command The command that was used incorrectly.
+     */
     public IllegalCommandUsageException(Command command) {
-        super("Incorrect command usage for " + command.getName() + "! Correct usage: " + command.getUsage());
+        this(command.getName(), command.getUsage());
+    }
+
+    private IllegalCommandUsageException(String name, String usage) {
+        super("Incorrect command usage for " + name + "! Correct usage: " + usage, null, false, false);
 
-        this.usage = command.getUsage();
+        this.usage = usage;
     }
 
     public String getUsage() {
@@ -0,0 +1,93 @@
+package io.obadiah.command.forward;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.obadiah.command.CommandSource;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A command invocation forwarded to another node: the path of the command, its arguments, and the identity of the
+ * sender, including the permission nodes the sender was verified to hold before the invocation was forwarded.
+ */
+@Immutable
+public final class CommandEnvelope {
+
+    private final String path;
+    private final List<String> args;
+    private final String sender;
+    private final UUID uniqueId;
+    private final CommandSource source;
+    private final Set<String> permissions;
+
+    /**
+     * Represents a forwarded invocation.
+     *
+     * @param path The path of the command, such as {@code "warp set"}.
+     * @param args The arguments that belong to the command.
+     * @param sender The name of the sender.
+     * @param uniqueId The unique id of the sender, or {@code null} if it is not an entity.
+     * @param source The source of the sender.
+     * @param permissions The permission nodes the sender holds on the node that forwarded the invocation.
+     */
+    public CommandEnvelope(String path, List<String> args, String sender, @Nullable UUID uniqueId, CommandSource source, Set<String> permissions) {
+        this.path = path;
+        this.args = ImmutableList.copyOf(args);
+        this.sender = sender;
+        this.uniqueId = uniqueId;
+        this.source = source;
+        this.permissions = ImmutableSet.copyOf(permissions);
+    }
+
+    /**
+     * @return The path of the command, such as {@code "warp set"}.
+     */
+    public String getPath() {
+        return this.path;
+    }
+
+    /**
+     * @return The arguments that belong to the command.
+     */
+    public List<String> getArgs() {
+        return this.args;
+    }
+
+    /**
+     * @return The name of the sender.
+     */
+    public String getSender() {
+        return this.sender;
+    }
+
+    /**
+     * @return The unique id of the sender, or {@code null} if it is not an entity.
+     */
+    @Nullable
+    public UUID getUniqueId() {
+        return this.uniqueId;
+    }
+
+    /**
+     * @return The source of the sender.
+     */
+    public CommandSource getSource() {
+        return this.source;
+    }
+
+    /**
+     * @return The permission nodes the sender holds on the node that forwarded the invocation.
+     */
+    public Set<String> getPermissions() {
+        return this.permissions;
+    }
+
+    @Override
+    public String toString() {
+        return "CommandEnvelope{path=" + this.path + ", args=" + this.args + ", sender=" + this.sender + ", source=" + this.source + "}";
+    }
+}
@@ -0,0 +1,408 @@
+package io.obadiah.command.forward;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.obadiah.command.Command;
+import io.obadiah.command.CommandAPI;
+import io.obadiah.command.CommandExecutors;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Forwards invocations of commands to the node that owns their data, and executes the invocations other nodes forward
+ * to this one. Invocations are routed by key with rendezvous hashing, so keys spread evenly across the nodes and only
+ * the keys of a node that joins or leaves move. Messages to the same node are batched into one frame for a short
+ * linger, and any number of invocations may be awaiting their replies at once, correlated by id.
+ *
+ * Commands opt in through {@link Command#setForwardingKey(ForwardingKey)}, and forwarding is enabled by
+ * {@link CommandAPI#setForwarder(CommandForwarder)}. Every node must register the same commands.
+ */
+@ThreadSafe
+public final class CommandForwarder implements Closeable {
+
+    private static final String TIMEOUT_MESSAGE = ChatColor.RED + "The server that handles this command did not respond, please try again shortly!";
+    private static final String UNAVAILABLE_MESSAGE = ChatColor.RED + "This command is not available right now, please try again shortly!";
+
+    private final CommandTransport transport;
+    private final String nodeId;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final long timeoutNanos;
+    private final Logger logger;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong ids;
+    private final ConcurrentMap<Long, Pending> pending;
+    private final ConcurrentMap<String, Outbox> outboxes;
+
+    private volatile boolean closed;
+
+    /**
+     * Represents a forwarder that batches for up to a millisecond, 64 messages at a time, and waits 5 seconds for
+     * each reply.
+     *
+     * @param transport Transport to send and receive frames through, closed along with this forwarder.
+     * @param logger Logger to report transport failures to.
+     */
+    public CommandForwarder(CommandTransport transport, Logger logger) {
+        this(transport, 64, 1, TimeUnit.MILLISECONDS, 5, TimeUnit.SECONDS, logger);
+    }
+
+    /**
+     * Represents a forwarder.
+     *
+     * @param transport Transport to send and receive frames through, closed along with this forwarder.
+     * @param maxBatchSize The maximum amount of messages sent in one frame.
+     * @param linger How long messages wait for others to the same node before they are sent.
+     * @param lingerUnit The unit of the {@param linger} parameter.
+     * @param timeout How long to wait for the reply to a forwarded invocation.
+     * @param timeoutUnit The unit of the {@param timeout} parameter.
+     * @param logger Logger to report transport failures to.
+     *
+     * @throws IllegalArgumentException If the {@param maxBatchSize} or {@param timeout} parameters are below 1, or the
+     * {@param linger} parameter is below 0.
+     */
+    public CommandForwarder(CommandTransport transport, int maxBatchSize, long linger, TimeUnit lingerUnit, long timeout, TimeUnit timeoutUnit, Logger logger) {
+        if (maxBatchSize < 1 || timeout < 1 || linger < 0) {
+            throw new IllegalArgumentException("Maximum batch size and timeout cannot be set below 1, nor linger below 0!");
+        }
+
+        this.transport = transport;
+        this.nodeId = transport.getNodeId();
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = lingerUnit.toNanos(linger);
+        this.timeoutNanos = timeoutUnit.toNanos(timeout);
+        this.logger = logger;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+          .setNameFormat("CommandAPI Forwarder")
+          .setDaemon(true)
+          .build());
+        this.ids = new AtomicLong();
+        this.pending = new ConcurrentHashMap<>();
+        this.outboxes = new ConcurrentHashMap<>();
+
+        long sweep = Math.min(this.timeoutNanos, TimeUnit.MILLISECONDS.toNanos(100));
+        this.scheduler.scheduleWithFixedDelay(this::expire, sweep, sweep, TimeUnit.NANOSECONDS);
+
+        transport.setReceiver(this::receive);
+    }
+
+    /**
+     * @return The id of this node.
+     */
+    public String getNodeId() {
+        return this.nodeId;
+    }
+
+    /**
+     * Chooses the node that owns a key, among the nodes the transport can currently reach.
+     *
+     * @param key Key to route, such as the unique id of a player.
+     *
+     * @return The id of the node, which is this node if no other node can be reached.
+     */
+    public String route(Object key) {
+        long hash = key.hashCode();
+        String best = this.nodeId;
+        long bestScore = Long.MIN_VALUE;
+
+        for (String node : this.transport.getNodes()) {
+            long score = mix(node.hashCode() * 0x9E3779B97F4A7C15L + hash);
+
+            if (score > bestScore || (score == bestScore && node.compareTo(best) < 0)) {
+                best = node;
+                bestScore = score;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Forwards an invocation to a node.
+     *
+     * @param node Id of the node to forward to.
+     * @param envelope The invocation.
+     *
+     * @return A future that completes with the reply of the node, or exceptionally if the invocation could not be sent
+     * or no reply arrived in time.
+     */
+    public CompletableFuture<CommandReply> send(String node, CommandEnvelope envelope) {
+        CompletableFuture<CommandReply> future = new CompletableFuture<>();
+
+        if (this.closed) {
+            future.completeExceptionally(new IllegalStateException("The forwarder has been closed!"));
+            return future;
+        }
+
+        long id = this.ids.incrementAndGet();
+
+        this.pending.put(id, new Pending(future, System.nanoTime() + this.timeoutNanos));
+        this.enqueue(node, new EnvelopeCodec.Request(id, envelope));
+
+        return future;
+    }
+
+    /**
+     * Forwards an invocation to a node, relaying the messages the command sends back to the original sender. If the
+     * node does not reply, the sender is told to try again.
+     *
+     * @param node Id of the node to forward to.
+     * @param envelope The invocation.
+     * @param sender The original sender.
+     *
+     * @return A future that completes once the messages have been relayed.
+     */
+    public CompletableFuture<Void> forward(String node, CommandEnvelope envelope, CommandSender sender) {
+        return this.send(node, envelope).handle((reply, throwable) -> {
+            List<String> messages;
+
+            if (throwable != null) {
+                Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+                messages = Collections.singletonList(cause instanceof TimeoutException ? TIMEOUT_MESSAGE : UNAVAILABLE_MESSAGE);
+            } else if (reply.getStatus() == CommandReply.Status.UNKNOWN_COMMAND) {
+                messages = Collections.singletonList(UNAVAILABLE_MESSAGE);
+            } else {
+                messages = reply.getMessages();
+            }
+
+            if (!messages.isEmpty()) {
+                CommandExecutors.mainThread().execute(() -> messages.forEach(sender::sendMessage));
+            }
+
+            return null;
+        });
+    }
+
+    /**
+     * @return The amount of forwarded invocations awaiting their replies.
+     */
+    public int getPendingCount() {
+        return this.pending.size();
+    }
+
+    /**
+     * Stops forwarding, fails every invocation still awaiting its reply, and closes the transport.
+     */
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+
+        this.closed = true;
+        this.scheduler.shutdownNow();
+
+        for (Iterator<Pending> iterator = this.pending.values().iterator(); iterator.hasNext(); ) {
+            iterator.next().future.completeExceptionally(new IllegalStateException("The forwarder has been closed!"));
+            iterator.remove();
+        }
+
+        try {
+            this.transport.close();
+        } catch (IOException e) {
+            this.logger.log(Level.WARNING, "Could not close the command transport", e);
+        }
+    }
+
+    private void enqueue(String node, Object message) {
+        Outbox outbox = this.outboxes.computeIfAbsent(node, Outbox::new);
+        outbox.messages.add(message);
+
+        if (outbox.scheduled.compareAndSet(false, true)) {
+            try {
+                this.scheduler.schedule(() -> this.flush(outbox), this.lingerNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                outbox.scheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Sends every message queued for a node, in frames of up to the maximum batch size.
+     */
+    private void flush(Outbox outbox) {
+        outbox.scheduled.set(false);
+
+        List<Object> batch = new ArrayList<>(this.maxBatchSize);
+
+        while (true) {
+            Object message;
+
+            while (batch.size() < this.maxBatchSize && (message = outbox.messages.poll()) != null) {
+                batch.add(message);
+            }
+
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                this.transport.send(outbox.node, EnvelopeCodec.encode(batch));
+            } catch (IOException | RuntimeException e) {
+                this.logger.log(Level.WARNING, "Could not forward " + batch.size() + " messages to " + outbox.node, e);
+
+                for (Object failed : batch) {
+                    if (failed instanceof EnvelopeCodec.Request) {
+                        Pending pending = this.pending.remove(((EnvelopeCodec.Request) failed).id);
+
+                        if (pending != null) {
+                            pending.future.completeExceptionally(e);
+                        }
+                    }
+                }
+            }
+
+            batch.clear();
+        }
+    }
+
+    private void receive(String node, byte[] frame) {
+        List<Object> messages;
+
+        try {
+            messages = EnvelopeCodec.decode(frame);
+        } catch (IllegalArgumentException e) {
+            this.logger.log(Level.WARNING, "Discarded a malformed frame from " + node, e);
+            return;
+        }
+
+        for (Object message : messages) {
+            if (message instanceof EnvelopeCodec.Request) {
+                this.execute(node, (EnvelopeCodec.Request) message);
+            } else {
+                CommandReply reply = (CommandReply) message;
+                Pending pending = this.pending.remove(reply.getId());
+
+                if (pending != null) {
+                    pending.future.complete(reply);
+                }
+            }
+        }
+    }
+
+    /**
+     * Dispatches an invocation forwarded by another node on the server thread, then replies with the messages the
+     * command sent. Asynchronous commands send their messages through tasks queued on the server thread, so the reply
+     * is queued behind them once the invocation completes.
+     */
+    private void execute(String node, EnvelopeCodec.Request request) {
+        Command command = resolve(request.envelope.getPath());
+
+        if (command == null) {
+            this.enqueue(node, new CommandReply(request.id, CommandReply.Status.UNKNOWN_COMMAND, Collections.emptyList()));
+            return;
+        }
+
+        RemoteCommandSender sender = new RemoteCommandSender(node, request.envelope);
+        String[] args = request.envelope.getArgs().toArray(new String[0]);
+
+        CommandExecutors.mainThread().execute(() -> command.dispatch(sender, args).whenComplete((result, throwable) ->
+          CommandExecutors.nextTick().execute(() -> this.enqueue(node, new CommandReply(request.id,
+            throwable == null ? CommandReply.Status.DISPATCHED : CommandReply.Status.FAILED, sender.getMessages())))));
+    }
+
+    /**
+     * Fails every forwarded invocation whose reply is overdue.
+     */
+    private void expire() {
+        long now = System.nanoTime();
+
+        for (Map.Entry<Long, Pending> entry : this.pending.entrySet()) {
+            Pending pending = entry.getValue();
+
+            if (now - pending.deadline > 0 && this.pending.remove(entry.getKey(), pending)) {
+                pending.future.completeExceptionally(new TimeoutException("No reply to forwarded invocation " + entry.getKey() + " within " +
+                  TimeUnit.NANOSECONDS.toMillis(this.timeoutNanos) + "ms!"));
+            }
+        }
+    }
+
+    /**
+     * Finds a registered command by its path.
+     */
+    @Nullable
+    private static Command resolve(String path) {
+        String[] labels = path.split(" ");
+        Command command = null;
+
+        for (Command root : CommandAPI.getRegisteredCommands()) {
+            if (root.getName().equalsIgnoreCase(labels[0])) {
+                command = root;
+                break;
+            }
+        }
+
+        for (int i = 1; i < labels.length && command != null; i++) {
+            command = command.getSubCommand(labels[i]);
+        }
+
+        return command;
+    }
+
+    /**
+     * The finalizer of MurmurHash3, which spreads every bit of the input across the output.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+
+        return value;
+    }
+
+    /**
+     * A forwarded invocation awaiting its reply.
+     */
+    private static final class Pending {
+
+        private final CompletableFuture<CommandReply> future;
+        private final long deadline;
+
+        private Pending(CompletableFuture<CommandReply> future, long deadline) {
+            this.future = future;
+            this.deadline = deadline;
+        }
+    }
+
+    /**
+     * The messages waiting to be sent to a node, flushed once per linger.
+     */
+    private static final class Outbox {
+
+        private final String node;
+        private final Queue<Object> messages;
+        private final AtomicBoolean scheduled;
+
+        private Outbox(String node) {
+            this.node = node;
+            this.messages = new ConcurrentLinkedQueue<>();
+            this.scheduled = new AtomicBoolean();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package io.obadiah.command.forward;
+
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.List;
+
+/**
+ * The reply to a forwarded invocation, carrying every message the command sent to its sender on the node that
+ * executed it.
+ */
+@Immutable
+public final class CommandReply {
+
+    private final long id;
+    private final Status status;
+    private final List<String> messages;
+
+    CommandReply(long id, Status status, List<String> messages) {
+        this.id = id;
+        this.status = status;
+        this.messages = ImmutableList.copyOf(messages);
+    }
+
+    /**
+     * @return How the forwarded invocation ended.
+     */
+    public Status getStatus() {
+        return this.status;
+    }
+
+    /**
+     * @return The messages the command sent to its sender, in the order they were sent.
+     */
+    public List<String> getMessages() {
+        return this.messages;
+    }
+
+    /**
+     * @return The id of the request this replies to.
+     */
+    long getId() {
+        return this.id;
+    }
+
+    @Override
+    public String toString() {
+        return "CommandReply{status=" + this.status + ", messages=" + this.messages + "}";
+    }
+
+    /**
+     * How a forwarded invocation ended.
+     */
+    public enum Status {
+
+        /**
+         * The command was dispatched, and either executed or was rejected by its checks.
+         */
+        DISPATCHED,
+
+        /**
+         * The command was dispatched and completed exceptionally.
+         */
+        FAILED,
+
+        /**
+         * The node has no command at the forwarded path.
+         */
+        UNKNOWN_COMMAND
+    }
+}
@@ -0,0 +1,57 @@
+package io.obadiah.command.forward;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Carries frames of forwarded invocations and replies between the nodes of a network, such as over a message broker
+ * or plugin messaging. Frames are opaque bytes; implementations only need to deliver each frame whole and, between
+ * any two nodes, in the order it was sent. See {@link LoopbackTransport} for an in-memory implementation.
+ *
+ * A forwarded invocation runs with the permissions the sending node vouches for, so implementations must authenticate
+ * every peer, such as with mutual TLS or a broker that only accepts credentialed nodes, and only hand a frame to the
+ * receiver under the id of the node it was authenticated as. Frames from unauthenticated peers must be dropped.
+ */
+public interface CommandTransport extends Closeable {
+
+    /**
+     * @return The id of this node, unique within the network.
+     */
+    String getNodeId();
+
+    /**
+     * @return The ids of every node invocations can currently be forwarded to, including this node.
+     */
+    List<String> getNodes();
+
+    /**
+     * Sets the receiver of every frame sent to this node. Called once, before any frame is sent.
+     *
+     * @param receiver Receiver of the frames.
+     */
+    void setReceiver(Receiver receiver);
+
+    /**
+     * Sends a frame to a node without waiting for it to be delivered.
+     *
+     * @param node Id of the node to send to.
+     * @param frame The frame, which must not be changed afterwards.
+     *
+     * @throws IOException If the frame could not be sent.
+     */
+    void send(String node, byte[] frame) throws IOException;
+
+    /**
+     * Receives the frames sent to a node.
+     */
+    @FunctionalInterface
+    interface Receiver {
+
+        /**
+         * @param node Authenticated id of the node that sent the frame.
+         * @param frame The frame.
+         */
+        void receive(String node, byte[] frame);
+    }
+}
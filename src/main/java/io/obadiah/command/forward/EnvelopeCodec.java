@@ -0,0 +1,206 @@
+package io.obadiah.command.forward;
+
+import io.obadiah.command.CommandSource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Encodes batches of requests and replies into the frames sent between nodes. A frame is a version byte and a count,
+ * followed by each message as a tag byte and its fields. Integers are unsigned variable-length, strings are UTF-8
+ * prefixed by their length, so a typical request fits in well under a hundred bytes.
+ */
+final class EnvelopeCodec {
+
+    private static final int VERSION = 1;
+    private static final int REQUEST = 1;
+    private static final int REPLY = 2;
+
+    private static final CommandSource[] SOURCES = CommandSource.values();
+    private static final CommandReply.Status[] STATUSES = CommandReply.Status.values();
+
+    private EnvelopeCodec() {}
+
+    /**
+     * Encodes a batch of messages into a frame.
+     *
+     * @param messages The {@link Request}s and {@link CommandReply}s to encode.
+     *
+     * @return The frame.
+     */
+    static byte[] encode(Collection<?> messages) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * messages.size());
+
+        out.write(VERSION);
+        writeVarLong(out, messages.size());
+
+        for (Object message : messages) {
+            if (message instanceof Request) {
+                Request request = (Request) message;
+                CommandEnvelope envelope = request.envelope;
+
+                out.write(REQUEST);
+                writeVarLong(out, request.id);
+                writeString(out, envelope.getPath());
+                writeStrings(out, envelope.getArgs());
+                writeString(out, envelope.getSender());
+
+                UUID uniqueId = envelope.getUniqueId();
+                out.write(uniqueId == null ? 0 : 1);
+
+                if (uniqueId != null) {
+                    writeLong(out, uniqueId.getMostSignificantBits());
+                    writeLong(out, uniqueId.getLeastSignificantBits());
+                }
+
+                out.write(envelope.getSource().ordinal());
+                writeStrings(out, envelope.getPermissions());
+            } else {
+                CommandReply reply = (CommandReply) message;
+
+                out.write(REPLY);
+                writeVarLong(out, reply.getId());
+                out.write(reply.getStatus().ordinal());
+                writeStrings(out, reply.getMessages());
+            }
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a frame.
+     *
+     * @param frame The frame.
+     *
+     * @return The {@link Request}s and {@link CommandReply}s it contains, in the order they were encoded.
+     *
+     * @throws IllegalArgumentException If the frame is malformed or of an unknown version.
+     */
+    static List<Object> decode(byte[] frame) {
+        ByteBuffer in = ByteBuffer.wrap(frame);
+
+        try {
+            int version = in.get();
+
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unknown frame version, " + version + "!");
+            }
+
+            int count = (int) readVarLong(in);
+            List<Object> messages = new ArrayList<>(Math.min(count, in.remaining()));
+
+            for (int i = 0; i < count; i++) {
+                int tag = in.get();
+                long id = readVarLong(in);
+
+                if (tag == REQUEST) {
+                    String path = readString(in);
+                    List<String> args = readStrings(in);
+                    String sender = readString(in);
+                    UUID uniqueId = in.get() == 0 ? null : new UUID(in.getLong(), in.getLong());
+                    CommandSource source = SOURCES[in.get()];
+                    Set<String> permissions = new HashSet<>(readStrings(in));
+
+                    messages.add(new Request(id, new CommandEnvelope(path, args, sender, uniqueId, source, permissions)));
+                } else if (tag == REPLY) {
+                    CommandReply.Status status = STATUSES[in.get()];
+
+                    messages.add(new CommandReply(id, status, readStrings(in)));
+                } else {
+                    throw new IllegalArgumentException("Unknown message tag, " + tag + "!");
+                }
+            }
+
+            return messages;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Malformed frame of " + frame.length + " bytes!", e);
+        }
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IllegalArgumentException("Malformed variable-length integer!");
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        writeVarLong(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = (int) readVarLong(in);
+        String value = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static void writeStrings(ByteArrayOutputStream out, Collection<String> values) {
+        writeVarLong(out, values.size());
+
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readStrings(ByteBuffer in) {
+        int count = (int) readVarLong(in);
+        List<String> values = new ArrayList<>(Math.min(count, in.remaining()));
+
+        for (int i = 0; i < count; i++) {
+            values.add(readString(in));
+        }
+
+        return values;
+    }
+
+    /**
+     * A forwarded invocation and the id its reply is correlated by.
+     */
+    static final class Request {
+
+        final long id;
+        final CommandEnvelope envelope;
+
+        Request(long id, CommandEnvelope envelope) {
+            this.id = id;
+            this.envelope = envelope;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package io.obadiah.command.forward;
+
+import io.obadiah.command.CommandArguments;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+
+import javax.annotation.Nullable;
+
+/**
+ * Chooses the key an invocation of a command is routed by, such as the unique id of the player whose data the command
+ * changes. Invocations with equal keys are always forwarded to the same node while the nodes do not change.
+ */
+@FunctionalInterface
+public interface ForwardingKey {
+
+    /**
+     * Routes by the sender, so each player's invocations run on the same node. Entities are routed by their unique id,
+     * other senders by their name.
+     */
+    ForwardingKey SENDER = (sender, args) -> sender instanceof Entity ? ((Entity) sender).getUniqueId() : sender.getName();
+
+    /**
+     * @param sender The sender of the command.
+     * @param args The parsed arguments of the command.
+     *
+     * @return The key to route by, or {@code null} to execute the command on this node.
+     */
+    @Nullable
+    Object getKey(CommandSender sender, CommandArguments args);
+}
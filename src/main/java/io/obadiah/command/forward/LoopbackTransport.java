@@ -0,0 +1,110 @@
+package io.obadiah.command.forward;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A transport between nodes in the same process, for tests and for trying out forwarding on a single server. Each
+ * node delivers the frames sent to it in order on its own thread, as a network transport would.
+ */
+@ThreadSafe
+public final class LoopbackTransport implements CommandTransport {
+
+    private final Network network;
+    private final String nodeId;
+    private final ExecutorService delivery;
+
+    private volatile Receiver receiver;
+
+    private LoopbackTransport(Network network, String nodeId) {
+        this.network = network;
+        this.nodeId = nodeId;
+        this.delivery = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+          .setNameFormat("CommandAPI Loopback " + nodeId.replace("%", "%%"))
+          .setDaemon(true)
+          .build());
+    }
+
+    @Override
+    public String getNodeId() {
+        return this.nodeId;
+    }
+
+    @Override
+    public List<String> getNodes() {
+        return ImmutableList.copyOf(this.network.nodes.keySet());
+    }
+
+    @Override
+    public void setReceiver(Receiver receiver) {
+        this.receiver = receiver;
+    }
+
+    @Override
+    public void send(String node, byte[] frame) throws IOException {
+        LoopbackTransport target = this.network.nodes.get(node);
+
+        if (target == null) {
+            throw new IOException("There is no node, " + node + ", on the loopback network!");
+        }
+
+        try {
+            target.delivery.execute(() -> {
+                Receiver receiver = target.receiver;
+
+                if (receiver != null) {
+                    receiver.receive(this.nodeId, frame);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw new IOException("The node, " + node + ", has left the loopback network!", e);
+        }
+    }
+
+    /**
+     * Leaves the network and stops delivering frames.
+     */
+    @Override
+    public void close() {
+        this.network.nodes.remove(this.nodeId, this);
+        this.delivery.shutdown();
+    }
+
+    /**
+     * A set of nodes in the same process that can send frames to each other.
+     */
+    @ThreadSafe
+    public static final class Network {
+
+        private final Map<String, LoopbackTransport> nodes = new ConcurrentHashMap<>();
+
+        /**
+         * Adds a node to this network.
+         *
+         * @param nodeId Id of the node.
+         *
+         * @return The transport of the node.
+         *
+         * @throws IllegalArgumentException If the network already has a node with the same id.
+         */
+        public LoopbackTransport join(String nodeId) {
+            LoopbackTransport transport = new LoopbackTransport(this, nodeId);
+
+            if (this.nodes.putIfAbsent(nodeId, transport) != null) {
+                transport.delivery.shutdown();
+                throw new IllegalArgumentException("The loopback network already has a node, " + nodeId + "!");
+            }
+
+            return transport;
+        }
+    }
+}
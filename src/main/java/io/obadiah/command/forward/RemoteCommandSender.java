@@ -0,0 +1,165 @@
+package io.obadiah.command.forward;
+
+import io.obadiah.command.CommandSource;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.command.CommandSender;
+import org.bukkit.permissions.Permission;
+import org.bukkit.permissions.PermissionAttachment;
+import org.bukkit.permissions.PermissionAttachmentInfo;
+import org.bukkit.plugin.Plugin;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The sender of an invocation forwarded from another node. It resolves to {@link CommandSource#REMOTE}, which is
+ * always permission checked whatever the original sender was, holds exactly the permission nodes the sending node
+ * vouched for, and collects the messages sent to it so they can be relayed back to the original sender.
+ */
+@ThreadSafe
+public final class RemoteCommandSender implements CommandSender {
+
+    private final String node;
+    private final CommandEnvelope envelope;
+    private final List<String> messages;
+
+    RemoteCommandSender(String node, CommandEnvelope envelope) {
+        this.node = node;
+        this.envelope = envelope;
+        this.messages = new ArrayList<>();
+    }
+
+    /**
+     * @return The id of the node the invocation was forwarded from.
+     */
+    public String getNode() {
+        return this.node;
+    }
+
+    /**
+     * @return The source the original sender had on the sending node. Only informational, it is never checked against.
+     */
+    public CommandSource getOriginSource() {
+        return this.envelope.getSource();
+    }
+
+    /**
+     * @return The unique id of the original sender, or {@code null} if it is not an entity.
+     */
+    @Nullable
+    public UUID getUniqueId() {
+        return this.envelope.getUniqueId();
+    }
+
+    /**
+     * @return The messages sent to this sender so far.
+     */
+    public List<String> getMessages() {
+        synchronized (this.messages) {
+            return new ArrayList<>(this.messages);
+        }
+    }
+
+    @Override
+    public void sendMessage(String message) {
+        synchronized (this.messages) {
+            this.messages.add(message);
+        }
+    }
+
+    @Override
+    public void sendMessage(String[] messages) {
+        synchronized (this.messages) {
+            Collections.addAll(this.messages, messages);
+        }
+    }
+
+    @Override
+    public Server getServer() {
+        return Bukkit.getServer();
+    }
+
+    @Override
+    public String getName() {
+        return this.envelope.getSender();
+    }
+
+    @Override
+    public Spigot spigot() {
+        return new Spigot();
+    }
+
+    @Override
+    public boolean isPermissionSet(String name) {
+        return this.envelope.getPermissions().contains(name);
+    }
+
+    @Override
+    public boolean isPermissionSet(Permission perm) {
+        return this.isPermissionSet(perm.getName());
+    }
+
+    @Override
+    public boolean hasPermission(String name) {
+        return this.envelope.getPermissions().contains(name);
+    }
+
+    @Override
+    public boolean hasPermission(Permission perm) {
+        return this.hasPermission(perm.getName());
+    }
+
+    @Override
+    public PermissionAttachment addAttachment(Plugin plugin, String name, boolean value) {
+        throw new UnsupportedOperationException("Remote senders cannot be given permissions!");
+    }
+
+    @Override
+    public PermissionAttachment addAttachment(Plugin plugin) {
+        throw new UnsupportedOperationException("Remote senders cannot be given permissions!");
+    }
+
+    @Override
+    public PermissionAttachment addAttachment(Plugin plugin, String name, boolean value, int ticks) {
+        throw new UnsupportedOperationException("Remote senders cannot be given permissions!");
+    }
+
+    @Override
+    public PermissionAttachment addAttachment(Plugin plugin, int ticks) {
+        throw new UnsupportedOperationException("Remote senders cannot be given permissions!");
+    }
+
+    @Override
+    public void removeAttachment(PermissionAttachment attachment) {
+        throw new IllegalArgumentException("Remote senders do not hold any attachments!");
+    }
+
+    @Override
+    public void recalculatePermissions() {}
+
+    @Override
+    public Set<PermissionAttachmentInfo> getEffectivePermissions() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public boolean isOp() {
+        return false;
+    }
+
+    @Override
+    public void setOp(boolean value) {
+        throw new UnsupportedOperationException("Remote senders cannot be made operators!");
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteCommandSender{node=" + this.node + ", sender=" + this.getName() + ", origin=" + this.getOriginSource() + "}";
+    }
+}
@@ -0,0 +1,136 @@
+package io.obadiah.command.help;
+
+import io.obadiah.command.CommandArguments;
+import io.obadiah.command.TypedCommand;
+import io.obadiah.command.annotation.NoAutoRegister;
+import io.obadiah.command.argument.Argument;
+import io.obadiah.command.argument.ArgumentParsers;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+
+import javax.annotation.Nullable;
+
+/**
+ * Lists the commands a sender can use, a page at a time. {@code /help 2} shows the second page, {@code /help warp}
+ * searches for commands mentioning warp, and {@code /help warp 2} shows the second page of that search.
+ */
+@NoAutoRegister
+public class HelpCommand extends TypedCommand {
+
+    private static final int DEFAULT_PAGE_SIZE = 8;
+
+    private final HelpIndex index;
+    private final Argument<String> query;
+
+    private int pageSize;
+
+    /**
+     * Represents a help command.
+     *
+     * @param name Name of the command.
+     * @param permission The optional permission node that is required to execute this command.
+     * @param index The catalog of commands to list.
+     */
+    public HelpCommand(String name, @Nullable String permission, HelpIndex index) {
+        super(name, permission);
+        this.index = index;
+        this.query = this.addOptionalArgument("query", ArgumentParsers.GREEDY_STRING);
+        this.pageSize = DEFAULT_PAGE_SIZE;
+
+        this.setDescription("Lists the commands you can use.");
+    }
+
+    /**
+     * Sets the number of commands listed per page.
+     *
+     * @param pageSize Number of commands per page.
+     *
+     * @return This command instance.
+     *
+     * @throws IllegalArgumentException If the {@param pageSize} parameter is not positive.
+     */
+    public HelpCommand setPageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("The page size must be positive!");
+        }
+
+        this.pageSize = pageSize;
+
+        return this;
+    }
+
+    @Override
+    protected void execute(CommandSender sender, CommandArguments args) {
+        String query = args.get(this.query);
+        HelpPage page;
+
+        if (query == null) {
+            page = this.index.getPage(sender, 1, this.pageSize);
+        } else {
+            int separator = query.lastIndexOf(' ');
+            int number = parsePage(query.substring(separator + 1));
+
+            if (number < 0) {
+                page = this.index.search(sender, query, 1, this.pageSize);
+            } else if (separator < 0) {
+                page = this.index.getPage(sender, number, this.pageSize);
+            } else {
+                page = this.index.search(sender, query.substring(0, separator), number, this.pageSize);
+            }
+        }
+
+        if (page.isEmpty()) {
+            sender.sendMessage(ChatColor.RED + "No commands were found!");
+            return;
+        }
+
+        sender.sendMessage(ChatColor.GOLD + "Help (page " + page.getPage() + " of " + page.getPageCount() + ", " + page.getTotal() + " commands)");
+
+        for (HelpEntry entry : page.getEntries()) {
+            sender.sendMessage(this.format(entry));
+        }
+    }
+
+    /**
+     * Formats a single line of help.
+     *
+     * @param entry The entry to format.
+     *
+     * @return The formatted line.
+     */
+    protected String format(HelpEntry entry) {
+        StringBuilder builder = new StringBuilder().append(ChatColor.YELLOW).append(entry.getUsage());
+
+        if (!entry.getDescription().isEmpty()) {
+            builder.append(ChatColor.GRAY).append(" - ").append(entry.getDescription());
+        }
+
+        if (!entry.getAliases().isEmpty()) {
+            builder.append(ChatColor.DARK_GRAY).append(" (").append(String.join(", ", entry.getAliases())).append(")");
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * @return The page number, or {@code -1} if the input is not a positive whole number.
+     */
+    private static int parsePage(String input) {
+        if (input.isEmpty() || input.length() > 9) {
+            return -1;
+        }
+
+        int value = 0;
+        for (int i = 0; i < input.length(); i++) {
+            int digit = input.charAt(i) - '0';
+
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+
+            value = value * 10 + digit;
+        }
+
+        return value == 0 ? -1 : value;
+    }
+}
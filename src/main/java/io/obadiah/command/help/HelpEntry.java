@@ -0,0 +1,116 @@
+package io.obadiah.command.help;
+
+import com.google.common.collect.ImmutableSet;
+import io.obadiah.command.Command;
+import io.obadiah.command.CommandSource;
+import org.bukkit.command.CommandSender;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * A single command node in the help catalog, captured when the catalog was built.
+ */
+@Immutable
+public final class HelpEntry {
+
+    private final Command command;
+    private final String path;
+    private final String usage;
+    private final String description;
+    private final Set<String> aliases;
+    private final Set<CommandSource> permittedSources;
+    private final String searchText;
+
+    /**
+     * Captures a command node for the help catalog.
+     *
+     * @param command The command node.
+     */
+    public HelpEntry(Command command) {
+        this.command = command;
+        this.path = command.getPath();
+        this.usage = command.getUsage();
+        this.description = command.getDescription();
+        this.aliases = ImmutableSet.copyOf(command.getAliases());
+        this.permittedSources = ImmutableSet.copyOf(command.getPermittedSources());
+        this.searchText = (this.path + " " + String.join(" ", this.aliases) + " " + this.description).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Checks whether a sender may execute this command and every command above it.
+     *
+     * @param sender Sender to check.
+     *
+     * @return {@code true} If the sender can reach this command.
+     */
+    public boolean isVisibleTo(CommandSender sender) {
+        for (Command command = this.command; command != null; command = command.getParent()) {
+            if (!command.canExecute(sender)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks whether every term of a search appears in the path, aliases or description of this command.
+     *
+     * @param terms Search terms, already in lower case.
+     *
+     * @return {@code true} If every term matches.
+     */
+    public boolean matches(String... terms) {
+        for (String term : terms) {
+            if (!this.searchText.contains(term)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return The command node.
+     */
+    public Command getCommand() {
+        return this.command;
+    }
+
+    /**
+     * @return The path of the command, such as {@code "warp set"}.
+     */
+    public String getPath() {
+        return this.path;
+    }
+
+    /**
+     * @return The usage of the command.
+     */
+    public String getUsage() {
+        return this.usage;
+    }
+
+    /**
+     * @return The description of the command, or an empty string if it has none.
+     */
+    public String getDescription() {
+        return this.description;
+    }
+
+    /**
+     * @return The aliases of the command.
+     */
+    public Set<String> getAliases() {
+        return this.aliases;
+    }
+
+    /**
+     * @return The sources allowed to execute the command.
+     */
+    public Set<CommandSource> getPermittedSources() {
+        return this.permittedSources;
+    }
+}
@@ -0,0 +1,176 @@
+package io.obadiah.command.help;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import io.obadiah.command.Command;
+import org.bukkit.command.CommandSender;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * A catalog of every command node beneath a set of root commands, built once and filtered once per sender. The
+ * filtered view of each sender is cached until it expires, the sender's permissions are invalidated, or the catalog
+ * itself is invalidated.
+ */
+@ThreadSafe
+public final class HelpIndex {
+
+    private static final String[] NO_TERMS = new String[0];
+
+    private final Supplier<? extends Collection<Command>> roots;
+    private final Cache<CommandSender, List<HelpEntry>> views;
+
+    private volatile List<HelpEntry> entries;
+    private volatile int generation;
+
+    /**
+     * Creates a help catalog.
+     *
+     * @param roots Supplies the root commands to catalog whenever the catalog is rebuilt.
+     * @param viewTtl How long the view of a sender is cached for after it was last used.
+     * @param unit The unit of the {@param viewTtl} parameter.
+     */
+    public HelpIndex(Supplier<? extends Collection<Command>> roots, long viewTtl, TimeUnit unit) {
+        this.roots = roots;
+        this.views = CacheBuilder.newBuilder()
+          .weakKeys()
+          .expireAfterAccess(viewTtl, unit)
+          .build();
+    }
+
+    /**
+     * @return Every command node in the catalog, sorted by path.
+     */
+    public List<HelpEntry> getEntries() {
+        List<HelpEntry> entries = this.entries;
+
+        if (entries == null) {
+            int generation = this.generation;
+            ImmutableList.Builder<HelpEntry> builder = ImmutableList.builder();
+
+            this.roots.get().stream()
+              .sorted(Comparator.comparing(Command::getName))
+              .forEach(command -> collect(command, builder));
+
+            entries = builder.build();
+
+            if (generation == this.generation) {
+                this.entries = entries;
+            }
+        }
+
+        return entries;
+    }
+
+    /**
+     * Obtains the command nodes a sender can reach, sorted by path.
+     *
+     * @param sender Sender to filter for.
+     *
+     * @return The entries visible to the sender.
+     */
+    public List<HelpEntry> getEntries(CommandSender sender) {
+        List<HelpEntry> view = this.views.getIfPresent(sender);
+
+        if (view == null) {
+            int generation = this.generation;
+            view = this.getEntries().stream()
+              .filter(entry -> entry.isVisibleTo(sender))
+              .collect(ImmutableList.toImmutableList());
+
+            if (generation == this.generation) {
+                this.views.put(sender, view);
+
+                if (generation != this.generation) {
+                    this.views.invalidate(sender);
+                }
+            }
+        }
+
+        return view;
+    }
+
+    /**
+     * Obtains a page of the command nodes a sender can reach.
+     *
+     * @param sender Sender to filter for.
+     * @param page Number of the page, starting from 1. Clamped to the pages available.
+     * @param pageSize Number of entries per page.
+     *
+     * @return The page.
+     *
+     * @throws IllegalArgumentException If the {@param pageSize} parameter is not positive.
+     */
+    public HelpPage getPage(CommandSender sender, int page, int pageSize) {
+        return paginate(this.getEntries(sender), page, pageSize);
+    }
+
+    /**
+     * Obtains a page of the command nodes a sender can reach whose path, aliases or description contain every word
+     * of a query, ignoring case.
+     *
+     * @param sender Sender to filter for.
+     * @param query Words to search for, separated by spaces.
+     * @param page Number of the page, starting from 1. Clamped to the pages available.
+     * @param pageSize Number of entries per page.
+     *
+     * @return The page.
+     *
+     * @throws IllegalArgumentException If the {@param pageSize} parameter is not positive.
+     */
+    public HelpPage search(CommandSender sender, String query, int page, int pageSize) {
+        String trimmed = query.trim().toLowerCase(Locale.ROOT);
+        String[] terms = trimmed.isEmpty() ? NO_TERMS : trimmed.split(" +");
+
+        return paginate(this.getEntries(sender).stream()
+          .filter(entry -> entry.matches(terms))
+          .collect(Collectors.toList()), page, pageSize);
+    }
+
+    /**
+     * Forgets the catalog and every cached view, so both are rebuilt when next needed. Call after commands are
+     * registered or changed.
+     */
+    public synchronized void invalidate() {
+        this.generation++;
+        this.entries = null;
+        this.views.invalidateAll();
+    }
+
+    /**
+     * Forgets the cached view of a sender, such as after their permissions change.
+     *
+     * @param sender Sender to forget.
+     */
+    public void invalidate(CommandSender sender) {
+        this.views.invalidate(sender);
+    }
+
+    private static void collect(Command command, ImmutableList.Builder<HelpEntry> builder) {
+        builder.add(new HelpEntry(command));
+
+        command.getSubCommands().stream()
+          .sorted(Comparator.comparing(Command::getName))
+          .forEach(subCommand -> collect(subCommand, builder));
+    }
+
+    private static HelpPage paginate(List<HelpEntry> entries, int page, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("The page size must be positive!");
+        }
+
+        int pageCount = Math.max(1, (entries.size() + pageSize - 1) / pageSize);
+        int number = Math.min(Math.max(page, 1), pageCount);
+        int from = (number - 1) * pageSize;
+
+        return new HelpPage(entries.subList(from, Math.min(from + pageSize, entries.size())), number, pageCount, entries.size());
+    }
+}
@@ -0,0 +1,60 @@
+package io.obadiah.command.help;
+
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.List;
+
+/**
+ * A single page of help entries.
+ */
+@Immutable
+public final class HelpPage {
+
+    private final List<HelpEntry> entries;
+    private final int page;
+    private final int pageCount;
+    private final int total;
+
+    HelpPage(List<HelpEntry> entries, int page, int pageCount, int total) {
+        this.entries = ImmutableList.copyOf(entries);
+        this.page = page;
+        this.pageCount = pageCount;
+        this.total = total;
+    }
+
+    /**
+     * @return The entries on this page.
+     */
+    public List<HelpEntry> getEntries() {
+        return this.entries;
+    }
+
+    /**
+     * @return The number of this page, starting from 1.
+     */
+    public int getPage() {
+        return this.page;
+    }
+
+    /**
+     * @return The number of pages, at least 1 even when there are no entries.
+     */
+    public int getPageCount() {
+        return this.pageCount;
+    }
+
+    /**
+     * @return The number of entries across every page.
+     */
+    public int getTotal() {
+        return this.total;
+    }
+
+    /**
+     * @return {@code true} If there are no entries on this page.
+     */
+    public boolean isEmpty() {
+        return this.entries.isEmpty();
+    }
+}
@@ -0,0 +1,26 @@
+package io.obadiah.command.interceptor;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs around the checks and execution of a command, for concerns such as auditing, cooldowns, confirmation prompts,
+ * tracing and rewriting arguments. Interceptors are added globally through
+ * {@link io.obadiah.command.CommandAPI#addInterceptor(CommandInterceptor)}, or to a command, where they also apply to
+ * its subcommands. Commands without any interceptors dispatch exactly as if this feature did not exist.
+ */
+@FunctionalInterface
+public interface CommandInterceptor {
+
+    /**
+     * Intercepts an invocation of a command, once the subcommand it targets has been resolved and before any of its
+     * checks have run. Call {@link InterceptorChain#proceed(CommandInvocation)} to continue, optionally with a changed
+     * invocation, or return without calling it to stop the invocation. The chain may also be continued later, such as
+     * once the sender confirms, but must be continued on the server thread.
+     *
+     * @param invocation The invocation of the command.
+     * @param chain The remaining interceptors, followed by the checks and execution of the command.
+     *
+     * @return A future that completes once the invocation has finished, such as the future returned by the chain.
+     */
+    CompletableFuture<Void> intercept(CommandInvocation invocation, InterceptorChain chain);
+}
@@ -0,0 +1,112 @@
+package io.obadiah.command.interceptor;
+
+import io.obadiah.command.Command;
+import io.obadiah.command.CommandArguments;
+import io.obadiah.command.CommandSource;
+import org.bukkit.command.CommandSender;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A single invocation of a command as seen by its interceptors: the subcommand that was resolved, who sent it, and
+ * the arguments that belong to that subcommand.
+ */
+@Immutable
+public final class CommandInvocation {
+
+    private final Command command;
+    private final CommandSender sender;
+    private final String[] source;
+    private final int offset;
+
+    /**
+     * Represents an invocation of a command.
+     *
+     * @param command The command being invoked.
+     * @param sender The sender of the command.
+     * @param source The full argument array, as sent to the root command.
+     * @param offset The index of the first argument that belongs to the command.
+     *
+     * @throws IndexOutOfBoundsException If the {@param offset} parameter is outside of the arguments.
+     */
+    public CommandInvocation(Command command, CommandSender sender, String[] source, int offset) {
+        if (offset < 0 || offset > source.length) {
+            throw new IndexOutOfBoundsException("Offset " + offset + " is out of bounds for " + source.length + " arguments!");
+        }
+
+        this.command = command;
+        this.sender = sender;
+        this.source = source;
+        this.offset = offset;
+    }
+
+    /**
+     * @return The command being invoked, which is the deepest subcommand matched by the arguments.
+     */
+    public Command getCommand() {
+        return this.command;
+    }
+
+    /**
+     * @return The sender of the command.
+     */
+    public CommandSender getSender() {
+        return this.sender;
+    }
+
+    /**
+     * @return The source of the sender.
+     */
+    public CommandSource getSource() {
+        return CommandSource.fromSender(this.sender);
+    }
+
+    /**
+     * @return The arguments that belong to the command being invoked.
+     */
+    public CommandArguments getArgs() {
+        return new CommandArguments(this.source, this.offset);
+    }
+
+    /**
+     * @return The full argument array, as sent to the root command. Must not be changed.
+     */
+    public String[] getSourceArgs() {
+        return this.source;
+    }
+
+    /**
+     * @return The index of the first argument that belongs to the command being invoked.
+     */
+    public int getOffset() {
+        return this.offset;
+    }
+
+    /**
+     * Creates a copy of this invocation sent by a different sender.
+     *
+     * @param sender The sender to use.
+     *
+     * @return The new invocation.
+     */
+    public CommandInvocation withSender(CommandSender sender) {
+        return new CommandInvocation(this.command, sender, this.source, this.offset);
+    }
+
+    /**
+     * Creates a copy of this invocation with different arguments, which are parsed and checked in place of the
+     * original arguments. The command being invoked does not change.
+     *
+     * @param args The arguments that belong to the command being invoked.
+     *
+     * @return The new invocation.
+     */
+    public CommandInvocation withArgs(String... args) {
+        return new CommandInvocation(this.command, this.sender, args, 0);
+    }
+
+    @Override
+    public String toString() {
+        return "CommandInvocation{command=" + this.command.getPath() + ", sender=" + this.sender.getName() + ", args=" + this.getArgs() + "}";
+    }
+}
@@ -0,0 +1,21 @@
+package io.obadiah.command.interceptor;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The remainder of an invocation after an interceptor, handed to {@link CommandInterceptor#intercept}.
+ */
+@FunctionalInterface
+public interface InterceptorChain {
+
+    /**
+     * Runs the next interceptor, or the checks and execution of the command if there are no more. Must be called on
+     * the server thread.
+     *
+     * @param invocation The invocation to continue with.
+     *
+     * @return A future that completes once the command has finished executing, or immediately if it was rejected or
+     * ran synchronously.
+     */
+    CompletableFuture<Void> proceed(CommandInvocation invocation);
+}
@@ -0,0 +1,79 @@
+package io.obadiah.command.macro;
+
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A script of commands parsed once, so it can be run any number of times by a {@link MacroRunner}. Each line of the
+ * script is a command, with or without its leading slash. Blank lines and lines starting with {@code #} are ignored.
+ */
+@Immutable
+public final class Macro {
+
+    private final List<MacroStep> steps;
+
+    private Macro(List<MacroStep> steps) {
+        this.steps = steps;
+    }
+
+    /**
+     * Parses a script, one command per line.
+     *
+     * @param script The script.
+     *
+     * @return The parsed macro.
+     *
+     * @throws IllegalArgumentException If the script contains no commands.
+     */
+    public static Macro parse(String script) {
+        return parse(Arrays.asList(script.split("\r?\n")));
+    }
+
+    /**
+     * Parses a script.
+     *
+     * @param lines The lines of the script, one command per line.
+     *
+     * @return The parsed macro.
+     *
+     * @throws IllegalArgumentException If the script contains no commands.
+     */
+    public static Macro parse(List<String> lines) {
+        ImmutableList.Builder<MacroStep> steps = ImmutableList.builder();
+
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+
+            if (line.startsWith("/")) {
+                line = line.substring(1).trim();
+            }
+
+            if (!line.isEmpty() && line.charAt(0) != '#') {
+                steps.add(new MacroStep(i + 1, line));
+            }
+        }
+
+        List<MacroStep> built = steps.build();
+
+        if (built.isEmpty()) {
+            throw new IllegalArgumentException("The script does not contain any commands!");
+        }
+
+        return new Macro(built);
+    }
+
+    /**
+     * @return The commands of this macro, in the order they run.
+     */
+    public List<MacroStep> getSteps() {
+        return this.steps;
+    }
+
+    @Override
+    public String toString() {
+        return "Macro{steps=" + this.steps.size() + "}";
+    }
+}
@@ -0,0 +1,208 @@
+package io.obadiah.command.macro;
+
+import io.obadiah.command.CommandArguments;
+import io.obadiah.command.TypedCommand;
+import io.obadiah.command.annotation.NoAutoRegister;
+import io.obadiah.command.argument.Argument;
+import io.obadiah.command.argument.ArgumentParsers;
+import io.obadiah.command.completion.SuggestionProvider;
+import io.obadiah.command.exception.IllegalCommandUsageException;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Defines and runs macros in game. {@code /macro define setup time set day ; weather clear} defines a macro whose
+ * commands are separated by semicolons, {@code /macro run setup} runs it as the sender and reports how each step
+ * ended, {@code /macro list} lists the defined macros and {@code /macro remove setup} removes one. Macros are kept in
+ * memory, plugins may define them from their own storage through {@link #define(String, Macro)}.
+ */
+@NoAutoRegister
+public class MacroCommand extends TypedCommand {
+
+    private final MacroRunner runner;
+    private final Map<String, Macro> macros;
+
+    /**
+     * Represents a macro command.
+     *
+     * @param name Name of the command.
+     * @param permission The optional permission node that is required to execute this command.
+     * @param runner Runner to run the macros with.
+     */
+    public MacroCommand(String name, @Nullable String permission, MacroRunner runner) {
+        super(name, permission);
+        this.runner = runner;
+        this.macros = new ConcurrentHashMap<>();
+
+        SuggestionProvider names = sender -> this.macros.keySet();
+
+        this.setDescription("Defines and runs scripts of commands.");
+        this.addSubCommands(new Define(), new Run(names), new Remove(names), new ListMacros());
+    }
+
+    /**
+     * Defines a macro, replacing any macro of the same name.
+     *
+     * @param name Name of the macro, case insensitive.
+     * @param macro The macro.
+     *
+     * @return The macro the new macro replaced, or {@code null} if there was none.
+     */
+    @Nullable
+    public Macro define(String name, Macro macro) {
+        return this.macros.put(name.toLowerCase(Locale.ROOT), macro);
+    }
+
+    /**
+     * @param name Name of the macro, case insensitive.
+     *
+     * @return The macro, or {@code null} if none is defined with the name.
+     */
+    @Nullable
+    public Macro getMacro(String name) {
+        return this.macros.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @return Every defined macro by its name.
+     */
+    public Map<String, Macro> getMacros() {
+        return Collections.unmodifiableMap(this.macros);
+    }
+
+    /**
+     * Removes a macro.
+     *
+     * @param name Name of the macro, case insensitive.
+     *
+     * @return The removed macro, or {@code null} if none was defined with the name.
+     */
+    @Nullable
+    public Macro remove(String name) {
+        return this.macros.remove(name.toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    protected void execute(CommandSender sender, CommandArguments args) throws IllegalCommandUsageException {
+        throw new IllegalCommandUsageException(this);
+    }
+
+    private final class Define extends TypedCommand {
+
+        private final Argument<String> name;
+        private final Argument<String> script;
+
+        private Define() {
+            super("define", null);
+            this.name = this.addArgument("name", ArgumentParsers.STRING);
+            this.script = this.addArgument("commands", ArgumentParsers.GREEDY_STRING);
+
+            this.setDescription("Defines a macro, separating its commands with semicolons.");
+        }
+
+        @Override
+        protected void execute(CommandSender sender, CommandArguments args) {
+            Macro macro;
+
+            try {
+                macro = Macro.parse(Arrays.asList(args.get(this.script).split(";")));
+            } catch (IllegalArgumentException e) {
+                sender.sendMessage(ChatColor.RED + "The macro must contain at least one command!");
+                return;
+            }
+
+            boolean replaced = MacroCommand.this.define(args.get(this.name), macro) != null;
+
+            sender.sendMessage(ChatColor.GREEN + (replaced ? "Redefined" : "Defined") + " the macro " + args.get(this.name) + " with " + macro.getSteps().size() + " command(s).");
+        }
+    }
+
+    private final class Run extends TypedCommand {
+
+        private final Argument<String> name;
+
+        private Run(SuggestionProvider names) {
+            super("run", null);
+            this.name = this.addArgument("name", ArgumentParsers.STRING, names);
+
+            this.setDescription("Runs a macro.");
+        }
+
+        @Override
+        protected void execute(CommandSender sender, CommandArguments args) {
+            String name = args.get(this.name);
+            Macro macro = MacroCommand.this.getMacro(name);
+
+            if (macro == null) {
+                sender.sendMessage(ChatColor.RED + "No macro is defined with the name " + name + "!");
+                return;
+            }
+
+            MacroCommand.this.runner.run(macro, sender).thenAccept(report -> this.sync(() -> {
+                sender.sendMessage((report.isSuccessful() ? ChatColor.GREEN : ChatColor.GOLD) + "Ran the macro " + name + ": " + report.getResults().size() +
+                  " of " + macro.getSteps().size() + " step(s) across " + report.getTicks() + " tick(s) in " + TimeUnit.NANOSECONDS.toMillis(report.getDurationNanos()) + "ms.");
+
+                for (MacroStepResult result : report.getResults()) {
+                    if (result.getStatus() != MacroStepResult.Status.COMPLETED) {
+                        sender.sendMessage(ChatColor.RED + "  " + result);
+                    }
+                }
+            }));
+        }
+    }
+
+    private final class Remove extends TypedCommand {
+
+        private final Argument<String> name;
+
+        private Remove(SuggestionProvider names) {
+            super("remove", null);
+            this.name = this.addArgument("name", ArgumentParsers.STRING, names);
+
+            this.setDescription("Removes a macro.");
+        }
+
+        @Override
+        protected void execute(CommandSender sender, CommandArguments args) {
+            String name = args.get(this.name);
+
+            if (MacroCommand.this.remove(name) == null) {
+                sender.sendMessage(ChatColor.RED + "No macro is defined with the name " + name + "!");
+                return;
+            }
+
+            sender.sendMessage(ChatColor.GREEN + "Removed the macro " + name + ".");
+        }
+    }
+
+    private final class ListMacros extends TypedCommand {
+
+        private ListMacros() {
+            super("list", null);
+
+            this.setDescription("Lists the defined macros.");
+        }
+
+        @Override
+        protected void execute(CommandSender sender, CommandArguments args) {
+            if (MacroCommand.this.macros.isEmpty()) {
+                sender.sendMessage(ChatColor.RED + "No macros are defined!");
+                return;
+            }
+
+            sender.sendMessage(ChatColor.GOLD + "Macros (" + MacroCommand.this.macros.size() + ")");
+
+            MacroCommand.this.macros.entrySet().stream()
+              .sorted(Map.Entry.comparingByKey())
+              .forEach(entry -> sender.sendMessage(ChatColor.YELLOW + entry.getKey() + ChatColor.GRAY + " - " + entry.getValue().getSteps().size() + " command(s)"));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.obadiah.command.macro;
+
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The results of running a macro, one per step in the order the steps ran.
+ */
+@Immutable
+public final class MacroReport {
+
+    private final List<MacroStepResult> results;
+    private final int ticks;
+    private final long durationNanos;
+
+    MacroReport(List<MacroStepResult> results, int ticks, long durationNanos) {
+        this.results = ImmutableList.copyOf(results);
+        this.ticks = ticks;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * @return The result of each step that ran, in order. Steps after a failure are absent if the runner stops on
+     * failure.
+     */
+    public List<MacroStepResult> getResults() {
+        return this.results;
+    }
+
+    /**
+     * @param status Status to count.
+     *
+     * @return The amount of steps that ended with the status.
+     */
+    public int getCount(MacroStepResult.Status status) {
+        int count = 0;
+
+        for (MacroStepResult result : this.results) {
+            if (result.getStatus() == status) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * @return {@code true} If every step completed, none being rejected, failing or naming an unknown command.
+     */
+    public boolean isSuccessful() {
+        return this.getCount(MacroStepResult.Status.COMPLETED) == this.results.size();
+    }
+
+    /**
+     * @return The amount of server ticks the steps were started across.
+     */
+    public int getTicks() {
+        return this.ticks;
+    }
+
+    /**
+     * @return The time from the first step starting until the last finished, in nanoseconds.
+     */
+    public long getDurationNanos() {
+        return this.durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d steps across %d ticks in %.2fms (%d completed, %d rejected, %d failed, %d unknown)", this.results.size(), this.ticks,
+          this.durationNanos / (double) TimeUnit.MILLISECONDS.toNanos(1), this.getCount(MacroStepResult.Status.COMPLETED),
+          this.getCount(MacroStepResult.Status.REJECTED), this.getCount(MacroStepResult.Status.FAILED), this.getCount(MacroStepResult.Status.UNKNOWN_COMMAND));
+    }
+}
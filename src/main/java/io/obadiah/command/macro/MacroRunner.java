@@ -0,0 +1,255 @@
+package io.obadiah.command.macro;
+
+import io.obadiah.command.CommandExecutors;
+import io.obadiah.command.DispatchResult;
+import io.obadiah.command.metrics.RejectionReason;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs macros on the server thread. Steps are started one after another without waiting for asynchronous commands to
+ * finish, unless the runner is sequential, and once the steps started in a tick have used up the tick budget the rest
+ * continue on the next tick, so a large macro never holds up the server.
+ */
+@ThreadSafe
+public final class MacroRunner {
+
+    private final Plugin plugin;
+
+    private volatile long tickBudgetNanos;
+    private volatile boolean sequential;
+    private volatile boolean stopOnFailure;
+
+    /**
+     * Represents a runner with a tick budget of 5 milliseconds.
+     *
+     * @param plugin Plugin to schedule the steps that continue on later ticks against.
+     */
+    public MacroRunner(Plugin plugin) {
+        this.plugin = plugin;
+        this.tickBudgetNanos = TimeUnit.MILLISECONDS.toNanos(5);
+    }
+
+    /**
+     * Sets how long the steps started in a single tick may take before the rest continue on the next tick. At least one
+     * step is started every tick.
+     *
+     * @param budget The budget.
+     * @param unit The unit of the {@param budget} parameter.
+     *
+     * @return This runner instance.
+     *
+     * @throws IllegalArgumentException If the {@param budget} parameter is below 1.
+     */
+    public MacroRunner setTickBudget(long budget, TimeUnit unit) {
+        if (budget < 1) {
+            throw new IllegalArgumentException("The tick budget cannot be set below 1!");
+        }
+
+        this.tickBudgetNanos = unit.toNanos(budget);
+
+        return this;
+    }
+
+    /**
+     * Sets whether each step waits for the asynchronous command before it to finish. Disabled by default, so steps
+     * start as soon as the one before them has been dispatched.
+     *
+     * @param sequential {@code true} To wait for each step to finish.
+     *
+     * @return This runner instance.
+     */
+    public MacroRunner setSequential(boolean sequential) {
+        this.sequential = sequential;
+
+        return this;
+    }
+
+    /**
+     * Sets whether the steps after a rejected, failed or unknown command are skipped. Disabled by default.
+     *
+     * @param stopOnFailure {@code true} To skip the remaining steps once one fails.
+     *
+     * @return This runner instance.
+     */
+    public MacroRunner setStopOnFailure(boolean stopOnFailure) {
+        this.stopOnFailure = stopOnFailure;
+
+        return this;
+    }
+
+    /**
+     * @return How long the steps started in a single tick may take, in nanoseconds.
+     */
+    public long getTickBudgetNanos() {
+        return this.tickBudgetNanos;
+    }
+
+    /**
+     * @return {@code true} If each step waits for the asynchronous command before it to finish.
+     */
+    public boolean isSequential() {
+        return this.sequential;
+    }
+
+    /**
+     * @return {@code true} If the steps after a rejected, failed or unknown command are skipped.
+     */
+    public boolean isStopOnFailure() {
+        return this.stopOnFailure;
+    }
+
+    /**
+     * Runs a macro as a sender, starting on the server thread.
+     *
+     * @param macro Macro to run.
+     * @param sender Sender to run every step as.
+     *
+     * @return A future that completes with the report once every step that started has finished.
+     */
+    public CompletableFuture<MacroReport> run(Macro macro, CommandSender sender) {
+        Execution execution = new Execution(macro.getSteps(), sender);
+        CommandExecutors.mainThread().execute(execution::resume);
+
+        return execution.report;
+    }
+
+    /**
+     * A single run of a macro. Steps are only started from the server thread, and may finish on any thread.
+     */
+    private final class Execution {
+
+        private final List<MacroStep> steps;
+        private final CommandSender sender;
+        private final long tickBudgetNanos;
+        private final boolean sequential;
+        private final boolean stopOnFailure;
+        private final MacroStepResult[] results;
+        private final AtomicInteger outstanding;
+        private final CompletableFuture<MacroReport> report;
+
+        private int next;
+        private int ticks;
+        private long start;
+        private volatile boolean stopped;
+
+        private Execution(List<MacroStep> steps, CommandSender sender) {
+            this.steps = steps;
+            this.sender = sender;
+            this.tickBudgetNanos = MacroRunner.this.tickBudgetNanos;
+            this.sequential = MacroRunner.this.sequential;
+            this.stopOnFailure = MacroRunner.this.stopOnFailure;
+            this.results = new MacroStepResult[steps.size()];
+            this.outstanding = new AtomicInteger(1);
+            this.report = new CompletableFuture<>();
+        }
+
+        /**
+         * Starts steps until the tick budget is used up, a sequential step is still running, or every step has
+         * started.
+         */
+        private void resume() {
+            long tickStart = System.nanoTime();
+            this.ticks++;
+
+            if (this.start == 0) {
+                this.start = tickStart;
+            }
+
+            while (this.next < this.steps.size() && !this.stopped) {
+                CompletableFuture<DispatchResult> future = this.start(this.next++);
+
+                if (this.sequential && future != null && !future.isDone()) {
+                    future.whenComplete((result, throwable) -> CommandExecutors.mainThread().execute(this::resume));
+                    return;
+                }
+
+                if (this.next < this.steps.size() && System.nanoTime() - tickStart >= this.tickBudgetNanos) {
+                    Bukkit.getScheduler().runTask(MacroRunner.this.plugin, this::resume);
+                    return;
+                }
+            }
+
+            this.finish();
+        }
+
+        /**
+         * @return The pending execution of the step, or {@code null} if it has already finished.
+         */
+        @Nullable
+        private CompletableFuture<DispatchResult> start(int index) {
+            MacroStep step = this.steps.get(index);
+            MacroStep.Resolution resolution = step.getResolution();
+            long start = System.nanoTime();
+
+            this.outstanding.incrementAndGet();
+
+            try {
+                if (resolution.target == null) {
+                    boolean known = Bukkit.dispatchCommand(this.sender, step.getCommand());
+
+                    this.complete(index, known ? MacroStepResult.Status.COMPLETED : MacroStepResult.Status.UNKNOWN_COMMAND, null, null, start);
+                    return null;
+                }
+
+                CompletableFuture<DispatchResult> future = resolution.target.dispatchForResult(this.sender, resolution.args);
+                future.thenAccept(result -> this.complete(index, status(result.getStatus()), result.getReason(), result.getFailure(), start));
+
+                return future;
+            } catch (RuntimeException e) {
+                this.complete(index, MacroStepResult.Status.FAILED, null, e, start);
+                return null;
+            }
+        }
+
+        private void complete(int index, MacroStepResult.Status status, @Nullable RejectionReason reason, @Nullable Throwable failure, long start) {
+            this.results[index] = new MacroStepResult(this.steps.get(index), status, reason, failure, System.nanoTime() - start);
+
+            if (status != MacroStepResult.Status.COMPLETED && this.stopOnFailure) {
+                this.stopped = true;
+            }
+
+            this.finish();
+        }
+
+        /**
+         * Counts down a finished step, or the end of starting steps, completing the report once every step that
+         * started has finished.
+         */
+        private void finish() {
+            if (this.outstanding.decrementAndGet() != 0) {
+                return;
+            }
+
+            List<MacroStepResult> results = new ArrayList<>(this.results.length);
+
+            for (MacroStepResult result : this.results) {
+                if (result != null) {
+                    results.add(result);
+                }
+            }
+
+            this.report.complete(new MacroReport(results, this.ticks, System.nanoTime() - this.start));
+        }
+    }
+
+    private static MacroStepResult.Status status(DispatchResult.Status status) {
+        switch (status) {
+            case EXECUTED:
+                return MacroStepResult.Status.COMPLETED;
+            case REJECTED:
+                return MacroStepResult.Status.REJECTED;
+            default:
+                return MacroStepResult.Status.FAILED;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package io.obadiah.command.macro;
+
+import io.obadiah.command.Command;
+import io.obadiah.command.CommandAPI;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A single command of a {@link Macro}, resolved when the macro is parsed to the deepest registered subcommand its
+ * arguments name, so running it skips the command map and the descent through the command tree. Steps naming a
+ * command that was not registered through CommandAPI are sent to the server instead, as if the sender had typed them.
+ */
+@ThreadSafe
+public final class MacroStep {
+
+    private final int line;
+    private final String command;
+    private final String[] tokens;
+
+    private volatile Resolution resolution;
+
+    MacroStep(int line, String command) {
+        this.line = line;
+        this.command = command;
+        this.tokens = command.split("\\s+");
+        this.resolution = resolve(this.tokens);
+    }
+
+    /**
+     * @return The line of the script this step was parsed from, starting at 1.
+     */
+    public int getLine() {
+        return this.line;
+    }
+
+    /**
+     * @return The command line, without its leading slash.
+     */
+    public String getCommand() {
+        return this.command;
+    }
+
+    /**
+     * @return The registered command this step runs, or {@code null} if it is sent to the server instead.
+     */
+    @Nullable
+    public Command getTarget() {
+        return this.getResolution().target;
+    }
+
+    /**
+     * @return The arguments given to the command this step runs.
+     */
+    public List<String> getArgs() {
+        Resolution resolution = this.getResolution();
+
+        return resolution.target == null ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(resolution.args));
+    }
+
+    /**
+     * Obtains how this step runs, resolving it again if its command has been replaced or unregistered since it was
+     * resolved, or if no registered command matched it when it was resolved, as the command may have been registered
+     * since.
+     */
+    Resolution getResolution() {
+        Resolution resolution = this.resolution;
+
+        if (resolution.root == null || !CommandAPI.getRegisteredCommands().contains(resolution.root)) {
+            resolution = resolve(this.tokens);
+            this.resolution = resolution;
+        }
+
+        return resolution;
+    }
+
+    @Override
+    public String toString() {
+        return this.line + ": /" + this.command;
+    }
+
+    private static Resolution resolve(String[] tokens) {
+        Command root = null;
+
+        for (Command command : CommandAPI.getRegisteredCommands()) {
+            if (command.getName().equalsIgnoreCase(tokens[0]) || containsIgnoreCase(command.getAliases(), tokens[0])) {
+                root = command;
+                break;
+            }
+        }
+
+        if (root == null) {
+            return new Resolution(null, null, null);
+        }
+
+        Command target = root;
+        int offset = 1;
+
+        while (offset < tokens.length) {
+            Command child = target.getSubCommand(tokens[offset]);
+
+            if (child == null) {
+                break;
+            }
+
+            target = child;
+            offset++;
+        }
+
+        return new Resolution(root, target, Arrays.copyOfRange(tokens, offset, tokens.length));
+    }
+
+    private static boolean containsIgnoreCase(Iterable<String> values, String value) {
+        for (String candidate : values) {
+            if (candidate.equalsIgnoreCase(value)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * The registered command a step runs and the arguments given to it, all {@code null} if it is sent to the server.
+     */
+    static final class Resolution {
+
+        final Command root;
+        final Command target;
+        final String[] args;
+
+        private Resolution(@Nullable Command root, @Nullable Command target, @Nullable String[] args) {
+            this.root = root;
+            this.target = target;
+            this.args = args;
+        }
+    }
+}
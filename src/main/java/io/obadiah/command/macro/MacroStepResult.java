@@ -0,0 +1,97 @@
+package io.obadiah.command.macro;
+
+import io.obadiah.command.metrics.RejectionReason;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * How a single step of a macro ended.
+ */
+@Immutable
+public final class MacroStepResult {
+
+    private final MacroStep step;
+    private final Status status;
+    private final RejectionReason reason;
+    private final Throwable failure;
+    private final long durationNanos;
+
+    MacroStepResult(MacroStep step, Status status, @Nullable RejectionReason reason, @Nullable Throwable failure, long durationNanos) {
+        this.step = step;
+        this.status = status;
+        this.reason = reason;
+        this.failure = failure;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * @return The step.
+     */
+    public MacroStep getStep() {
+        return this.step;
+    }
+
+    /**
+     * @return How the step ended.
+     */
+    public Status getStatus() {
+        return this.status;
+    }
+
+    /**
+     * @return Why the command rejected the invocation, or {@code null} if it was not rejected, or was stopped by an
+     * interceptor.
+     */
+    @Nullable
+    public RejectionReason getReason() {
+        return this.reason;
+    }
+
+    /**
+     * @return What the command or an interceptor threw, or {@code null} if the step did not fail.
+     */
+    @Nullable
+    public Throwable getFailure() {
+        return this.failure;
+    }
+
+    /**
+     * @return The time from the step starting until its command finished, in nanoseconds.
+     */
+    public long getDurationNanos() {
+        return this.durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return this.step + " -> " + this.status + (this.reason != null ? " " + this.reason : this.failure != null ? " " + this.failure : "");
+    }
+
+    /**
+     * How a step of a macro ended.
+     */
+    public enum Status {
+
+        /**
+         * The command executed without throwing, or the server ran the command line.
+         */
+        COMPLETED,
+
+        /**
+         * The invocation was refused by the command's checks, by the command throwing an IllegalCommandArgException or
+         * IllegalCommandUsageException, or by an interceptor that did not proceed. The sender has already been told why.
+         */
+        REJECTED,
+
+        /**
+         * The command or an interceptor threw any other exception.
+         */
+        FAILED,
+
+        /**
+         * No command with the step's label exists.
+         */
+        UNKNOWN_COMMAND
+    }
+}
@@ -0,0 +1,139 @@
+package io.obadiah.command.metrics;
+
+import io.obadiah.command.exception.IllegalCommandArgException;
+import io.obadiah.command.exception.IllegalCommandUsageException;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The execution metrics of a single command node. Counters are striped, so recording from several threads does not
+ * contend on a single value.
+ */
+@ThreadSafe
+public final class CommandMetrics {
+
+    private static final RejectionReason[] REASONS = RejectionReason.values();
+
+    private final LongAdder invocations;
+    private final LongAdder[] rejections;
+    private final LongAdder exceptions;
+    private final LatencyHistogram latency;
+
+    public CommandMetrics() {
+        this.invocations = new LongAdder();
+        this.rejections = new LongAdder[REASONS.length];
+        this.exceptions = new LongAdder();
+        this.latency = new LatencyHistogram();
+
+        for (int i = 0; i < REASONS.length; i++) {
+            this.rejections[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records that the command was invoked, before any checks ran.
+     */
+    public void recordInvocation() {
+        this.invocations.increment();
+    }
+
+    /**
+     * Records that an invocation was rejected.
+     *
+     * @param reason Why the invocation was rejected.
+     */
+    public void recordRejection(RejectionReason reason) {
+        this.rejections[reason.ordinal()].increment();
+    }
+
+    /**
+     * Records that the command threw an unexpected exception.
+     */
+    public void recordException() {
+        this.exceptions.increment();
+    }
+
+    /**
+     * Records an exception thrown by the command, as a rejection if it signals bad input or otherwise as an unexpected
+     * exception.
+     *
+     * @param exception The exception thrown.
+     */
+    public void recordFailure(Exception exception) {
+        if (exception instanceof IllegalCommandArgException) {
+            this.recordRejection(RejectionReason.BAD_ARGUMENTS);
+        } else if (exception instanceof IllegalCommandUsageException) {
+            this.recordRejection(RejectionReason.USAGE);
+        } else {
+            this.recordException();
+        }
+    }
+
+    /**
+     * Records how long the command took to execute.
+     *
+     * @param nanos The execution time in nanoseconds.
+     */
+    public void recordLatency(long nanos) {
+        this.latency.record(nanos);
+    }
+
+    /**
+     * @return The amount of times the command was invoked.
+     */
+    public long getInvocations() {
+        return this.invocations.sum();
+    }
+
+    /**
+     * @param reason The reason to count.
+     *
+     * @return The amount of invocations rejected for the reason.
+     */
+    public long getRejections(RejectionReason reason) {
+        return this.rejections[reason.ordinal()].sum();
+    }
+
+    /**
+     * @return The amount of invocations rejected for each reason.
+     */
+    public Map<RejectionReason, Long> getRejections() {
+        Map<RejectionReason, Long> rejections = new EnumMap<>(RejectionReason.class);
+
+        for (RejectionReason reason : REASONS) {
+            rejections.put(reason, this.getRejections(reason));
+        }
+
+        return rejections;
+    }
+
+    /**
+     * @return The amount of times the command threw an unexpected exception.
+     */
+    public long getExceptions() {
+        return this.exceptions.sum();
+    }
+
+    /**
+     * @return The execution times of the command.
+     */
+    public LatencyHistogram getLatency() {
+        return this.latency;
+    }
+
+    /**
+     * Clears every recorded metric.
+     */
+    public void reset() {
+        this.invocations.reset();
+        this.exceptions.reset();
+        this.latency.reset();
+
+        for (LongAdder rejection : this.rejections) {
+            rejection.reset();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package io.obadiah.command.metrics;
+
+import com.google.common.collect.ImmutableMap;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.Map;
+
+/**
+ * The metrics of a single command node at a point in time.
+ */
+@Immutable
+public final class CommandMetricsSnapshot {
+
+    private final String path;
+    private final long invocations;
+    private final Map<RejectionReason, Long> rejections;
+    private final long exceptions;
+    private final long executions;
+    private final double meanNanos;
+    private final long p50Nanos;
+    private final long p90Nanos;
+    private final long p99Nanos;
+    private final long maxNanos;
+
+    /**
+     * Captures the metrics of a command node.
+     *
+     * @param path The path of the node, such as {@code "warp set"}.
+     * @param metrics The metrics of the node.
+     */
+    public CommandMetricsSnapshot(String path, CommandMetrics metrics) {
+        LatencyHistogram latency = metrics.getLatency();
+
+        this.path = path;
+        this.invocations = metrics.getInvocations();
+        this.rejections = ImmutableMap.copyOf(metrics.getRejections());
+        this.exceptions = metrics.getExceptions();
+        this.executions = latency.getCount();
+        this.meanNanos = latency.getMean();
+        this.p50Nanos = latency.getPercentile(50);
+        this.p90Nanos = latency.getPercentile(90);
+        this.p99Nanos = latency.getPercentile(99);
+        this.maxNanos = latency.getMax();
+    }
+
+    /**
+     * @return The path of the node, such as {@code "warp set"}.
+     */
+    public String getPath() {
+        return this.path;
+    }
+
+    /**
+     * @return The amount of times the node was invoked.
+     */
+    public long getInvocations() {
+        return this.invocations;
+    }
+
+    /**
+     * @return The amount of invocations rejected for each reason.
+     */
+    public Map<RejectionReason, Long> getRejections() {
+        return this.rejections;
+    }
+
+    /**
+     * @return The amount of times the node threw an unexpected exception.
+     */
+    public long getExceptions() {
+        return this.exceptions;
+    }
+
+    /**
+     * @return The amount of times the node executed.
+     */
+    public long getExecutions() {
+        return this.executions;
+    }
+
+    /**
+     * @return The mean execution time in nanoseconds.
+     */
+    public double getMeanNanos() {
+        return this.meanNanos;
+    }
+
+    /**
+     * @return The median execution time in nanoseconds.
+     */
+    public long getP50Nanos() {
+        return this.p50Nanos;
+    }
+
+    /**
+     * @return The 90th percentile execution time in nanoseconds.
+     */
+    public long getP90Nanos() {
+        return this.p90Nanos;
+    }
+
+    /**
+     * @return The 99th percentile execution time in nanoseconds.
+     */
+    public long getP99Nanos() {
+        return this.p99Nanos;
+    }
+
+    /**
+     * @return The longest execution time in nanoseconds.
+     */
+    public long getMaxNanos() {
+        return this.maxNanos;
+    }
+}
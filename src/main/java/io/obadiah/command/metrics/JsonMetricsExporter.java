@@ -0,0 +1,62 @@
+package io.obadiah.command.metrics;
+
+import io.obadiah.command.util.JsonStrings;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Keeps the most recent export in memory as a JSON array, one object per command node. Useful for tests and for
+ * serving metrics from a debug command or endpoint.
+ */
+@ThreadSafe
+public final class JsonMetricsExporter implements MetricsExporter {
+
+    private volatile String json = "[]";
+
+    @Override
+    public void export(List<CommandMetricsSnapshot> snapshots) {
+        StringBuilder builder = new StringBuilder("[");
+
+        for (CommandMetricsSnapshot snapshot : snapshots) {
+            if (builder.length() > 1) {
+                builder.append(',');
+            }
+
+            builder.append("{\"path\":");
+            JsonStrings.append(builder, snapshot.getPath());
+            builder.append(",\"invocations\":").append(snapshot.getInvocations());
+            builder.append(",\"rejections\":{");
+
+            boolean first = true;
+            for (Map.Entry<RejectionReason, Long> rejection : snapshot.getRejections().entrySet()) {
+                if (!first) {
+                    builder.append(',');
+                }
+
+                first = false;
+                builder.append('"').append(rejection.getKey().name().toLowerCase(Locale.ROOT)).append("\":").append(rejection.getValue());
+            }
+
+            builder.append("},\"exceptions\":").append(snapshot.getExceptions());
+            builder.append(",\"executions\":").append(snapshot.getExecutions());
+            builder.append(",\"meanNanos\":").append((long) snapshot.getMeanNanos());
+            builder.append(",\"p50Nanos\":").append(snapshot.getP50Nanos());
+            builder.append(",\"p90Nanos\":").append(snapshot.getP90Nanos());
+            builder.append(",\"p99Nanos\":").append(snapshot.getP99Nanos());
+            builder.append(",\"maxNanos\":").append(snapshot.getMaxNanos());
+            builder.append('}');
+        }
+
+        this.json = builder.append(']').toString();
+    }
+
+    /**
+     * @return The most recent export as a JSON array, or an empty array if nothing has been exported.
+     */
+    public String getJson() {
+        return this.json;
+    }
+}
@@ -0,0 +1,158 @@
+package io.obadiah.command.metrics;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size histogram of latencies in nanoseconds. Values below 16 are counted exactly; above that each power of two
+ * is split into 8 linear buckets, bounding the error of any reported value to 12.5% over the full range of a long.
+ */
+@ThreadSafe
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS << 1;
+    private static final int BUCKETS = bucketOf(Long.MAX_VALUE) + 1;
+
+    private final AtomicLongArray buckets;
+    private final LongAdder count;
+    private final LongAdder total;
+    private final LongAccumulator max;
+
+    public LatencyHistogram() {
+        this.buckets = new AtomicLongArray(BUCKETS);
+        this.count = new LongAdder();
+        this.total = new LongAdder();
+        this.max = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos The latency in nanoseconds. Negative values are recorded as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+
+        this.buckets.incrementAndGet(bucketOf(value));
+        this.count.increment();
+        this.total.add(value);
+        this.max.accumulate(value);
+    }
+
+    /**
+     * Adds every latency recorded by another histogram to this one, such as to combine histograms recorded by
+     * separate threads.
+     *
+     * @param other Histogram to add.
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = other.buckets.get(i);
+
+            if (count > 0) {
+                this.buckets.addAndGet(i, count);
+            }
+        }
+
+        this.count.add(other.count.sum());
+        this.total.add(other.total.sum());
+        this.max.accumulate(other.max.get());
+    }
+
+    /**
+     * @return The amount of recorded latencies.
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * @return The mean of the recorded latencies in nanoseconds, or 0 if none have been recorded.
+     */
+    public double getMean() {
+        long count = this.count.sum();
+
+        return count == 0 ? 0 : this.total.sum() / (double) count;
+    }
+
+    /**
+     * @return The highest recorded latency in nanoseconds.
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * Estimates a percentile of the recorded latencies.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     *
+     * @return The estimated latency in nanoseconds, or 0 if none have been recorded.
+     */
+    public long getPercentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = this.buckets.get(i);
+            count += counts[i];
+        }
+
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100));
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), this.max.get());
+            }
+        }
+
+        return this.max.get();
+    }
+
+    /**
+     * Clears every recorded latency.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.buckets.set(i, 0);
+        }
+
+        this.count.reset();
+        this.total.reset();
+        this.max.reset();
+    }
+
+    private static int bucketOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+
+        int exponent = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        long subBucket = (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+        long lowerBound = (1L << exponent) + (subBucket << (exponent - SUB_BUCKET_BITS));
+
+        return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
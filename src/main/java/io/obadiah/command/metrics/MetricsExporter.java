@@ -0,0 +1,15 @@
+package io.obadiah.command.metrics;
+
+import java.util.List;
+
+/**
+ * Receives the metrics of every registered command node, see {@link io.obadiah.command.CommandAPI#exportMetrics(MetricsExporter)}.
+ */
+@FunctionalInterface
+public interface MetricsExporter {
+
+    /**
+     * @param snapshots The metrics of every registered command node, parents before their subcommands.
+     */
+    void export(List<CommandMetricsSnapshot> snapshots);
+}
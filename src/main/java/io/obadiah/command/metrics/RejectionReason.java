@@ -0,0 +1,50 @@
+package io.obadiah.command.metrics;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Why an invocation of a command did not reach or complete its execution.
+ */
+@Immutable
+public enum RejectionReason {
+
+    /**
+     * The sender's source is not permitted to execute the command.
+     */
+    SOURCE,
+
+    /**
+     * The sender lacks the command's permission node.
+     */
+    PERMISSION,
+
+    /**
+     * More arguments were given than the command accepts.
+     */
+    TOO_MANY_ARGUMENTS,
+
+    /**
+     * Fewer arguments were given than the command requires.
+     */
+    NOT_ENOUGH_ARGUMENTS,
+
+    /**
+     * An argument could not be parsed, or the command threw an IllegalCommandArgException.
+     */
+    BAD_ARGUMENTS,
+
+    /**
+     * The command threw an IllegalCommandUsageException.
+     */
+    USAGE,
+
+    /**
+     * The sender was rate limited.
+     */
+    RATE_LIMITED,
+
+    /**
+     * The command was already running as many concurrent executions as it allows.
+     */
+    BUSY
+}
@@ -0,0 +1,80 @@
+package io.obadiah.command.permission;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.bukkit.command.CommandSender;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers the permission decisions of each sender for a short time, for servers whose permission plugin makes
+ * {@link CommandSender#hasPermission(String)} expensive. Decisions are forgotten when they expire or when the sender
+ * is invalidated, so a permission change takes effect after at most the time to live unless it is invalidated.
+ */
+@ThreadSafe
+public final class PermissionCache {
+
+    private final Cache<CommandSender, Map<String, Boolean>> decisions;
+
+    /**
+     * Creates a permission cache.
+     *
+     * @param ttl How long the decisions of a sender are remembered for.
+     * @param unit The unit of the {@param ttl} parameter.
+     */
+    public PermissionCache(long ttl, TimeUnit unit) {
+        this.decisions = CacheBuilder.newBuilder()
+          .weakKeys()
+          .expireAfterWrite(ttl, unit)
+          .build();
+    }
+
+    /**
+     * Checks whether a sender has a permission, asking the sender only if the decision is not remembered.
+     *
+     * @param sender Sender to check.
+     * @param permission Permission node to check.
+     *
+     * @return {@code true} If the sender has the permission.
+     */
+    public boolean hasPermission(CommandSender sender, String permission) {
+        Map<String, Boolean> decisions = this.decisions.getIfPresent(sender);
+
+        if (decisions == null) {
+            Map<String, Boolean> created = new ConcurrentHashMap<>();
+            decisions = this.decisions.asMap().putIfAbsent(sender, created);
+
+            if (decisions == null) {
+                decisions = created;
+            }
+        }
+
+        Boolean decision = decisions.get(permission);
+
+        if (decision == null) {
+            decision = sender.hasPermission(permission);
+            decisions.put(permission, decision);
+        }
+
+        return decision;
+    }
+
+    /**
+     * Forgets every decision remembered for a sender, such as after their permissions change.
+     *
+     * @param sender Sender to forget.
+     */
+    public void invalidate(CommandSender sender) {
+        this.decisions.invalidate(sender);
+    }
+
+    /**
+     * Forgets every decision remembered for every sender.
+     */
+    public void invalidateAll() {
+        this.decisions.invalidateAll();
+    }
+}
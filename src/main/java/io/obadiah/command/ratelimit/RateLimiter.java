@@ -0,0 +1,161 @@
+package io.obadiah.command.ratelimit;
+
+import com.google.common.cache.CacheBuilder;
+import org.bukkit.ChatColor;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits how often each sender may execute the commands it is attached to. Permits refill at a constant rate, and up
+ * to the configured amount of permits can be used in a burst. Sharing one instance between several commands gives
+ * them a shared budget.
+ *
+ * Each sender's state is a single timestamp that is updated without locking, and senders that have been idle long
+ * enough for their permits to refill completely are evicted automatically.
+ */
+@ThreadSafe
+public final class RateLimiter {
+
+    private static final String SECONDS_PLACEHOLDER = "{seconds}";
+
+    private final int permits;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final ConcurrentMap<UUID, AtomicLong> senders;
+
+    private volatile String message;
+
+    /**
+     * Represents a rate limit.
+     *
+     * @param permits The amount of executions allowed per period.
+     * @param period The period over which the permits refill.
+     * @param unit The unit of the {@param period} parameter.
+     *
+     * @throws IllegalArgumentException If the {@param permits} or {@param period} parameters are below 1.
+     */
+    public RateLimiter(int permits, long period, TimeUnit unit) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("Permits cannot be set below 1!");
+        }
+
+        if (period < 1) {
+            throw new IllegalArgumentException("Period cannot be set below 1!");
+        }
+
+        long periodNanos = unit.toNanos(period);
+
+        this.permits = permits;
+        this.intervalNanos = Math.max(1, periodNanos / permits);
+        this.toleranceNanos = this.intervalNanos * (permits - 1);
+        this.senders = CacheBuilder.newBuilder()
+          .expireAfterAccess(periodNanos, TimeUnit.NANOSECONDS)
+          .<UUID, AtomicLong>build()
+          .asMap();
+
+        this.message = ChatColor.RED + "You are doing that too often, please wait " + SECONDS_PLACEHOLDER + "s before trying again!";
+    }
+
+    /**
+     * Creates a rate limit that allows a single execution per period.
+     *
+     * @param period The cooldown between executions.
+     * @param unit The unit of the {@param period} parameter.
+     *
+     * @return The rate limit.
+     */
+    public static RateLimiter cooldown(long period, TimeUnit unit) {
+        return new RateLimiter(1, period, unit);
+    }
+
+    /**
+     * Sets the message sent to senders that have been rate limited. {@code {seconds}} is replaced with the amount of
+     * seconds until they may try again.
+     *
+     * @param message Message to send.
+     *
+     * @return This rate limiter instance.
+     */
+    public RateLimiter setMessage(String message) {
+        this.message = message;
+
+        return this;
+    }
+
+    /**
+     * Attempts to take a permit for a sender.
+     *
+     * @param id The unique id of the sender.
+     *
+     * @return {@code 0} If a permit was taken, otherwise the nanoseconds until one becomes available.
+     */
+    public long tryAcquire(UUID id) {
+        AtomicLong state = this.senders.computeIfAbsent(id, key -> new AtomicLong(Long.MIN_VALUE));
+
+        while (true) {
+            long now = System.nanoTime();
+            long current = state.get();
+            long arrival = Math.max(current, now);
+            long wait = arrival - now - this.toleranceNanos;
+
+            if (wait > 0) {
+                return wait;
+            }
+
+            if (state.compareAndSet(current, arrival + this.intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back a permit taken by {@link #tryAcquire(UUID)} that ended up unused, such as when another limit rejected
+     * the same execution.
+     *
+     * @param id The unique id of the sender.
+     */
+    public void refund(UUID id) {
+        AtomicLong state = this.senders.get(id);
+
+        if (state != null) {
+            state.addAndGet(-this.intervalNanos);
+        }
+    }
+
+    /**
+     * Forgets the state of a sender, restoring all of their permits.
+     *
+     * @param id The unique id of the sender.
+     */
+    public void reset(UUID id) {
+        this.senders.remove(id);
+    }
+
+    /**
+     * Renders the rejection message for a sender that has to wait.
+     *
+     * @param waitNanos The nanoseconds until a permit becomes available, as returned by {@link #tryAcquire(UUID)}.
+     *
+     * @return The message.
+     */
+    public String getMessage(long waitNanos) {
+        String message = this.message;
+
+        if (!message.contains(SECONDS_PLACEHOLDER)) {
+            return message;
+        }
+
+        return message.replace(SECONDS_PLACEHOLDER, Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L))));
+    }
+
+    /**
+     * @return The amount of executions allowed per period.
+     */
+    public int getPermits() {
+        return this.permits;
+    }
+}
@@ -0,0 +1,36 @@
+package io.obadiah.command.util;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Writes JSON strings for the exporters and logs that build their JSON by hand.
+ */
+@ThreadSafe
+public final class JsonStrings {
+
+    private JsonStrings() {}
+
+    /**
+     * Appends a value as a quoted JSON string, escaping quotes, backslashes and control characters.
+     *
+     * @param builder Builder to append to.
+     * @param value The value.
+     */
+    public static void append(StringBuilder builder, String value) {
+        builder.append('"');
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < 0x20) {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+
+        builder.append('"');
+    }
+}
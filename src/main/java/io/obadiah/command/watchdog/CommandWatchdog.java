@@ -0,0 +1,205 @@
+package io.obadiah.command.watchdog;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.obadiah.command.Command;
+import io.obadiah.command.CommandSource;
+import org.bukkit.command.CommandSender;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watches command executions and reports those that exceed a wall-clock budget. Once an execution passes the budget,
+ * the executing thread's stack is sampled until it finishes, and a report of the most frequent stacks is logged.
+ * Executions that finish within the budget only cost scheduling and cancelling one task.
+ */
+@ThreadSafe
+public final class CommandWatchdog {
+
+    private static final int REPORTED_STACKS = 3;
+    private static final int REPORTED_FRAMES = 30;
+
+    private final long budgetNanos;
+    private final long sampleIntervalNanos;
+    private final int maxSamples;
+    private final Logger logger;
+    private final ScheduledExecutorService sampler;
+
+    /**
+     * Represents a watchdog that samples every tenth of the budget, up to 100 times per execution.
+     *
+     * @param budget How long an execution may take before it is reported.
+     * @param unit The unit of the {@param budget} parameter.
+     * @param logger Logger to report slow executions to.
+     */
+    public CommandWatchdog(long budget, TimeUnit unit, Logger logger) {
+        this(budget, unit, Math.max(1, unit.toNanos(budget) / 10), TimeUnit.NANOSECONDS, 100, logger);
+    }
+
+    /**
+     * Represents a watchdog.
+     *
+     * @param budget How long an execution may take before it is reported.
+     * @param budgetUnit The unit of the {@param budget} parameter.
+     * @param sampleInterval How often the stack of a slow execution is sampled.
+     * @param sampleUnit The unit of the {@param sampleInterval} parameter.
+     * @param maxSamples The maximum amount of samples taken per execution.
+     * @param logger Logger to report slow executions to.
+     *
+     * @throws IllegalArgumentException If the {@param budget}, {@param sampleInterval} or {@param maxSamples} parameters are below 1.
+     */
+    public CommandWatchdog(long budget, TimeUnit budgetUnit, long sampleInterval, TimeUnit sampleUnit, int maxSamples, Logger logger) {
+        if (budget < 1 || sampleInterval < 1 || maxSamples < 1) {
+            throw new IllegalArgumentException("Budget, sample interval and maximum samples cannot be set below 1!");
+        }
+
+        this.budgetNanos = budgetUnit.toNanos(budget);
+        this.sampleIntervalNanos = sampleUnit.toNanos(sampleInterval);
+        this.maxSamples = maxSamples;
+        this.logger = logger;
+        this.sampler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+          .setNameFormat("CommandAPI Watchdog")
+          .setDaemon(true)
+          .build());
+    }
+
+    /**
+     * Starts watching an execution on the current thread.
+     *
+     * @param command The executing command.
+     * @param sender The sender of the command.
+     * @param argumentCount The amount of arguments the command received.
+     *
+     * @return The watch, which must be stopped once the execution finishes.
+     */
+    public Watch start(Command command, CommandSender sender, int argumentCount) {
+        return new Watch(command, sender, argumentCount);
+    }
+
+    /**
+     * Stops sampling. Executions that are still being watched are no longer reported.
+     */
+    public void shutdown() {
+        this.sampler.shutdownNow();
+    }
+
+    /**
+     * @return How long an execution may take before it is reported, in nanoseconds.
+     */
+    public long getBudgetNanos() {
+        return this.budgetNanos;
+    }
+
+    /**
+     * A single watched execution.
+     */
+    public final class Watch {
+
+        private final Command command;
+        private final CommandSender sender;
+        private final int argumentCount;
+        private final Thread thread;
+        private final long start;
+        private final List<StackTraceElement[]> samples;
+        private final ScheduledFuture<?> task;
+
+        private Watch(Command command, CommandSender sender, int argumentCount) {
+            this.command = command;
+            this.sender = sender;
+            this.argumentCount = argumentCount;
+            this.thread = Thread.currentThread();
+            this.start = System.nanoTime();
+            this.samples = new ArrayList<>();
+            this.task = this.schedule();
+        }
+
+        @Nullable
+        private ScheduledFuture<?> schedule() {
+            try {
+                return CommandWatchdog.this.sampler.scheduleAtFixedRate(this::sample, CommandWatchdog.this.budgetNanos,
+                  CommandWatchdog.this.sampleIntervalNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Stops watching the execution, reporting it if it exceeded the budget.
+         */
+        public void stop() {
+            long elapsed = System.nanoTime() - this.start;
+
+            if (this.task == null) {
+                return;
+            }
+
+            this.task.cancel(false);
+
+            if (elapsed > CommandWatchdog.this.budgetNanos) {
+                this.report(elapsed);
+            }
+        }
+
+        private void sample() {
+            StackTraceElement[] stack = this.thread.getStackTrace();
+
+            synchronized (this.samples) {
+                if (this.samples.size() < CommandWatchdog.this.maxSamples) {
+                    this.samples.add(stack);
+                }
+            }
+        }
+
+        private void report(long elapsed) {
+            Map<List<StackTraceElement>, Integer> stacks = new LinkedHashMap<>();
+            int sampleCount;
+
+            synchronized (this.samples) {
+                sampleCount = this.samples.size();
+
+                for (StackTraceElement[] sample : this.samples) {
+                    stacks.merge(Arrays.asList(sample), 1, Integer::sum);
+                }
+            }
+
+            StringBuilder report = new StringBuilder()
+              .append("Slow command: /").append(this.command.getPath())
+              .append(" took ").append(TimeUnit.NANOSECONDS.toMillis(elapsed)).append("ms")
+              .append(" (budget ").append(TimeUnit.NANOSECONDS.toMillis(CommandWatchdog.this.budgetNanos)).append("ms)")
+              .append(" thread=").append(this.thread.getName())
+              .append(" sender=").append(CommandSource.fromSender(this.sender))
+              .append(" args=").append(this.argumentCount)
+              .append(" samples=").append(sampleCount);
+
+            stacks.entrySet().stream()
+              .sorted(Map.Entry.<List<StackTraceElement>, Integer>comparingByValue().reversed())
+              .limit(REPORTED_STACKS)
+              .forEach(entry -> {
+                  report.append("\n  ").append(entry.getValue()).append("/").append(sampleCount).append(" samples:");
+
+                  List<StackTraceElement> frames = entry.getKey();
+                  for (int i = 0; i < Math.min(REPORTED_FRAMES, frames.size()); i++) {
+                      report.append("\n    at ").append(frames.get(i));
+                  }
+
+                  if (frames.size() > REPORTED_FRAMES) {
+                      report.append("\n    ... ").append(frames.size() - REPORTED_FRAMES).append(" more");
+                  }
+              });
+
+            CommandWatchdog.this.logger.log(Level.WARNING, report.toString());
+        }
+    }
+}
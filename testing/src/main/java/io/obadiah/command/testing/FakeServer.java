@@ -0,0 +1,223 @@
+package io.obadiah.command.testing;
+
+import io.obadiah.command.CommandAPI;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandMap;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.SimpleCommandMap;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A server that exists only so CommandAPI can run outside of Spigot. Every thread counts as the server thread unless
+ * one is chosen with {@link #setPrimaryThread(Thread)}, so replies are sent immediately, and there are never any
+ * players online. Tasks scheduled for the next tick wait until {@link #tick()} is called.
+ */
+@ThreadSafe
+public final class FakeServer {
+
+    private static final Logger LOGGER = Logger.getLogger("FakeServer");
+
+    private static final Queue<Runnable> TASKS = new ConcurrentLinkedQueue<>();
+
+    private static Server server;
+    private static volatile CommandMap commandMap;
+    private static volatile Thread primaryThread;
+
+    static {
+        LOGGER.setLevel(Level.WARNING);
+    }
+
+    private FakeServer() {}
+
+    /**
+     * Installs the fake server into Bukkit, once, along with an empty command map for CommandAPI to register into.
+     *
+     * @return The server.
+     *
+     * @throws IllegalStateException If Bukkit already has a different server.
+     */
+    public static synchronized Server install() {
+        if (server == null) {
+            if (Bukkit.getServer() != null) {
+                throw new IllegalStateException("Bukkit already has a server, " + Bukkit.getServer().getName() + "!");
+            }
+
+            BukkitScheduler scheduler = Stubs.proxy(BukkitScheduler.class, (proxy, method, args) -> {
+                if (method.getName().equals("runTask") && args[1] instanceof Runnable) {
+                    TASKS.add((Runnable) args[1]);
+                }
+
+                return Stubs.defaultValue(method.getReturnType());
+            });
+
+            server = Stubs.proxy(Server.class, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "isPrimaryThread":
+                        return primaryThread == null || primaryThread == Thread.currentThread();
+                    case "getScheduler":
+                        return scheduler;
+                    case "dispatchCommand":
+                        return commandMap.dispatch((CommandSender) args[0], (String) args[1]);
+                    case "getOnlinePlayers":
+                        return Collections.emptyList();
+                    case "getLogger":
+                        return LOGGER;
+                    case "getName":
+                        return "FakeServer";
+                    default:
+                        return Stubs.defaultValue(method.getReturnType());
+                }
+            });
+
+            Bukkit.setServer(server);
+            resetCommands();
+        }
+
+        return server;
+    }
+
+    /**
+     * Runs every task scheduled for the next tick before this call, leaving the tasks they schedule for the tick after.
+     *
+     * @return The amount of tasks run.
+     */
+    public static int tick() {
+        int count = TASKS.size();
+
+        for (int i = 0; i < count; i++) {
+            TASKS.poll().run();
+        }
+
+        return count;
+    }
+
+    /**
+     * Chooses the only thread that counts as the server thread, so the replies of asynchronous commands and any other
+     * task handed to the server thread from elsewhere wait for {@link #tick()}, as they would on a real server.
+     *
+     * @param thread The server thread, or {@code null} for every thread to count as it.
+     */
+    public static void setPrimaryThread(@Nullable Thread thread) {
+        primaryThread = thread;
+    }
+
+    /**
+     * Creates a plugin that only has a name and a logger, defined by the class loader that loaded CommandAPI.
+     *
+     * @param name Name of the plugin.
+     *
+     * @return The plugin.
+     */
+    public static Plugin plugin(String name) {
+        return plugin(name, CommandAPI.class.getClassLoader());
+    }
+
+    /**
+     * Creates a plugin that only has a name and a logger, whose class is defined by a specific class loader, as
+     * CommandAPI scans the class loader of the plugin it registers against.
+     *
+     * @param name Name of the plugin.
+     * @param loader Class loader to define the plugin in.
+     *
+     * @return The plugin.
+     */
+    public static Plugin plugin(String name, ClassLoader loader) {
+        return (Plugin) Proxy.newProxyInstance(loader, new Class<?>[] {Plugin.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                    return name;
+                case "getLogger":
+                    return LOGGER;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "Plugin[" + name + "]";
+                default:
+                    return Stubs.defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    /**
+     * Replaces the command map CommandAPI registers into with an empty one, and forgets every command CommandAPI has
+     * registered, so registrations can be repeated.
+     *
+     * @return The new command map.
+     */
+    public static synchronized CommandMap resetCommands() {
+        CommandMap map = new SimpleCommandMap(install());
+
+        setStatic("COMMAND_MAP", map);
+        ((Map<?, ?>) getStatic("REGISTERED_COMMANDS")).clear();
+        commandMap = map;
+
+        return map;
+    }
+
+    /**
+     * Forgets every class path scan CommandAPI has cached.
+     */
+    public static void clearClassPaths() {
+        ((Map<?, ?>) getStatic("CLASS_PATHS")).clear();
+    }
+
+    /**
+     * @return The command map CommandAPI registers into.
+     */
+    public static CommandMap getCommandMap() {
+        install();
+
+        return commandMap;
+    }
+
+    /**
+     * Looks up the Bukkit command CommandAPI registered for a label, as the server would when a player sends it.
+     *
+     * @param label Name or alias of the command.
+     *
+     * @return The registered command, or {@code null} if there is none.
+     */
+    @Nullable
+    public static Command getCommand(String label) {
+        return getCommandMap().getCommand(label);
+    }
+
+    private static Object getStatic(String name) {
+        try {
+            return field(name).get(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not read CommandAPI." + name, e);
+        }
+    }
+
+    private static void setStatic(String name, Object value) {
+        try {
+            field(name).set(null, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not write CommandAPI." + name, e);
+        }
+    }
+
+    private static Field field(String name) throws NoSuchFieldException {
+        Field field = CommandAPI.class.getDeclaredField(name);
+        field.setAccessible(true);
+
+        return field;
+    }
+}
@@ -0,0 +1,261 @@
+package io.obadiah.command.testing;
+
+import com.google.common.collect.Lists;
+import io.obadiah.command.metrics.LatencyHistogram;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends a script of commands to a Bukkit command from several threads at once for a fixed time, as the server would
+ * when players send them, and reports the throughput, latency and allocation of the run. Each thread cycles through
+ * the script from a different starting point.
+ */
+@NotThreadSafe
+public final class LoadGenerator {
+
+    private final Command command;
+    private final List<Invocation> script;
+
+    private int threads;
+    private long warmupNanos;
+    private long durationNanos;
+
+    /**
+     * Creates a load generator for a CommandAPI command, sent to the Bukkit command it is registered as.
+     *
+     * @param command The command to send.
+     */
+    public LoadGenerator(io.obadiah.command.Command command) {
+        this(command.asBukkitCommand());
+    }
+
+    /**
+     * Creates a load generator for a Bukkit command, such as one obtained from {@link FakeServer#getCommand(String)}.
+     *
+     * @param command The command to send.
+     */
+    public LoadGenerator(Command command) {
+        this.command = command;
+        this.script = Lists.newArrayList();
+        this.threads = 1;
+        this.warmupNanos = TimeUnit.SECONDS.toNanos(1);
+        this.durationNanos = TimeUnit.SECONDS.toNanos(5);
+    }
+
+    /**
+     * Adds a command to the script.
+     *
+     * @param sender The sender of the command.
+     * @param args The arguments to send alongside the command.
+     *
+     * @return This load generator instance.
+     */
+    public LoadGenerator addInvocation(CommandSender sender, String... args) {
+        this.script.add(new Invocation(sender, args));
+
+        return this;
+    }
+
+    /**
+     * Adds a command to the script.
+     *
+     * @param sender The sender of the command.
+     * @param args The arguments to send alongside the command.
+     *
+     * @return This load generator instance.
+     */
+    public LoadGenerator addInvocation(ScriptedSender<?> sender, String... args) {
+        return this.addInvocation(sender.getSender(), args);
+    }
+
+    /**
+     * Sets the number of threads sending commands at once.
+     *
+     * @param threads Number of threads.
+     *
+     * @return This load generator instance.
+     *
+     * @throws IllegalArgumentException If the {@param threads} parameter is not positive.
+     */
+    public LoadGenerator setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be positive!");
+        }
+
+        this.threads = threads;
+
+        return this;
+    }
+
+    /**
+     * Sets how long commands are sent for before measuring starts, so the JIT can compile the command path.
+     *
+     * @param warmup Time to warm up for.
+     * @param unit The unit of the {@param warmup} parameter.
+     *
+     * @return This load generator instance.
+     */
+    public LoadGenerator setWarmup(long warmup, TimeUnit unit) {
+        this.warmupNanos = unit.toNanos(warmup);
+
+        return this;
+    }
+
+    /**
+     * Sets how long commands are sent and measured for.
+     *
+     * @param duration Time to measure for.
+     * @param unit The unit of the {@param duration} parameter.
+     *
+     * @return This load generator instance.
+     */
+    public LoadGenerator setDuration(long duration, TimeUnit unit) {
+        this.durationNanos = unit.toNanos(duration);
+
+        return this;
+    }
+
+    /**
+     * Sends the script from every thread, blocking until the run is over.
+     *
+     * @return The report of the run.
+     *
+     * @throws IllegalStateException If the script is empty.
+     * @throws InterruptedException If interrupted while waiting for the run.
+     */
+    public LoadReport run() throws InterruptedException {
+        if (this.script.isEmpty()) {
+            throw new IllegalStateException("There are no invocations to send!");
+        }
+
+        Invocation[] script = this.script.toArray(new Invocation[0]);
+        LatencyHistogram latency = new LatencyHistogram();
+        AtomicLong invocations = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong allocated = new AtomicLong();
+        AtomicBoolean unmeasured = new AtomicBoolean();
+        CountDownLatch ready = new CountDownLatch(this.threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[this.threads];
+
+        for (int i = 0; i < this.threads; i++) {
+            int offset = i * script.length / this.threads;
+
+            workers[i] = new Thread(() -> {
+                LatencyHistogram local = new LatencyHistogram();
+                long[] counts = new long[2];
+
+                this.send(script, offset, System.nanoTime() + this.warmupNanos, null, counts);
+                ready.countDown();
+
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+
+                long allocatedBefore = allocatedBytes();
+                this.send(script, offset, System.nanoTime() + this.durationNanos, local, counts);
+                long allocatedAfter = allocatedBytes();
+
+                latency.add(local);
+                invocations.addAndGet(counts[0]);
+                errors.addAndGet(counts[1]);
+
+                if (allocatedBefore < 0 || allocatedAfter < 0) {
+                    unmeasured.set(true);
+                } else {
+                    allocated.addAndGet(allocatedAfter - allocatedBefore);
+                }
+            }, "LoadGenerator #" + i);
+
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+
+        ready.await();
+
+        long started = System.nanoTime();
+        start.countDown();
+
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        long elapsed = System.nanoTime() - started;
+
+        return new LoadReport(this.threads, invocations.get(), errors.get(), elapsed, unmeasured.get() ? -1 : allocated.get(), latency);
+    }
+
+    /**
+     * Sends the script until a deadline, recording the latency of each command if a histogram is given.
+     *
+     * @param counts Receives the number of commands sent, then the number that threw.
+     */
+    private void send(Invocation[] script, int offset, long deadline, LatencyHistogram latency, long[] counts) {
+        int index = offset;
+
+        while (true) {
+            long start = System.nanoTime();
+
+            if (start >= deadline) {
+                return;
+            }
+
+            Invocation invocation = script[index];
+
+            try {
+                this.command.execute(invocation.sender, this.command.getName(), invocation.args);
+            } catch (RuntimeException e) {
+                if (latency != null) {
+                    counts[1]++;
+                }
+            }
+
+            if (latency != null) {
+                latency.record(System.nanoTime() - start);
+                counts[0]++;
+            }
+
+            index = index + 1 == script.length ? 0 : index + 1;
+        }
+    }
+
+    /**
+     * @return The bytes allocated by the current thread so far, or -1 if the JVM cannot measure it.
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) bean;
+
+            if (allocation.isThreadAllocatedMemorySupported() && allocation.isThreadAllocatedMemoryEnabled()) {
+                return allocation.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+
+        return -1;
+    }
+
+    private static final class Invocation {
+
+        private final CommandSender sender;
+        private final String[] args;
+
+        private Invocation(CommandSender sender, String[] args) {
+            this.sender = sender;
+            this.args = args;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.obadiah.command.testing;
+
+import io.obadiah.command.metrics.LatencyHistogram;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The outcome of a {@link LoadGenerator} run.
+ */
+@Immutable
+public final class LoadReport {
+
+    private final int threads;
+    private final long invocations;
+    private final long errors;
+    private final long elapsedNanos;
+    private final long allocatedBytes;
+    private final LatencyHistogram latency;
+
+    LoadReport(int threads, long invocations, long errors, long elapsedNanos, long allocatedBytes, LatencyHistogram latency) {
+        this.threads = threads;
+        this.invocations = invocations;
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.latency = latency;
+    }
+
+    /**
+     * @return The number of threads that sent commands.
+     */
+    public int getThreads() {
+        return this.threads;
+    }
+
+    /**
+     * @return The number of commands sent, across every thread.
+     */
+    public long getInvocations() {
+        return this.invocations;
+    }
+
+    /**
+     * @return The number of commands that threw out of the Bukkit command, which CommandAPI should never let happen.
+     */
+    public long getErrors() {
+        return this.errors;
+    }
+
+    /**
+     * @return How long the measured part of the run took, in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * @return The number of commands sent per second, across every thread.
+     */
+    public double getThroughput() {
+        return this.elapsedNanos == 0 ? 0 : this.invocations * (double) TimeUnit.SECONDS.toNanos(1) / this.elapsedNanos;
+    }
+
+    /**
+     * @return The latency of every command sent. Asynchronous commands are measured until they are handed to their
+     * executor.
+     */
+    public LatencyHistogram getLatency() {
+        return this.latency;
+    }
+
+    /**
+     * @return The number of bytes allocated by the sending threads, or -1 if the JVM cannot measure it.
+     */
+    public long getAllocatedBytes() {
+        return this.allocatedBytes;
+    }
+
+    /**
+     * @return The mean number of bytes allocated per command sent, or -1 if the JVM cannot measure it.
+     */
+    public double getAllocatedBytesPerInvocation() {
+        if (this.allocatedBytes < 0) {
+            return -1;
+        }
+
+        return this.invocations == 0 ? 0 : this.allocatedBytes / (double) this.invocations;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d invocations on %d thread(s) in %.2fms, %.0f ops/s, %d errors; latency p50 %dns, p90 %dns, p99 %dns, max %dns; %.1f B/op",
+          this.invocations, this.threads, this.elapsedNanos / 1e6, this.getThroughput(), this.errors,
+          this.latency.getPercentile(50), this.latency.getPercentile(90), this.latency.getPercentile(99), this.latency.getMax(),
+          this.getAllocatedBytesPerInvocation());
+    }
+}
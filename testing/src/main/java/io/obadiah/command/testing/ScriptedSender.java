@@ -0,0 +1,225 @@
+package io.obadiah.command.testing;
+
+import com.google.common.collect.ImmutableList;
+import org.bukkit.command.BlockCommandSender;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.command.ProxiedCommandSender;
+import org.bukkit.entity.Player;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A sender of any source whose permissions can be changed while commands run, and which counts the messages sent to
+ * it, keeping only the most recent.
+ */
+@ThreadSafe
+public final class ScriptedSender<T extends CommandSender> {
+
+    private static final int DEFAULT_RETAINED_MESSAGES = 16;
+
+    private final T sender;
+    private final String name;
+    private final UUID uniqueId;
+    private final boolean op;
+    private final Set<String> permissions;
+    private final LongAdder messageCount;
+    private final Deque<String> messages;
+
+    private volatile int retainedMessages;
+
+    private ScriptedSender(Class<T> type, String name, boolean op, String... permissions) {
+        this.name = name;
+        this.uniqueId = UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+        this.op = op;
+        this.permissions = ConcurrentHashMap.newKeySet();
+        this.messageCount = new LongAdder();
+        this.messages = new ArrayDeque<>();
+        this.retainedMessages = DEFAULT_RETAINED_MESSAGES;
+
+        Collections.addAll(this.permissions, permissions);
+
+        this.sender = Stubs.proxy(type, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                    return this.name;
+                case "getUniqueId":
+                    return this.uniqueId;
+                case "hasPermission":
+                    return this.hasPermission(String.valueOf(args[0]));
+                case "isOp":
+                    return this.op;
+                case "sendMessage":
+                    this.receive(args[0]);
+                    return null;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return type.getSimpleName() + "[" + this.name + "]";
+                default:
+                    return Stubs.defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    /**
+     * Creates a player.
+     *
+     * @param name Name of the player, from which their unique id is derived.
+     * @param permissions Permission nodes the player holds.
+     *
+     * @return The player.
+     */
+    public static ScriptedSender<Player> player(String name, String... permissions) {
+        return new ScriptedSender<>(Player.class, name, false, permissions);
+    }
+
+    /**
+     * @return A console sender, which holds every permission.
+     */
+    public static ScriptedSender<ConsoleCommandSender> console() {
+        return new ScriptedSender<>(ConsoleCommandSender.class, "CONSOLE", true);
+    }
+
+    /**
+     * @return A command block sender, which holds every permission.
+     */
+    public static ScriptedSender<BlockCommandSender> commandBlock() {
+        return new ScriptedSender<>(BlockCommandSender.class, "@", true);
+    }
+
+    /**
+     * Creates a proxied sender, which resolves to the unknown source.
+     *
+     * @param permissions Permission nodes the sender holds.
+     *
+     * @return The proxied sender.
+     */
+    public static ScriptedSender<ProxiedCommandSender> proxied(String... permissions) {
+        return new ScriptedSender<>(ProxiedCommandSender.class, "proxied", false, permissions);
+    }
+
+    /**
+     * Grants permission nodes to this sender.
+     *
+     * @param permissions Permission nodes to grant.
+     *
+     * @return This sender instance.
+     */
+    public ScriptedSender<T> grant(String... permissions) {
+        Collections.addAll(this.permissions, permissions);
+
+        return this;
+    }
+
+    /**
+     * Revokes permission nodes from this sender.
+     *
+     * @param permissions Permission nodes to revoke.
+     *
+     * @return This sender instance.
+     */
+    public ScriptedSender<T> revoke(String... permissions) {
+        for (String permission : permissions) {
+            this.permissions.remove(permission);
+        }
+
+        return this;
+    }
+
+    /**
+     * Sets how many of the most recent messages this sender keeps.
+     *
+     * @param retainedMessages Number of messages to keep, or 0 to only count them.
+     *
+     * @return This sender instance.
+     *
+     * @throws IllegalArgumentException If the {@param retainedMessages} parameter is below 0.
+     */
+    public ScriptedSender<T> setRetainedMessages(int retainedMessages) {
+        if (retainedMessages < 0) {
+            throw new IllegalArgumentException("Retained messages cannot be set below 0!");
+        }
+
+        this.retainedMessages = retainedMessages;
+
+        return this;
+    }
+
+    /**
+     * @return The Bukkit sender, to pass to commands.
+     */
+    public T getSender() {
+        return this.sender;
+    }
+
+    /**
+     * @return {@code true} If this sender holds a permission node. Consoles and command blocks hold every node.
+     */
+    public boolean hasPermission(String permission) {
+        return this.op || this.permissions.contains(permission);
+    }
+
+    /**
+     * @return The number of messages sent to this sender.
+     */
+    public long getMessageCount() {
+        return this.messageCount.sum();
+    }
+
+    /**
+     * @return The most recent messages sent to this sender, oldest first.
+     */
+    public List<String> getMessages() {
+        synchronized (this.messages) {
+            return ImmutableList.copyOf(this.messages);
+        }
+    }
+
+    /**
+     * Forgets every message sent to this sender, and resets the message count.
+     */
+    public void clearMessages() {
+        synchronized (this.messages) {
+            this.messages.clear();
+            this.messageCount.reset();
+        }
+    }
+
+    private void receive(Object message) {
+        if (message instanceof String[]) {
+            for (String line : (String[]) message) {
+                this.receive(line);
+            }
+
+            return;
+        }
+
+        this.messageCount.increment();
+
+        int retained = this.retainedMessages;
+
+        if (retained == 0) {
+            return;
+        }
+
+        synchronized (this.messages) {
+            this.messages.addLast(String.valueOf(message));
+
+            while (this.messages.size() > retained) {
+                this.messages.removeFirst();
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.obadiah.command.testing;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+
+/**
+ * Creates stub implementations of Bukkit interfaces, which are too large to implement by hand.
+ */
+final class Stubs {
+
+    private Stubs() {}
+
+    /**
+     * Implements an interface with a handler, defining the implementation in the interface's class loader.
+     *
+     * @param type Interface to implement.
+     * @param handler Handler that answers every call.
+     *
+     * @return The implementation.
+     */
+    static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    /**
+     * @return The value a stub returns from a method it does not implement, which is zero for primitives.
+     */
+    static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+
+        if (type == boolean.class) {
+            return false;
+        }
+
+        if (type == char.class) {
+            return '\0';
+        }
+
+        if (type == long.class) {
+            return 0L;
+        }
+
+        if (type == float.class) {
+            return 0F;
+        }
+
+        if (type == double.class) {
+            return 0D;
+        }
+
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+
+        if (type == short.class) {
+            return (short) 0;
+        }
+
+        return 0;
+    }
+}
@@ -0,0 +1,121 @@
+package io.obadiah.command.completion;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class FuzzyIndexTest {
+
+    private static final FuzzyIndex INDEX = FuzzyIndex.of(Arrays.asList("give", "gamemode", "teleport", "tell", "time", "Weather", "weather"));
+
+    @Test
+    public void removesDuplicatesIgnoringCase() {
+        assertEquals(6, INDEX.size());
+    }
+
+    @Test
+    public void findsSingleEdits() {
+        assertEquals("give", INDEX.closest("gve"));
+        assertEquals("give", INDEX.closest("gives"));
+        assertEquals("give", INDEX.closest("gibe"));
+        assertEquals("tell", INDEX.closest("tall"));
+    }
+
+    @Test
+    public void ignoresCase() {
+        assertEquals("weather", INDEX.closest("WEATHR"));
+    }
+
+    @Test
+    public void allowsTwoEditsForLongQueries() {
+        assertEquals("teleport", INDEX.closest("telport"));
+        assertEquals("gamemode", INDEX.closest("gaemmode"));
+        assertNull(INDEX.closest("tleeprot"));
+    }
+
+    @Test
+    public void rejectsDistantWords() {
+        assertNull(INDEX.closest("xyz"));
+        assertNull(INDEX.closest("gv"));
+    }
+
+    @Test
+    public void prefersClosestThenAlphabetical() {
+        FuzzyIndex index = FuzzyIndex.of(Arrays.asList("tame", "time", "tile"));
+
+        assertEquals("time", index.closest("time"));
+        assertEquals("tame", index.closest("tme"));
+    }
+
+    @Test
+    public void skipsFilteredWords() {
+        FuzzyIndex index = FuzzyIndex.of(Arrays.asList("tame", "time"));
+
+        assertEquals("time", index.closest("tme", 1, word -> !word.equals("tame")));
+        assertNull(index.closest("tme", 1, word -> false));
+    }
+
+    @Test
+    public void handlesEmptyIndexAndQuery() {
+        assertNull(FuzzyIndex.empty().closest("give"));
+        assertNull(FuzzyIndex.of(Collections.emptyList()).closest(""));
+        assertEquals("a", FuzzyIndex.of(Collections.singletonList("a")).closest(""));
+    }
+
+    @Test
+    public void matchesLinearScan() {
+        List<String> words = IntStream.range(0, 500)
+          .mapToObj(i -> Integer.toString(i * 7919, 36))
+          .collect(Collectors.toList());
+        FuzzyIndex index = FuzzyIndex.of(words);
+
+        List<String> queries = words.stream()
+          .flatMap(word -> Stream.of(word.substring(1), word + "x", "z" + word.substring(1), new StringBuilder(word).reverse().toString()))
+          .collect(Collectors.toList());
+
+        for (String query : queries) {
+            assertEquals(query, linearScan(words, query), index.closest(query));
+        }
+    }
+
+    private static String linearScan(List<String> words, String query) {
+        String best = null;
+        int bestDistance = FuzzyIndex.getMaxDistance(query.length()) + 1;
+
+        for (String word : words) {
+            int distance = levenshtein(word, query);
+
+            if (distance < bestDistance || distance == bestDistance && best != null && word.compareTo(best) < 0) {
+                best = word;
+                bestDistance = distance;
+            }
+        }
+
+        return best;
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[][] distances = new int[a.length() + 1][b.length() + 1];
+
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    distances[i][j] = i + j;
+                } else {
+                    distances[i][j] = Math.min(Math.min(distances[i - 1][j], distances[i][j - 1]) + 1,
+                      distances[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1));
+                }
+            }
+        }
+
+        return distances[a.length()][b.length()];
+    }
+}
@@ -0,0 +1,84 @@
+package io.obadiah.command.completion;
+
+import io.obadiah.command.testing.ScriptedSender;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SuggestionProvidersTest {
+
+    private Player alice;
+    private Player albert;
+    private Player bob;
+
+    @Before
+    public void setUp() {
+        this.alice = ScriptedSender.player("Alice").getSender();
+        this.albert = ScriptedSender.player("Albert").getSender();
+        this.bob = ScriptedSender.player("Bob").getSender();
+
+        OnlinePlayers.update(Arrays.asList(this.alice, this.albert, this.bob));
+    }
+
+    @After
+    public void tearDown() {
+        OnlinePlayers.update(Collections.emptyList());
+    }
+
+    @Test
+    public void suggestsEveryOnlinePlayerToConsole() {
+        CommandSender console = ScriptedSender.console().getSender();
+
+        assertEquals(Arrays.asList("Albert", "Alice", "Bob"), SuggestionProviders.ONLINE_PLAYERS.getSuggestions(console));
+        assertEquals(Arrays.asList("Albert", "Alice"), SuggestionProviders.ONLINE_PLAYERS.complete(console, "al"));
+    }
+
+    @Test
+    public void hidesPlayersTheViewerCannotSee() {
+        Player viewer = viewer(this.alice, this.bob);
+
+        assertEquals(Arrays.asList("Alice", "Bob"), SuggestionProviders.ONLINE_PLAYERS.getSuggestions(viewer));
+        assertEquals(Collections.singletonList("Alice"), SuggestionProviders.ONLINE_PLAYERS.complete(viewer, "AL"));
+    }
+
+    @Test
+    public void followsTheSnapshot() {
+        OnlinePlayers.update(Collections.singletonList(this.bob));
+
+        assertEquals(Collections.singletonList("Bob"), SuggestionProviders.ONLINE_PLAYERS.getSuggestions(viewer(this.alice, this.bob)));
+        assertTrue(SuggestionProviders.ONLINE_PLAYERS.complete(ScriptedSender.console().getSender(), "al").isEmpty());
+    }
+
+    @Test
+    public void dropsNamesOfOfflineOrHiddenPlayers() {
+        SuggestionProvider names = SuggestionProviders.visiblePlayers(SuggestionProviders.of("alice", "Albert", "Carol"));
+
+        assertEquals(Collections.singletonList("alice"), names.complete(viewer(this.alice), ""));
+        assertEquals(Arrays.asList("Albert", "alice", "Carol"), names.complete(ScriptedSender.console().getSender(), ""));
+    }
+
+    /**
+     * Creates a player that can only see some players.
+     */
+    private static Player viewer(Player... visible) {
+        return (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[] {Player.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "canSee":
+                    return Arrays.asList(visible).contains(args[0]);
+                case "getName":
+                    return "Viewer";
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+}
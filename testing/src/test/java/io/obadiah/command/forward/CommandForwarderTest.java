@@ -0,0 +1,106 @@
+package io.obadiah.command.forward;
+
+import io.obadiah.command.Command;
+import io.obadiah.command.CommandAPI;
+import io.obadiah.command.CommandArguments;
+import io.obadiah.command.CommandSource;
+import io.obadiah.command.TypedCommand;
+import io.obadiah.command.testing.FakeServer;
+import org.bukkit.command.CommandSender;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CommandForwarderTest {
+
+    private CommandForwarder first;
+    private CommandForwarder second;
+
+    @Before
+    public void setUp() {
+        FakeServer.resetCommands();
+
+        LoopbackTransport.Network network = new LoopbackTransport.Network();
+        Logger logger = Logger.getLogger("CommandForwarderTest");
+
+        this.first = new CommandForwarder(network.join("first"), logger);
+        this.second = new CommandForwarder(network.join("second"), logger);
+    }
+
+    @After
+    public void tearDown() {
+        FakeServer.setPrimaryThread(null);
+        FakeServer.tick();
+        FakeServer.resetCommands();
+
+        this.first.close();
+        this.second.close();
+    }
+
+    @Test
+    public void relaysRepliesOfAsynchronousCommands() throws Exception {
+        register(true);
+
+        CommandReply reply = this.send("report", "done");
+
+        assertEquals(CommandReply.Status.DISPATCHED, reply.getStatus());
+        assertEquals(Arrays.asList("direct", "replied done"), reply.getMessages());
+    }
+
+    @Test
+    public void relaysRepliesOfSynchronousCommands() throws Exception {
+        register(false);
+
+        CommandReply reply = this.send("report", "done");
+
+        assertEquals(CommandReply.Status.DISPATCHED, reply.getStatus());
+        assertEquals(Arrays.asList("direct", "replied done"), reply.getMessages());
+    }
+
+    @Test
+    public void repliesToUnknownCommands() throws Exception {
+        CommandReply reply = this.send("missing");
+
+        assertEquals(CommandReply.Status.UNKNOWN_COMMAND, reply.getStatus());
+        assertTrue(reply.getMessages().isEmpty());
+    }
+
+    /**
+     * Sends an invocation from the first node to the second, running server ticks on this thread until it replies.
+     */
+    private CommandReply send(String path, String... args) throws Exception {
+        FakeServer.setPrimaryThread(Thread.currentThread());
+
+        CompletableFuture<CommandReply> future = this.first.send("second", new CommandEnvelope(path, Arrays.asList(args), "Player", null,
+          CommandSource.PLAYER, Collections.emptySet()));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (!future.isDone() && System.nanoTime() < deadline) {
+            FakeServer.tick();
+            Thread.sleep(1);
+        }
+
+        return future.get(0, TimeUnit.SECONDS);
+    }
+
+    private static void register(boolean async) {
+        Command command = new TypedCommand("report", null) {
+            @Override
+            protected void execute(CommandSender sender, CommandArguments args) {
+                sender.sendMessage("direct");
+                reply(sender, "replied " + args.get(0));
+            }
+        }.setMaxArgs(1).setAsync(async);
+
+        CommandAPI.registerCommand(FakeServer.plugin("Forwarding"), command);
+    }
+}
@@ -0,0 +1,84 @@
+package io.obadiah.command.forward;
+
+import com.google.common.collect.ImmutableSet;
+import io.obadiah.command.CommandSource;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class EnvelopeCodecTest {
+
+    @Test
+    public void roundTripsRequestsAndReplies() {
+        UUID id = UUID.randomUUID();
+        CommandEnvelope player = new CommandEnvelope("warp set", Arrays.asList("spawn", "\u00a7a\u00e9"), "Player", id, CommandSource.PLAYER,
+          ImmutableSet.of("warp.set", "warp.use"));
+        CommandEnvelope console = new CommandEnvelope("reload", Collections.emptyList(), "CONSOLE", null, CommandSource.CONSOLE,
+          Collections.emptySet());
+        CommandReply reply = new CommandReply(Long.MAX_VALUE, CommandReply.Status.FAILED, Arrays.asList("first", ""));
+
+        List<Object> messages = EnvelopeCodec.decode(EnvelopeCodec.encode(Arrays.asList(
+          new EnvelopeCodec.Request(1, player), new EnvelopeCodec.Request(300, console), reply)));
+
+        assertEquals(3, messages.size());
+        assertRequest(1, player, messages.get(0));
+        assertRequest(300, console, messages.get(1));
+
+        CommandReply decoded = (CommandReply) messages.get(2);
+
+        assertEquals(Long.MAX_VALUE, decoded.getId());
+        assertEquals(CommandReply.Status.FAILED, decoded.getStatus());
+        assertEquals(reply.getMessages(), decoded.getMessages());
+    }
+
+    @Test
+    public void roundTripsEmptyBatch() {
+        assertTrue(EnvelopeCodec.decode(EnvelopeCodec.encode(Collections.emptyList())).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnknownVersion() {
+        byte[] frame = EnvelopeCodec.encode(Collections.emptyList());
+        frame[0] = 2;
+
+        EnvelopeCodec.decode(frame);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsTruncatedFrame() {
+        byte[] frame = EnvelopeCodec.encode(Collections.singletonList(new CommandReply(7, CommandReply.Status.DISPATCHED, Collections.singletonList("done"))));
+
+        EnvelopeCodec.decode(Arrays.copyOf(frame, frame.length - 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsHugeCountWithoutAllocating() {
+        // Version 1, then a count of about two billion messages in a six byte frame
+        EnvelopeCodec.decode(new byte[] {1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07});
+    }
+
+    private static void assertRequest(long id, CommandEnvelope expected, Object message) {
+        EnvelopeCodec.Request request = (EnvelopeCodec.Request) message;
+        CommandEnvelope envelope = request.envelope;
+
+        assertEquals(id, request.id);
+        assertEquals(expected.getPath(), envelope.getPath());
+        assertEquals(expected.getArgs(), envelope.getArgs());
+        assertEquals(expected.getSender(), envelope.getSender());
+        assertEquals(expected.getSource(), envelope.getSource());
+        assertEquals(expected.getPermissions(), envelope.getPermissions());
+
+        if (expected.getUniqueId() == null) {
+            assertNull(envelope.getUniqueId());
+        } else {
+            assertEquals(expected.getUniqueId(), envelope.getUniqueId());
+        }
+    }
+}
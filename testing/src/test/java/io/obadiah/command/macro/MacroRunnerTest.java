@@ -0,0 +1,101 @@
+package io.obadiah.command.macro;
+
+import io.obadiah.command.CommandAPI;
+import io.obadiah.command.CommandArguments;
+import io.obadiah.command.TypedCommand;
+import io.obadiah.command.metrics.RejectionReason;
+import io.obadiah.command.testing.FakeServer;
+import io.obadiah.command.testing.ScriptedSender;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MacroRunnerTest {
+
+    private final Player sender = ScriptedSender.player("Builder").getSender();
+
+    @Before
+    public void setUp() {
+        FakeServer.resetCommands();
+
+        register(new TypedCommand("pass", null) {
+            @Override
+            protected void execute(CommandSender sender, CommandArguments args) {}
+        });
+        register(new TypedCommand("guarded", "macro.guarded") {
+            @Override
+            protected void execute(CommandSender sender, CommandArguments args) {}
+        });
+        register(new TypedCommand("explode", null) {
+            @Override
+            protected void execute(CommandSender sender, CommandArguments args) {
+                throw new IllegalStateException("Failed on purpose");
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        FakeServer.resetCommands();
+    }
+
+    @Test
+    public void reportsHowEachStepEnded() {
+        MacroReport report = this.run(new MacroRunner(FakeServer.plugin("Macros")), "pass\nguarded\npass too many\nexplode");
+
+        assertEquals(Arrays.asList(MacroStepResult.Status.COMPLETED, MacroStepResult.Status.REJECTED, MacroStepResult.Status.REJECTED,
+          MacroStepResult.Status.FAILED), statuses(report));
+        assertEquals(RejectionReason.PERMISSION, report.getResults().get(1).getReason());
+        assertEquals(RejectionReason.TOO_MANY_ARGUMENTS, report.getResults().get(2).getReason());
+        assertNull(report.getResults().get(3).getReason());
+        assertTrue(report.getResults().get(3).getFailure() instanceof IllegalStateException);
+        assertFalse(report.isSuccessful());
+    }
+
+    @Test
+    public void stopsAtRejectedStep() {
+        MacroReport report = this.run(new MacroRunner(FakeServer.plugin("Macros")).setStopOnFailure(true), "pass\nguarded\npass");
+
+        assertEquals(Arrays.asList(MacroStepResult.Status.COMPLETED, MacroStepResult.Status.REJECTED), statuses(report));
+    }
+
+    @Test
+    public void resolvesCommandsRegisteredAfterParsing() {
+        Macro macro = Macro.parse("late");
+
+        register(new TypedCommand("late", null) {
+            @Override
+            protected void execute(CommandSender sender, CommandArguments args) {}
+        });
+
+        MacroReport report = new MacroRunner(FakeServer.plugin("Macros")).run(macro, this.sender).join();
+
+        assertTrue(report.toString(), report.isSuccessful());
+        assertEquals("late", macro.getSteps().get(0).getTarget().getName());
+    }
+
+    private MacroReport run(MacroRunner runner, String script) {
+        return runner.run(Macro.parse(script), this.sender).join();
+    }
+
+    private static void register(TypedCommand command) {
+        CommandAPI.registerCommand(FakeServer.plugin("Macros"), command);
+    }
+
+    private static List<MacroStepResult.Status> statuses(MacroReport report) {
+        return report.getResults().stream()
+          .map(MacroStepResult::getStatus)
+          .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,107 @@
+package io.obadiah.command.metrics;
+
+import io.obadiah.command.Command;
+import io.obadiah.command.CommandAPI;
+import io.obadiah.command.CommandArguments;
+import io.obadiah.command.TypedCommand;
+import io.obadiah.command.exception.IllegalCommandUsageException;
+import io.obadiah.command.testing.FakeServer;
+import io.obadiah.command.testing.ScriptedSender;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JsonMetricsExporterTest {
+
+    private Command root;
+    private Command child;
+
+    @Before
+    public void setUp() {
+        FakeServer.resetCommands();
+        CommandAPI.setMetricsEnabled(true);
+
+        this.root = new TypedCommand("metrics", null) {
+            @Override
+            protected void execute(CommandSender sender, CommandArguments args) throws IllegalCommandUsageException {
+                throw new IllegalCommandUsageException(this);
+            }
+        };
+        this.child = new TypedCommand("child", "metrics.child") {
+            @Override
+            protected void execute(CommandSender sender, CommandArguments args) {
+                if (args.size() > 0) {
+                    throw new IllegalStateException("Failed on purpose");
+                }
+            }
+        }.setMaxArgs(1);
+
+        this.root.addSubCommands(this.child);
+        CommandAPI.registerCommand(FakeServer.plugin("Metrics"), this.root);
+    }
+
+    @After
+    public void tearDown() {
+        CommandAPI.setMetricsEnabled(false);
+        FakeServer.resetCommands();
+    }
+
+    @Test
+    public void exportsEveryNodeAfterDispatch() {
+        Player permitted = ScriptedSender.player("Permitted", "metrics.child").getSender();
+        Player denied = ScriptedSender.player("Denied").getSender();
+
+        this.root.dispatch(permitted);
+        this.root.dispatch(permitted, "child");
+        this.root.dispatch(permitted, "child");
+        this.root.dispatch(permitted, "child", "fail");
+        this.root.dispatch(permitted, "child", "too", "many");
+        this.root.dispatch(denied, "child");
+
+        List<CommandMetricsSnapshot> snapshots = new ArrayList<>();
+        CommandAPI.exportMetrics(snapshots::addAll);
+
+        assertEquals(2, snapshots.size());
+
+        CommandMetricsSnapshot parent = snapshots.get(0);
+        CommandMetricsSnapshot subCommand = snapshots.get(1);
+
+        assertEquals(this.root.getPath(), parent.getPath());
+        assertEquals(1, parent.getInvocations());
+        assertEquals(Long.valueOf(1), parent.getRejections().get(RejectionReason.USAGE));
+        assertEquals(1, parent.getExecutions());
+
+        assertEquals(this.child.getPath(), subCommand.getPath());
+        assertEquals(5, subCommand.getInvocations());
+        assertEquals(Long.valueOf(1), subCommand.getRejections().get(RejectionReason.PERMISSION));
+        assertEquals(Long.valueOf(1), subCommand.getRejections().get(RejectionReason.TOO_MANY_ARGUMENTS));
+        assertEquals(1, subCommand.getExceptions());
+        assertEquals(3, subCommand.getExecutions());
+        assertTrue(subCommand.getMaxNanos() >= subCommand.getP50Nanos());
+    }
+
+    @Test
+    public void rendersSnapshotsAsJson() {
+        JsonMetricsExporter exporter = new JsonMetricsExporter();
+
+        assertEquals("[]", exporter.getJson());
+
+        this.root.dispatch(ScriptedSender.console().getSender(), "child");
+        CommandAPI.exportMetrics(exporter);
+
+        String json = exporter.getJson();
+
+        assertTrue(json, json.startsWith("[{\"path\":\"metrics\",\"invocations\":0,\"rejections\":{"));
+        assertTrue(json, json.contains("{\"path\":\"metrics child\",\"invocations\":1,\"rejections\":{"));
+        assertTrue(json, json.contains("\"exceptions\":0,\"executions\":1,\"meanNanos\":"));
+        assertTrue(json, json.endsWith("}]"));
+    }
+}
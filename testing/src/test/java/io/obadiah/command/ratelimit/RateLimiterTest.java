@@ -0,0 +1,123 @@
+package io.obadiah.command.ratelimit;
+
+import io.obadiah.command.Command;
+import io.obadiah.command.CommandAPI;
+import io.obadiah.command.CommandArguments;
+import io.obadiah.command.TypedCommand;
+import io.obadiah.command.testing.FakeServer;
+import io.obadiah.command.testing.ScriptedSender;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RateLimiterTest {
+
+    private static final UUID FIRST = UUID.randomUUID();
+    private static final UUID SECOND = UUID.randomUUID();
+
+    @Before
+    public void setUp() {
+        FakeServer.install();
+    }
+
+    @After
+    public void tearDown() {
+        CommandAPI.setGlobalRateLimiter(null);
+    }
+
+    @Test
+    public void allowsBurstThenRejects() {
+        RateLimiter limiter = new RateLimiter(3, 1, TimeUnit.HOURS);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Permit " + i, 0, limiter.tryAcquire(FIRST));
+        }
+
+        long wait = limiter.tryAcquire(FIRST);
+
+        assertTrue("Expected a wait, got " + wait, wait > 0 && wait <= TimeUnit.MINUTES.toNanos(20));
+    }
+
+    @Test
+    public void limitsSendersSeparately() {
+        RateLimiter limiter = RateLimiter.cooldown(1, TimeUnit.HOURS);
+
+        assertEquals(0, limiter.tryAcquire(FIRST));
+        assertTrue(limiter.tryAcquire(FIRST) > 0);
+        assertEquals(0, limiter.tryAcquire(SECOND));
+    }
+
+    @Test
+    public void refundRestoresPermit() {
+        RateLimiter limiter = RateLimiter.cooldown(1, TimeUnit.HOURS);
+
+        assertEquals(0, limiter.tryAcquire(FIRST));
+        limiter.refund(FIRST);
+        assertEquals(0, limiter.tryAcquire(FIRST));
+        assertTrue(limiter.tryAcquire(FIRST) > 0);
+    }
+
+    @Test
+    public void resetRestoresEveryPermit() {
+        RateLimiter limiter = new RateLimiter(2, 1, TimeUnit.HOURS);
+
+        limiter.tryAcquire(FIRST);
+        limiter.tryAcquire(FIRST);
+        limiter.reset(FIRST);
+
+        assertEquals(0, limiter.tryAcquire(FIRST));
+        assertEquals(0, limiter.tryAcquire(FIRST));
+    }
+
+    @Test
+    public void rendersSecondsRoundedUp() {
+        RateLimiter limiter = RateLimiter.cooldown(1, TimeUnit.HOURS).setMessage("Wait {seconds}s");
+
+        assertEquals("Wait 2s", limiter.getMessage(TimeUnit.MILLISECONDS.toNanos(1500)));
+        assertEquals("Wait 1s", limiter.getMessage(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsZeroPermits() {
+        new RateLimiter(0, 1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void globalRejectionKeepsCommandPermit() {
+        AtomicInteger executions = new AtomicInteger();
+        RateLimiter global = RateLimiter.cooldown(1, TimeUnit.HOURS);
+        RateLimiter local = RateLimiter.cooldown(1, TimeUnit.HOURS);
+        Command limited = counting("limited", executions).setRateLimiter(local);
+        Command other = counting("other", executions);
+        Player player = ScriptedSender.player("Limited").getSender();
+
+        CommandAPI.setGlobalRateLimiter(global);
+        other.dispatch(player);
+        limited.dispatch(player);
+
+        assertEquals("Rejected by the global limit", 1, executions.get());
+
+        global.reset(player.getUniqueId());
+        limited.dispatch(player);
+
+        assertEquals("Command permit was used up by the rejection", 2, executions.get());
+    }
+
+    private static Command counting(String name, AtomicInteger executions) {
+        return new TypedCommand(name, null) {
+            @Override
+            protected void execute(CommandSender sender, CommandArguments args) {
+                executions.incrementAndGet();
+            }
+        };
+    }
+}
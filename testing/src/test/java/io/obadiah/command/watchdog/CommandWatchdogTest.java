@@ -0,0 +1,109 @@
+package io.obadiah.command.watchdog;
+
+import io.obadiah.command.Command;
+import io.obadiah.command.CommandAPI;
+import io.obadiah.command.CommandArguments;
+import io.obadiah.command.TypedCommand;
+import io.obadiah.command.testing.FakeServer;
+import io.obadiah.command.testing.ScriptedSender;
+import org.bukkit.command.CommandSender;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CommandWatchdogTest {
+
+    private final List<LogRecord> records = new CopyOnWriteArrayList<>();
+
+    private Logger logger;
+
+    @Before
+    public void setUp() {
+        FakeServer.install();
+
+        this.logger = Logger.getAnonymousLogger();
+        this.logger.setUseParentHandlers(false);
+        this.logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                CommandWatchdogTest.this.records.add(record);
+            }
+
+            @Override
+            public void flush() {}
+
+            @Override
+            public void close() {}
+        });
+
+        CommandAPI.setWatchdog(new CommandWatchdog(50, TimeUnit.MILLISECONDS, 10, TimeUnit.MILLISECONDS, 100, this.logger));
+    }
+
+    @After
+    public void tearDown() {
+        CommandAPI.setWatchdog(null);
+    }
+
+    @Test
+    public void reportsSlowExecution() {
+        Command command = sleeping("slow", 300);
+
+        command.dispatch(ScriptedSender.player("Admin").getSender(), "first", "second");
+
+        assertEquals(1, this.records.size());
+
+        LogRecord record = this.records.get(0);
+        String report = record.getMessage();
+
+        assertEquals(Level.WARNING, record.getLevel());
+        assertTrue(report, report.startsWith("Slow command: /slow took "));
+        assertTrue(report, report.contains("(budget 50ms)"));
+        assertTrue(report, report.contains(" sender=PLAYER args=2 samples="));
+        assertTrue(report, report.contains("java.lang.Thread.sleep("));
+        assertTrue(report, report.contains(".execute(CommandWatchdogTest.java:"));
+    }
+
+    @Test
+    public void ignoresFastExecution() {
+        sleeping("fast", 0).dispatch(ScriptedSender.console().getSender());
+
+        assertTrue(this.records.isEmpty());
+    }
+
+    @Test
+    public void stopsReportingOnceShutDown() throws InterruptedException {
+        CommandWatchdog watchdog = CommandAPI.getWatchdog();
+        CommandSender console = ScriptedSender.console().getSender();
+
+        CommandAPI.setWatchdog(null);
+        sleeping("unwatched", 100).dispatch(console);
+
+        CommandWatchdog.Watch watch = watchdog.start(sleeping("late", 0), console, 0);
+        Thread.sleep(100);
+        watch.stop();
+
+        assertTrue(this.records.isEmpty());
+    }
+
+    private static Command sleeping(String name, long millis) {
+        return new TypedCommand(name, null) {
+            @Override
+            protected void execute(CommandSender sender, CommandArguments args) throws InterruptedException {
+                if (millis > 0) {
+                    Thread.sleep(millis);
+                }
+            }
+        }.setMaxArgs(Integer.MAX_VALUE);
+    }
+}